@@ -3,7 +3,8 @@ param(
   [ValidateSet('msi','exe','app-image','zip')]
   [string]$Type = 'msi',
   [string]$WinUpgradeUuid = '5831de84-f04c-4356-8a8b-2f5347d71dd1',
-  [switch]$SkipTests
+  [switch]$SkipTests,
+  [switch]$SkipCds
 )
 
 $ErrorActionPreference = 'Stop'
@@ -116,7 +117,7 @@ if (Test-Path $runtimeDir) { Remove-Item -Recurse -Force $runtimeDir }
 & jlink --add-modules ALL-MODULE-PATH --output "$runtimeDir" --strip-debug --no-man-pages --no-header-files
 if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
 
-# 4) Create MSI installer
+# 4) Create the app-image, AppCDS archive and installer
 $mainClass = 'com.example.todoapp.DesktopLauncher'
 $appName = 'TodoApp'
 
@@ -144,30 +145,88 @@ if ($Type -in @('msi','exe')) {
   }
 }
 
+# 4-1) Build the app-image first; installers are made from it so they ship the CDS archive.
+$imageRoot = Join-Path $jpackRoot 'image'
 $jpackageArgs = @(
-  '--type', $Type,
+  '--type', 'app-image',
   '--name', $appName,
   '--app-version', $Version,
   '--vendor', 'example',
   '--description', 'JavaFX desktop ToDo app',
   '--input', $inputDir,
-  '--dest', $destDir,
+  '--dest', $imageRoot,
   '--main-jar', $appJarName,
   '--main-class', $mainClass,
   '--runtime-image', $runtimeDir,
   '--java-options', '-Dfile.encoding=UTF-8',
-  '--java-options', '-Dtodoapp.installed=true'
+  '--java-options', '-Dtodoapp.installed=true',
+  '--java-options', '-XX:SharedArchiveFile=$APPDIR\app.jsa',
+  '--java-options', '-Xshare:auto'
 )
 
-if ($Type -in @('msi','exe')) {
-  $jpackageArgs += @('--win-menu', '--win-shortcut')
-  $jpackageArgs += @('--win-upgrade-uuid', $WinUpgradeUuid)
-}
-
 & jpackage @jpackageArgs
-
 if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
 
+$imageDir = Join-Path $imageRoot $appName
+$appDir = Join-Path $imageDir 'app'
+
+# 4-2) AppCDS: record a dynamic archive from one training start, then time a start that uses it.
+# The training run uses the launcher's exact classpath, otherwise the JVM rejects the archive.
+if (-not $SkipCds) {
+  $cfgFile = Join-Path $appDir "$appName.cfg"
+  $classPath = (Get-Content $cfgFile |
+    Where-Object { $_ -like 'app.classpath=*' } |
+    ForEach-Object { $_.Substring('app.classpath='.Length).Replace('$APPDIR', $appDir) }) -join ';'
+
+  $imageJava = Join-Path $imageDir 'runtime\bin\java.exe'
+  $archive = Join-Path $appDir 'app.jsa'
+  $trainingData = Join-Path $jpackRoot 'cds-training-data'
+  $baselineReport = Join-Path $targetDir 'startup-report-baseline.txt'
+  $cdsReport = Join-Path $targetDir 'startup-report-cds.txt'
+
+  $commonArgs = @(
+    '-Dfile.encoding=UTF-8',
+    '-Dtodoapp.cds.training=true',
+    "-Dtodoapp.data-dir=$trainingData",
+    '-cp', $classPath
+  )
+
+  & $imageJava "-XX:ArchiveClassesAtExit=$archive" "-Dtodoapp.startup.report=$baselineReport" @commonArgs $mainClass
+  if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
+
+  & $imageJava "-XX:SharedArchiveFile=$archive" "-Dtodoapp.startup.report=$cdsReport" @commonArgs $mainClass
+  if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
+
+  Write-Host ''
+  Write-Host '⏱ 시작 시간(JVM 시작 기준, ms)'
+  Write-Host '--- CDS 없음 ---'
+  Get-Content $baselineReport
+  Write-Host '--- CDS 사용 ---'
+  Get-Content $cdsReport
+}
+
+# 4-3) Package
+if ($Type -eq 'app-image') {
+  Copy-Item -Recurse -Force $imageDir $destDir
+} elseif ($Type -eq 'zip') {
+  Compress-Archive -Force -Path $imageDir -DestinationPath (Join-Path $destDir "$appName-$Version.zip")
+} else {
+  $installerArgs = @(
+    '--type', $Type,
+    '--app-image', $imageDir,
+    '--name', $appName,
+    '--app-version', $Version,
+    '--vendor', 'example',
+    '--description', 'JavaFX desktop ToDo app',
+    '--dest', $destDir,
+    '--win-menu', '--win-shortcut',
+    '--win-upgrade-uuid', $WinUpgradeUuid
+  )
+
+  & jpackage @installerArgs
+  if ($LASTEXITCODE -ne 0) { exit $LASTEXITCODE }
+}
+
 Write-Host ''
-Write-Host '✅ MSI 생성 완료:'
-Get-ChildItem -Path $destDir -Filter '*.msi' | Select-Object FullName, Length, LastWriteTime
+Write-Host "✅ $Type 생성 완료:"
+Get-ChildItem -Path $destDir | Select-Object FullName, Length, LastWriteTime
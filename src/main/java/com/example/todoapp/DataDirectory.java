@@ -0,0 +1,41 @@
+package com.example.todoapp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Where the H2 file lives, shared by the desktop and headless launchers.
+public final class DataDirectory {
+
+    private DataDirectory() {
+    }
+
+    public static String resolve() {
+        String override = System.getProperty("todoapp.data-dir");
+        if (override != null && !override.isBlank()) {
+            return override.replace('\\', '/');
+        }
+
+        boolean installed = Boolean.getBoolean("todoapp.installed");
+        if (!installed) {
+            return "./data";
+        }
+
+        String localAppData = System.getenv("LOCALAPPDATA");
+        if (localAppData == null || localAppData.isBlank()) {
+            return "./data";
+        }
+
+        // Use forward slashes; H2 JDBC URL accepts them on Windows.
+        return Path.of(localAppData, "TodoApp", "data").toString().replace('\\', '/');
+    }
+
+    public static void ensureExists(String directory) {
+        Path dir = Path.of(directory);
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create data directory: " + dir.toAbsolutePath(), e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.todoapp;
+
+import com.example.todoapp.api.LocalApiServer;
+import com.example.todoapp.storage.H2StorageMaintenance;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Runs without JavaFX and serves TodoService over HTTP on the loopback interface (the "api" profile,
+// see LocalApiServer) until the process is stopped. Same data directory as DesktopLauncher.
+public class HeadlessLauncher {
+    public static void main(String[] args) {
+        String dataDir = DataDirectory.resolve();
+        DataDirectory.ensureExists(dataDir);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("api")
+                .registerShutdownHook(false)
+                .properties("todoapp.data-dir=" + dataDir)
+                .run(args);
+        // Closes like the desktop app does on exit: last use of the database may be SHUTDOWN COMPACT,
+        // so the API stops taking requests and drains the open ones first.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            context.getBeanProvider(LocalApiServer.class).ifAvailable(LocalApiServer::close);
+            context.getBeanProvider(H2StorageMaintenance.class).ifAvailable(H2StorageMaintenance::compactOnExit);
+            context.close();
+        }, "headless-shutdown"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.todoapp.api;
+
+import com.example.todoapp.todo.TodoService;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// The JSON API of the headless mode (see HeadlessLauncher and TodoApiHandler), on the JDK's HTTP
+// server with a virtual thread per exchange. It binds to the loopback interface only.
+@Component
+@ConditionalOnProperty(prefix = "todoapp.api", name = "enabled", havingValue = "true")
+public class LocalApiServer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalApiServer.class);
+
+    // Seconds open exchanges get to finish on shutdown.
+    private static final int STOP_DELAY = 2;
+
+    private final TodoService todoService;
+    private final int port;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public LocalApiServer(TodoService todoService, @Value("${todoapp.api.port:8765}") int port) {
+        this.todoService = todoService;
+        this.port = port;
+    }
+
+    @Override
+    public synchronized void run(ApplicationArguments args) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", new TodoApiHandler(todoService));
+        server.start();
+        log.info("Todo API listening on http://{}:{}/", server.getAddress().getHostString(), getPort());
+    }
+
+    // The bound port; differs from todoapp.api.port when that is 0.
+    public synchronized int getPort() {
+        return server == null ? -1 : server.getAddress().getPort();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(STOP_DELAY);
+            executor.close();
+            server = null;
+        }
+    }
+}
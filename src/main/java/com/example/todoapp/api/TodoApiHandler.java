@@ -0,0 +1,511 @@
+package com.example.todoapp.api;
+
+import com.example.todoapp.todo.DayStatusRange;
+import com.example.todoapp.todo.Todo;
+import com.example.todoapp.todo.TodoBatchResult;
+import com.example.todoapp.todo.TodoConflictException;
+import com.example.todoapp.todo.TodoDraft;
+import com.example.todoapp.todo.TodoListItem;
+import com.example.todoapp.todo.TodoPage;
+import com.example.todoapp.todo.TodoService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Routes of the local API, all JSON:
+//   GET    /todos/{id}                      one todo, as in the NDJSON export
+//   POST   /todos                           create from {"date","title","content","done"}
+//   PUT    /todos/{id}                      replace with the same fields
+//   DELETE /todos/{id}
+//   GET    /todos?from=&to=                 stored todos of the range, streamed as NDJSON
+//   GET    /days?from=&to=                  {"date","total","done"} of each non-empty day, as NDJSON
+//   GET    /days/{date}?after=&size=        a page of the day list; "next" goes into after
+//   POST   /batch                           {"create":[todo],"update":[todo with id],"delete":[id]}
+// Ranges are written while they are read, with chunked encoding. A batch is applied whole or not at
+// all by TodoService.applyBatch: creates, then updates, then deletes, in one transaction.
+class TodoApiHandler implements HttpHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoApiHandler.class);
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BATCH_SIZE = 10_000;
+    // Ten years of day counts; a DayStatusRange holds two ints per day.
+    static final int MAX_STATUS_DAYS = 3660;
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String NDJSON = "application/x-ndjson; charset=utf-8";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Pages on other sites reach a loopback port under their own (rebound) host name, so only
+    // loopback names are served.
+    private static final Set<String> LOCAL_HOSTS = Set.of("localhost", "127.0.0.1", "[::1]");
+
+    private final TodoService todoService;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    TodoApiHandler(TodoService todoService) {
+        this.todoService = todoService;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                checkLocal(exchange);
+                route(exchange);
+            } catch (RuntimeException ex) {
+                int status = statusOf(ex);
+                if (status == 500) {
+                    log.warn("{} {} failed", exchange.getRequestMethod(), exchange.getRequestURI(), ex);
+                }
+                // A stream that failed has already sent its status and written the error itself.
+                if (exchange.getResponseCode() == -1) {
+                    respond(exchange, status, json -> writeError(json, ex));
+                }
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        List<String> path = segments(exchange.getRequestURI().getRawPath());
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        String resource = path.isEmpty() ? "" : path.get(0);
+
+        if (resource.equals("todos") && path.size() == 1) {
+            switch (method) {
+                case "GET" -> listRange(exchange, query);
+                case "POST" -> create(exchange);
+                default -> throw methodNotAllowed(method);
+            }
+        } else if (resource.equals("todos") && path.size() == 2) {
+            long id = parseId(path.get(1));
+            switch (method) {
+                case "GET" -> get(exchange, id);
+                case "PUT" -> update(exchange, id);
+                case "DELETE" -> delete(exchange, id);
+                default -> throw methodNotAllowed(method);
+            }
+        } else if (resource.equals("days") && path.size() == 1) {
+            requireGet(method);
+            dayStatuses(exchange, query);
+        } else if (resource.equals("days") && path.size() == 2) {
+            requireGet(method);
+            dayPage(exchange, LocalDate.parse(path.get(1)), query);
+        } else if (resource.equals("batch") && path.size() == 1) {
+            if (!method.equals("POST")) {
+                throw methodNotAllowed(method);
+            }
+            batch(exchange);
+        } else {
+            throw new ApiException(404, "Not found: " + exchange.getRequestURI().getPath());
+        }
+    }
+
+    private void get(HttpExchange exchange, long id) throws IOException {
+        Todo todo = todoService.getById(id).orElseThrow(() -> notFound(id));
+        respond(exchange, 200, json -> writeTodo(json, todo));
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        TodoDraft draft = readBody(exchange, json -> readTodo(json).draft());
+        Todo todo = todoService.create(draft.date(), draft.title(), draft.content(), draft.done());
+        exchange.getResponseHeaders().set("Location", "/todos/" + todo.getId());
+        respond(exchange, 201, json -> writeTodo(json, todo));
+    }
+
+    private void update(HttpExchange exchange, long id) throws IOException {
+        TodoDraft draft = readBody(exchange, json -> readTodo(json).draft());
+        if (todoService.getById(id).isEmpty()) {
+            throw notFound(id);
+        }
+        Todo todo = todoService.update(id, draft.date(), draft.title(), draft.content(), draft.done());
+        respond(exchange, 200, json -> writeTodo(json, todo));
+    }
+
+    private void delete(HttpExchange exchange, long id) throws IOException {
+        if (todoService.getById(id).isEmpty()) {
+            throw notFound(id);
+        }
+        todoService.delete(id);
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void listRange(HttpExchange exchange, Map<String, String> query) throws IOException {
+        LocalDate from = LocalDate.parse(required(query, "from"));
+        LocalDate to = LocalDate.parse(required(query, "to"));
+        if (to.isBefore(from)) {
+            throw new ApiException(400, "to is before from");
+        }
+        stream(exchange, json -> todoService.forEachInRange(from, to, todo -> {
+            try {
+                writeTodo(json, todo);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }));
+    }
+
+    private void dayStatuses(HttpExchange exchange, Map<String, String> query) throws IOException {
+        LocalDate from = LocalDate.parse(required(query, "from"));
+        LocalDate to = LocalDate.parse(required(query, "to"));
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_STATUS_DAYS) {
+            throw new ApiException(400, "The range must run forward and span at most " + MAX_STATUS_DAYS + " days");
+        }
+        DayStatusRange range = todoService.getDayStatuses(from, to);
+        stream(exchange, json -> {
+            for (int i = 0; i < range.size(); i++) {
+                if (range.totalAt(i) > 0) {
+                    json.writeStartObject();
+                    json.writeStringField("date", range.dateAt(i).toString());
+                    json.writeNumberField("total", range.totalAt(i));
+                    json.writeNumberField("done", range.doneAt(i));
+                    json.writeEndObject();
+                }
+            }
+        });
+    }
+
+    private void dayPage(HttpExchange exchange, LocalDate date, Map<String, String> query) throws IOException {
+        int size = query.containsKey("size") ? Integer.parseInt(query.get("size")) : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ApiException(400, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        TodoPage.Key after = query.containsKey("after") ? parseKey(query.get("after")) : null;
+        TodoPage page = todoService.getTodoPage(date, after, size);
+        respond(exchange, 200, json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            for (TodoListItem item : page.items()) {
+                json.writeStartObject();
+                json.writeNumberField("id", item.id());
+                json.writeStringField("title", item.title());
+                json.writeBooleanField("done", item.done());
+                json.writeStringField("createdAt", item.createdAt().toString());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            if (page.hasNext()) {
+                json.writeStringField("next", formatKey(page.next()));
+            } else {
+                json.writeNullField("next");
+            }
+            json.writeEndObject();
+        });
+    }
+
+    private void batch(HttpExchange exchange) throws IOException {
+        Batch batch = readBody(exchange, this::readBatch);
+        TodoBatchResult result = todoService.applyBatch(batch.creates, batch.updates, batch.deletes);
+        respond(exchange, 200, json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("created");
+            for (Todo todo : result.created()) {
+                json.writeNumber(todo.getId());
+            }
+            json.writeEndArray();
+            json.writeNumberField("updated", result.updated());
+            json.writeNumberField("deleted", result.deleted());
+            json.writeEndObject();
+        });
+    }
+
+    private record Item(Long id, TodoDraft draft) {
+    }
+
+    private static final class Batch {
+        private final List<TodoDraft> creates = new ArrayList<>();
+        private final Map<Long, TodoDraft> updates = new LinkedHashMap<>();
+        private final List<Long> deletes = new ArrayList<>();
+
+        private int size() {
+            return creates.size() + updates.size() + deletes.size();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(JsonParser json) throws IOException;
+    }
+
+    private <T> T readBody(HttpExchange exchange, BodyReader<T> reader) throws IOException {
+        try (JsonParser json = jsonFactory.createParser(exchange.getRequestBody())) {
+            if (json.nextToken() != JsonToken.START_OBJECT) {
+                throw new ApiException(400, "Expected a JSON object");
+            }
+            return reader.read(json);
+        } catch (JsonProcessingException ex) {
+            throw new ApiException(400, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    // The parser is on the object's START_OBJECT.
+    private static Item readTodo(JsonParser json) throws IOException {
+        Long id = null;
+        LocalDate date = null;
+        String title = null;
+        String content = null;
+        boolean done = false;
+        while (json.nextToken() == JsonToken.FIELD_NAME) {
+            String name = json.currentName();
+            JsonToken value = json.nextToken();
+            String text = value == JsonToken.VALUE_NULL ? null : json.getText();
+            switch (name) {
+                case "id" -> id = text == null ? null : json.getLongValue();
+                case "date" -> date = text == null ? null : LocalDate.parse(text);
+                case "title" -> title = text;
+                case "content" -> content = text;
+                case "done" -> done = value == JsonToken.VALUE_TRUE;
+                default -> json.skipChildren();
+            }
+        }
+        if (date == null) {
+            throw new ApiException(400, "date is required");
+        }
+        return new Item(id, new TodoDraft(date, title, content, done));
+    }
+
+    private Batch readBatch(JsonParser json) throws IOException {
+        Batch batch = new Batch();
+        while (json.nextToken() == JsonToken.FIELD_NAME) {
+            String name = json.currentName();
+            if (json.nextToken() != JsonToken.START_ARRAY) {
+                throw new ApiException(400, name + " must be an array");
+            }
+            JsonToken token;
+            while ((token = json.nextToken()) != JsonToken.END_ARRAY) {
+                switch (name) {
+                    case "create" -> batch.creates.add(readObject(json, token).draft());
+                    case "update" -> {
+                        Item item = readObject(json, token);
+                        if (item.id() == null) {
+                            throw new ApiException(400, "Every update needs an id");
+                        }
+                        batch.updates.put(item.id(), item.draft());
+                    }
+                    case "delete" -> {
+                        if (token != JsonToken.VALUE_NUMBER_INT) {
+                            throw new ApiException(400, "delete holds todo ids");
+                        }
+                        batch.deletes.add(json.getLongValue());
+                    }
+                    default -> throw new ApiException(400, "Unknown batch field: " + name);
+                }
+                if (batch.size() > MAX_BATCH_SIZE) {
+                    throw new ApiException(413, "A batch holds at most " + MAX_BATCH_SIZE + " operations");
+                }
+            }
+        }
+        return batch;
+    }
+
+    private static Item readObject(JsonParser json, JsonToken token) throws IOException {
+        if (token != JsonToken.START_OBJECT) {
+            throw new ApiException(400, "Expected a todo object");
+        }
+        return readTodo(json);
+    }
+
+    @FunctionalInterface
+    private interface JsonBody {
+        void write(JsonGenerator json) throws IOException;
+    }
+
+    private void respond(HttpExchange exchange, int status, JsonBody body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonGenerator json = jsonFactory.createGenerator(bytes)) {
+            body.write(json);
+        }
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            bytes.writeTo(out);
+        }
+    }
+
+    // One JSON value per line, sent as it is written (chunked, no Content-Length). The status is already
+    // out when reading fails halfway, so the stream then ends with an {"error"} line instead.
+    private void stream(HttpExchange exchange, JsonBody rows) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", NDJSON);
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = new BufferedOutputStream(exchange.getResponseBody(), BUFFER_SIZE);
+             JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            try {
+                rows.write(json);
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            } catch (RuntimeException ex) {
+                writeError(json, ex);
+                json.writeRaw('\n');
+                throw ex;
+            }
+            if (json.getOutputContext().getEntryCount() > 0) {
+                json.writeRaw('\n');
+            }
+        }
+    }
+
+    private static void writeError(JsonGenerator json, RuntimeException ex) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("error", ex.getMessage() == null ? ex.toString() : ex.getMessage());
+        json.writeEndObject();
+    }
+
+    private static void writeTodo(JsonGenerator json, Todo todo) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", todo.getId());
+        json.writeStringField("date", todo.getDate().toString());
+        json.writeStringField("title", todo.getTitle());
+        json.writeStringField("content", todo.getContent());
+        json.writeBooleanField("done", todo.isDone());
+        json.writeStringField("createdAt", todo.getCreatedAt().toString());
+        json.writeStringField("updatedAt", todo.getUpdatedAt().toString());
+        json.writeEndObject();
+    }
+
+    // Writes must be JSON, which a cross-site form cannot send without a preflight.
+    private static void checkLocal(HttpExchange exchange) {
+        String host = exchange.getRequestHeaders().getFirst("Host");
+        if (host == null || !LOCAL_HOSTS.contains(hostName(host))) {
+            throw new ApiException(403, "Only requests to localhost are served");
+        }
+        String method = exchange.getRequestMethod();
+        if (method.equals("POST") || method.equals("PUT")) {
+            String type = exchange.getRequestHeaders().getFirst("Content-Type");
+            if (type == null || !type.toLowerCase(Locale.ROOT).startsWith("application/json")) {
+                throw new ApiException(415, "Content-Type must be application/json");
+            }
+        }
+    }
+
+    private static String hostName(String host) {
+        String name = host.trim().toLowerCase(Locale.ROOT);
+        if (name.startsWith("[")) {
+            int end = name.indexOf(']');
+            return end < 0 ? name : name.substring(0, end + 1);
+        }
+        int colon = name.indexOf(':');
+        return colon < 0 ? name : name.substring(0, colon);
+    }
+
+    private static List<String> segments(String rawPath) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> values = new HashMap<>();
+        if (rawQuery == null) {
+            return values;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            values.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static String required(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new ApiException(400, name + " is required");
+        }
+        return value;
+    }
+
+    private static long parseId(String segment) {
+        try {
+            return Long.parseLong(segment);
+        } catch (NumberFormatException ex) {
+            throw new ApiException(404, "Not found: " + segment);
+        }
+    }
+
+    // Page positions travel as "done,createdAt,id".
+    static String formatKey(TodoPage.Key key) {
+        return key.done() + "," + key.createdAt() + "," + key.id();
+    }
+
+    static TodoPage.Key parseKey(String value) {
+        String[] parts = value.split(",");
+        if (parts.length != 3) {
+            throw new ApiException(400, "after must be the next value of a previous page");
+        }
+        return new TodoPage.Key(Boolean.parseBoolean(parts[0]), Instant.parse(parts[1]), Long.parseLong(parts[2]));
+    }
+
+    private static void requireGet(String method) {
+        if (!method.equals("GET")) {
+            throw methodNotAllowed(method);
+        }
+    }
+
+    private static ApiException notFound(long id) {
+        return new ApiException(404, "Todo not found: " + id);
+    }
+
+    private static ApiException methodNotAllowed(String method) {
+        return new ApiException(405, method + " is not allowed here");
+    }
+
+    private static int statusOf(RuntimeException ex) {
+        if (ex instanceof ApiException api) {
+            return api.status;
+        }
+        if (ex instanceof TodoConflictException || ex instanceof ConcurrencyFailureException) {
+            return 409;
+        }
+        if (ex instanceof IllegalArgumentException || ex instanceof ConstraintViolationException
+                || ex instanceof DateTimeException) {
+            return 400;
+        }
+        return 500;
+    }
+
+    static final class ApiException extends RuntimeException {
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Service/repository timers and the slow-operation log, on unless todoapp.metrics.enabled is false.
+// Hibernate statistics, HikariCP pool metrics and the JMX registry come from Spring Boot's
+// auto-configuration and follow the same switch (see application.yml).
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "todoapp.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfiguration {
+
+    @Bean
+    public SlowOperationLog slowOperationLog(@Value("${todoapp.metrics.slow-threshold:200ms}") Duration threshold,
+                                             @Value("${todoapp.metrics.slow-log-size:100}") int capacity) {
+        return new SlowOperationLog(threshold, capacity);
+    }
+
+    @Bean
+    public TodoMetricsAspect todoMetricsAspect(MeterRegistry registry, SlowOperationLog slowOperationLog) {
+        return new TodoMetricsAspect(registry, slowOperationLog);
+    }
+
+    // The app runs with lazy initialization; the registry must exist before the first call to be exported.
+    @Bean
+    static LazyInitializationExcludeFilter metricsLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(MeterRegistry.class, SlowOperationLog.class);
+    }
+}
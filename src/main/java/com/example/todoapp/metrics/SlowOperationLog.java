@@ -0,0 +1,95 @@
+package com.example.todoapp.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Keeps the most recent operations that took longer than the threshold. Fast calls only pay for
+// one comparison; slow ones are logged and replace the oldest entry of a fixed-size ring.
+@ManagedResource(objectName = "todoapp:type=SlowOperations", description = "Recent slow service and repository calls")
+public class SlowOperationLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowOperationLog.class);
+
+    private final long thresholdNanos;
+    private final SlowOperation[] entries;
+
+    private int next;
+    private int size;
+    private long total;
+
+    public SlowOperationLog(Duration threshold, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.thresholdNanos = threshold.toNanos();
+        this.entries = new SlowOperation[capacity];
+    }
+
+    public void record(String operation, long elapsedNanos, Throwable failure) {
+        if (elapsedNanos < thresholdNanos) {
+            return;
+        }
+
+        String outcome = failure == null ? "ok" : failure.getClass().getSimpleName();
+        SlowOperation entry = new SlowOperation(Instant.now(), operation, Duration.ofNanos(elapsedNanos), outcome);
+        log.warn("Slow operation {} took {} ms ({})",
+                operation, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), outcome);
+
+        synchronized (this) {
+            entries[next] = entry;
+            next = (next + 1) % entries.length;
+            size = Math.min(size + 1, entries.length);
+            total++;
+        }
+    }
+
+    // Newest first.
+    public synchronized List<SlowOperation> recent() {
+        List<SlowOperation> result = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            result.add(entries[Math.floorMod(next - i, entries.length)]);
+        }
+        return result;
+    }
+
+    @ManagedAttribute(description = "Recent slow operations, newest first")
+    public String[] getRecent() {
+        return recent().stream().map(SlowOperation::toString).toArray(String[]::new);
+    }
+
+    @ManagedAttribute(description = "Slow operations seen since startup or the last clear")
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    @ManagedAttribute(description = "Threshold in milliseconds")
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    @ManagedOperation(description = "Forget the recorded slow operations")
+    public synchronized void clear() {
+        Arrays.fill(entries, null);
+        next = 0;
+        size = 0;
+        total = 0;
+    }
+
+    public record SlowOperation(Instant at, String operation, Duration duration, String outcome) {
+
+        @Override
+        public String toString() {
+            return at + " " + operation + " " + duration.toMillis() + "ms " + outcome;
+        }
+    }
+}
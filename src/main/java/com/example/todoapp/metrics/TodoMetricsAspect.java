@@ -0,0 +1,101 @@
+package com.example.todoapp.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times every TodoService method and every repository call. Timers are resolved once per method
+// (and per exception type), so a call costs two clock reads and a map lookup.
+// For repository methods returning a Stream only opening the stream is timed, not reading it.
+// Ordered outside the transaction advice, so commit time is part of the measured call.
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TodoMetricsAspect {
+
+    static final String SERVICE_TIMER = "todoapp.service";
+    static final String REPOSITORY_TIMER = "todoapp.repository";
+
+    private final MeterRegistry registry;
+    private final SlowOperationLog slowLog;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public TodoMetricsAspect(MeterRegistry registry, SlowOperationLog slowLog) {
+        this.registry = registry;
+        this.slowLog = slowLog;
+    }
+
+    @Around("execution(public * com.example.todoapp.todo.TodoService.*(..))")
+    public Object timeService(ProceedingJoinPoint call) throws Throwable {
+        return time(call, SERVICE_TIMER, "TodoService");
+    }
+
+    @Around("execution(* com.example.todoapp.todo.TodoRepository+.*(..))")
+    public Object timeTodoRepository(ProceedingJoinPoint call) throws Throwable {
+        return time(call, REPOSITORY_TIMER, "TodoRepository");
+    }
+
+    @Around("execution(* com.example.todoapp.todo.DaySummaryRepository+.*(..))")
+    public Object timeDaySummaryRepository(ProceedingJoinPoint call) throws Throwable {
+        return time(call, REPOSITORY_TIMER, "DaySummaryRepository");
+    }
+
+    private Object time(ProceedingJoinPoint call, String timerName, String component) throws Throwable {
+        Method method = ((MethodSignature) call.getSignature()).getMethod();
+        MethodTimers methodTimers = timers.computeIfAbsent(method,
+                m -> new MethodTimers(timerName, component, m.getName()));
+
+        long start = System.nanoTime();
+        try {
+            Object result = call.proceed();
+            long elapsed = System.nanoTime() - start;
+            methodTimers.success.record(elapsed, TimeUnit.NANOSECONDS);
+            slowLog.record(methodTimers.operation, elapsed, null);
+            return result;
+        } catch (Throwable ex) {
+            long elapsed = System.nanoTime() - start;
+            methodTimers.failure(ex).record(elapsed, TimeUnit.NANOSECONDS);
+            slowLog.record(methodTimers.operation, elapsed, ex);
+            throw ex;
+        }
+    }
+
+    private final class MethodTimers {
+
+        private final String timerName;
+        private final String component;
+        private final String method;
+        private final String operation;
+        private final Timer success;
+        private final Map<Class<?>, Timer> failures = new ConcurrentHashMap<>();
+
+        private MethodTimers(String timerName, String component, String method) {
+            this.timerName = timerName;
+            this.component = component;
+            this.method = method;
+            this.operation = component + "." + method;
+            this.success = timer("none");
+        }
+
+        private Timer failure(Throwable ex) {
+            return failures.computeIfAbsent(ex.getClass(), type -> timer(type.getSimpleName()));
+        }
+
+        private Timer timer(String exception) {
+            return Timer.builder(timerName)
+                    .tag("class", component)
+                    .tag("method", method)
+                    .tag("exception", exception)
+                    .register(registry);
+        }
+    }
+}
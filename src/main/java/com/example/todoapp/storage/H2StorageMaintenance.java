@@ -0,0 +1,247 @@
+package com.example.todoapp.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.h2.engine.SessionLocal;
+import org.h2.jdbc.JdbcConnection;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Keeps the H2 file from growing without bound after edit/delete churn. On a background thread it
+// sizes the MVStore cache from the heap, and whenever a check finds no writes since the previous one
+// it compacts the file for at most compact-time. compactOnExit() rewrites the whole file with
+// SHUTDOWN COMPACT when the live data has dropped below the configured fill rate.
+@Component
+@ConditionalOnProperty(prefix = "todoapp.storage", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ManagedResource(objectName = "todoapp:type=Storage", description = "H2 file size, fill rate and maintenance time")
+public class H2StorageMaintenance implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(H2StorageMaintenance.class);
+
+    private static final long MIN_CACHE_KB = 16 * 1024;
+    private static final long MAX_CACHE_KB = 256 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean sharedDatabase;
+    private final int cacheHeapPercent;
+    private final Duration idleCheckInterval;
+    private final Duration compactTime;
+    private final int compactBelowFillRate;
+    private final int exitCompactBelowFillRate;
+    private final long exitCompactMinSize;
+    private final ScheduledExecutorService scheduler;
+
+    // Written by the maintenance thread, read over JMX.
+    private volatile StorageStats stats;
+    private volatile long lastWriteCount = -1;
+    private volatile boolean compactedSinceLastWrite;
+    private volatile long compactions;
+    private volatile long maintenanceNanos;
+    private volatile String lastCompaction = "";
+
+    public H2StorageMaintenance(JdbcTemplate jdbcTemplate,
+                                @Value("${spring.datasource.url}") String url,
+                                @Value("${todoapp.storage.cache-heap-percent:12}") int cacheHeapPercent,
+                                @Value("${todoapp.storage.idle-check-interval:1m}") Duration idleCheckInterval,
+                                @Value("${todoapp.storage.compact-time:200ms}") Duration compactTime,
+                                @Value("${todoapp.storage.compact-below-fill-rate:80}") int compactBelowFillRate,
+                                @Value("${todoapp.storage.exit-compact-below-fill-rate:50}") int exitCompactBelowFillRate,
+                                @Value("${todoapp.storage.exit-compact-min-size:16MB}") DataSize exitCompactMinSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Other processes use the file too (shared profile): no file rewrites, and never SHUTDOWN.
+        String normalized = url.toUpperCase();
+        this.sharedDatabase = normalized.contains("AUTO_SERVER=TRUE") || normalized.startsWith("JDBC:H2:TCP:");
+        this.cacheHeapPercent = cacheHeapPercent;
+        this.idleCheckInterval = idleCheckInterval;
+        this.compactTime = compactTime;
+        this.compactBelowFillRate = compactBelowFillRate;
+        this.exitCompactBelowFillRate = exitCompactBelowFillRate;
+        this.exitCompactMinSize = exitCompactMinSize.toBytes();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "h2-maintenance");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Nothing here runs on the startup thread.
+        scheduler.execute(() -> quietly("cache sizing", this::sizeCache));
+        long interval = idleCheckInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> quietly("idle compaction", this::compactIfIdle),
+                interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    public StorageStats readStats() {
+        Map<String, String> info = new HashMap<>();
+        jdbcTemplate.query("select setting_name, setting_value from information_schema.settings"
+                        + " where setting_name like 'info.%'",
+                (RowCallbackHandler) row -> info.put(row.getString(1), row.getString(2)));
+        StorageStats read = StorageStats.from(info);
+        stats = read;
+        return read;
+    }
+
+    // Call once nothing else uses the database, right before the context closes: SHUTDOWN closes it
+    // for every connection. Returns whether the file was rewritten.
+    public boolean compactOnExit() {
+        scheduler.shutdownNow();
+        if (sharedDatabase) {
+            return false;
+        }
+        try {
+            StorageStats before = readStats();
+            if (!before.worthCompacting(exitCompactBelowFillRate, exitCompactMinSize)) {
+                return false;
+            }
+            long start = System.nanoTime();
+            jdbcTemplate.execute("shutdown compact");
+            long elapsed = System.nanoTime() - start;
+            log.info("SHUTDOWN COMPACT of a {} byte file at {}% fill took {} ms",
+                    before.fileSizeBytes(), before.chunksFillRate(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+            return true;
+        } catch (RuntimeException ex) {
+            log.warn("Compaction on exit failed", ex);
+            return false;
+        }
+    }
+
+    @ManagedOperation(description = "Compact the file now, for at most the configured compact time")
+    public void compactNow() {
+        scheduler.execute(() -> quietly("compaction", () -> compact(readStats())));
+    }
+
+    @ManagedAttribute(description = "Database file size in bytes")
+    public long getFileSizeBytes() {
+        return currentStats().fileSizeBytes();
+    }
+
+    @ManagedAttribute(description = "Percent of the file holding live data")
+    public int getFillRate() {
+        return currentStats().fillRate();
+    }
+
+    @ManagedAttribute(description = "Percent of the used chunks holding live data")
+    public int getChunksFillRate() {
+        return currentStats().chunksFillRate();
+    }
+
+    @ManagedAttribute(description = "MVStore cache size limit in MB")
+    public long getCacheMaxMb() {
+        return currentStats().cacheMaxMb();
+    }
+
+    @ManagedAttribute(description = "MVStore cache in use in MB")
+    public long getCacheUsedMb() {
+        return currentStats().cacheUsedMb();
+    }
+
+    @ManagedAttribute(description = "Compactions run since startup")
+    public long getCompactions() {
+        return compactions;
+    }
+
+    @ManagedAttribute(description = "Time spent in cache sizing and compaction, in milliseconds")
+    public long getMaintenanceMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maintenanceNanos);
+    }
+
+    @ManagedAttribute(description = "Result of the last compaction")
+    public String getLastCompaction() {
+        return lastCompaction;
+    }
+
+    // Reading the stats is a small in-memory query; refreshed at most once per check interval.
+    private StorageStats currentStats() {
+        StorageStats current = stats;
+        return current != null ? current : readStats();
+    }
+
+    private void sizeCache() {
+        long heapKb = Runtime.getRuntime().maxMemory() / 1024;
+        long cacheKb = Math.max(MIN_CACHE_KB, Math.min(MAX_CACHE_KB, heapKb * cacheHeapPercent / 100));
+        long start = System.nanoTime();
+        jdbcTemplate.execute("set cache_size " + cacheKb);
+        maintenanceNanos += System.nanoTime() - start;
+        log.debug("H2 cache size set to {} KB ({}% of a {} KB heap)", cacheKb, cacheHeapPercent, heapKb);
+    }
+
+    // The write counter standing still between two checks is taken as the user being idle.
+    private void compactIfIdle() {
+        StorageStats current = readStats();
+        if (!current.hasFile()) {
+            return;
+        }
+        long writes = current.writeCount();
+        boolean idle = writes == lastWriteCount;
+        if (!idle) {
+            compactedSinceLastWrite = false;
+        }
+        lastWriteCount = writes;
+        if (idle && !compactedSinceLastWrite && current.worthCompacting(compactBelowFillRate, 0)) {
+            compact(current);
+            compactedSinceLastWrite = true;
+            // The compaction's own writes must not count as activity.
+            lastWriteCount = readStats().writeCount();
+        }
+    }
+
+    private void compact(StorageStats before) {
+        if (sharedDatabase || !before.hasFile()) {
+            return;
+        }
+        int maxMillis = (int) compactTime.toMillis();
+        long start = System.nanoTime();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            // The MVStore API is the only way to compact without closing the database.
+            SessionLocal session = (SessionLocal) connection.unwrap(JdbcConnection.class).getSession();
+            MVStore store = session.getDatabase().getStore().getMvStore();
+            store.compactFile(maxMillis);
+            return null;
+        });
+        long elapsed = System.nanoTime() - start;
+        maintenanceNanos += elapsed;
+        compactions++;
+
+        StorageStats after = readStats();
+        lastCompaction = Instant.now() + " " + before.fileSizeBytes() + " -> " + after.fileSizeBytes() + " bytes, fill "
+                + before.chunksFillRate() + "% -> " + after.chunksFillRate() + "%, "
+                + TimeUnit.NANOSECONDS.toMillis(elapsed) + "ms";
+        log.info("Compacted H2 file: {}", lastCompaction);
+    }
+
+    private static void quietly(String what, Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException | LinkageError ex) {
+            log.warn("H2 {} failed", what, ex);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.todoapp.storage;
+
+import java.util.Map;
+
+// The MVStore figures H2 publishes in INFORMATION_SCHEMA.SETTINGS (info.*). Fill rates are percent of
+// the file that still holds live data; -1 where the database has no file (in-memory) or H2 omits it.
+public record StorageStats(long fileSizeBytes, int fillRate, int chunksFillRate,
+                           long cacheMaxMb, long cacheUsedMb, long writeCount) {
+
+    static StorageStats from(Map<String, String> info) {
+        return new StorageStats(
+                number(info, "info.FILE_SIZE"),
+                (int) number(info, "info.FILL_RATE"),
+                (int) number(info, "info.CHUNKS_FILL_RATE"),
+                number(info, "info.CACHE_MAX_SIZE"),
+                number(info, "info.CACHE_SIZE"),
+                number(info, "info.FILE_WRITE"));
+    }
+
+    boolean hasFile() {
+        return fileSizeBytes >= 0;
+    }
+
+    // Below the fill rate and big enough that rewriting the file pays off.
+    boolean worthCompacting(int belowFillRate, long minFileSizeBytes) {
+        return hasFile() && chunksFillRate >= 0 && chunksFillRate < belowFillRate && fileSizeBytes >= minFileSizeBytes;
+    }
+
+    private static long number(Map<String, String> info, String key) {
+        String value = info.get(key);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.todoapp.todo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// A done todo moved out of the todo table by TodoService.archiveDoneBefore. Same columns and ids as
+// todo, so a row can be copied back when it is edited. Rows are only written by the bulk copies in
+// ArchivedTodoRepository.
+@Entity
+@Table(
+        name = "todo_archive",
+        indexes = @Index(name = "idx_todo_archive_date_created", columnList = "todo_date, created_at")
+)
+public class ArchivedTodo {
+
+    @Id
+    private Long id;
+
+    @Column(name = "todo_date", nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @Column(nullable = false, length = 200)
+    private String content;
+
+    @Column(nullable = false)
+    private boolean done;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @Column(nullable = false)
+    private long version;
+
+    protected ArchivedTodo() {
+    }
+
+    Todo toTodo() {
+        return Todo.fromArchive(id, date, title, content, done, createdAt, updatedAt, version);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.todoapp.todo;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+
+    @Query("select max(a.date) from ArchivedTodo a")
+    LocalDate findLatestDate();
+
+    List<ArchivedTodo> findByDateOrderByDoneAscCreatedAtAscIdAsc(LocalDate date);
+
+    // Same keyset queries as TodoRepository, so a cold day can be paged over both tables.
+    @Query("""
+            select new com.example.todoapp.todo.TodoListItem(a.id, a.title, a.done, a.createdAt)
+            from ArchivedTodo a
+            where a.date = :date
+            order by a.done, a.createdAt, a.id
+            """)
+    List<TodoListItem> findListItemsByDate(@Param("date") LocalDate date, Limit limit);
+
+    @Query("""
+            select new com.example.todoapp.todo.TodoListItem(a.id, a.title, a.done, a.createdAt)
+            from ArchivedTodo a
+            where a.date = :date
+              and ((a.done = :done and (a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :id)))
+                   or (:done = false and a.done = true))
+            order by a.done, a.createdAt, a.id
+            """)
+    List<TodoListItem> findListItemsByDateAfter(@Param("date") LocalDate date,
+                                                @Param("done") boolean done,
+                                                @Param("createdAt") Instant createdAt,
+                                                @Param("id") long id,
+                                                Limit limit);
+
+    @Query("""
+            select new com.example.todoapp.todo.TodoListItem(a.id, a.title, a.done, a.createdAt)
+            from ArchivedTodo a
+            where a.date = :date and a.id in :ids
+            order by a.done, a.createdAt, a.id
+            """)
+    List<TodoListItem> findListItemsByDateAndIds(@Param("date") LocalDate date,
+                                                 @Param("ids") Collection<Long> ids,
+                                                 Limit limit);
+
+    @Query("""
+            select new com.example.todoapp.todo.TodoListItem(a.id, a.title, a.done, a.createdAt)
+            from ArchivedTodo a
+            where a.date = :date and a.id in :ids
+              and ((a.done = :done and (a.createdAt > :createdAt or (a.createdAt = :createdAt and a.id > :id)))
+                   or (:done = false and a.done = true))
+            order by a.done, a.createdAt, a.id
+            """)
+    List<TodoListItem> findListItemsByDateAndIdsAfter(@Param("date") LocalDate date,
+                                                      @Param("ids") Collection<Long> ids,
+                                                      @Param("done") boolean done,
+                                                      @Param("createdAt") Instant createdAt,
+                                                      @Param("id") long id,
+                                                      Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from ArchivedTodo a order by a.id")
+    Stream<ArchivedTodo> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from ArchivedTodo a where a.date between :start and :end order by a.date, a.done, a.createdAt, a.id")
+    Stream<ArchivedTodo> streamByDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.todoapp.todo.TodoMembership(a.id, a.date, a.done) from ArchivedTodo a")
+    Stream<TodoMembership> streamMemberships();
+
+    @Query("""
+            select a.date as date,
+                   count(a) as totalCount,
+                   sum(case when a.done = true then 1 else 0 end) as doneCount
+            from ArchivedTodo a
+            group by a.date
+            """)
+    List<TodoDaySummary> summarizeAllDates();
+
+    // Rows move between the tables as plain copies, keeping their ids, timestamps and versions. Each
+    // declares the table it writes, so only caches reading that table are invalidated.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo_archive"))
+    @Query(value = """
+            insert into todo_archive (id, todo_date, title, content, done, created_at, updated_at, version)
+            select id, todo_date, title, content, done, created_at, updated_at, version
+            from todo
+            where id in (:ids)
+            """, nativeQuery = true)
+    int copyFromTodo(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo"))
+    @Query(value = """
+            insert into todo (id, todo_date, title, content, done, created_at, updated_at, version)
+            select id, todo_date, title, content, done, created_at, updated_at, version
+            from todo_archive
+            where id = :id
+            """, nativeQuery = true)
+    int copyToTodo(@Param("id") Long id);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo"))
+    @Query(value = """
+            insert into todo (id, todo_date, title, content, done, created_at, updated_at, version)
+            select id, todo_date, title, content, done, created_at, updated_at, version
+            from todo_archive
+            where id in (:ids)
+            """, nativeQuery = true)
+    int copyAllToTodo(@Param("ids") Collection<Long> ids);
+}
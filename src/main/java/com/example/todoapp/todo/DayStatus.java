@@ -3,5 +3,12 @@ package com.example.todoapp.todo;
 public enum DayStatus {
     NONE,
     INCOMPLETE,
-    ALL_DONE
+    ALL_DONE;
+
+    public static DayStatus of(int totalCount, int doneCount) {
+        if (totalCount <= 0) {
+            return NONE;
+        }
+        return doneCount >= totalCount ? ALL_DONE : INCOMPLETE;
+    }
 }
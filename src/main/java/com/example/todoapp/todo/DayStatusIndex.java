@@ -0,0 +1,264 @@
+package com.example.todoapp.todo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+// In-memory copy of todo_day_summary: total and done counts in int arrays indexed by epoch day.
+// Days are grouped in chunks of CHUNK_DAYS that are only allocated once a day in them has todos,
+// so memory is 8 bytes per day of a used ~1.4-year span. Range reads scan the arrays without
+// allocating. TodoService sets committed counts; TodoService.verifyDayStatusIndex checks it.
+// StampedLock rather than ReentrantReadWriteLock: its read lock keeps no per-thread state, and
+// every read runs on a new virtual thread. Off (todoapp.day-index.enabled) in the shared profile, where
+// other instances commit counts this process never hears about; reads then stay on the database.
+@Component
+public class DayStatusIndex {
+
+    static final int CHUNK_DAYS = 512;
+
+    @FunctionalInterface
+    public interface DayCounts {
+
+        void accept(long epochDay, int total, int done);
+    }
+
+    private final StampedLock lock = new StampedLock();
+    private final boolean enabled;
+
+    // Guarded by lock. Chunk i covers the days from (firstChunk + i) * CHUNK_DAYS on; null if unused.
+    private int[][] totals = new int[0][];
+    private int[][] dones = new int[0][];
+    private long firstChunk;
+    private int allocatedChunks;
+    private boolean ready;
+    private boolean loading;
+    private final Set<Long> setWhileLoading = new HashSet<>();
+
+    public DayStatusIndex() {
+        this(true);
+    }
+
+    @Autowired
+    public DayStatusIndex(@Value("${todoapp.day-index.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // Reads fall back to the database until the first load is done, and for good when disabled.
+    public boolean isReady() {
+        long stamp = lock.readLock();
+        try {
+            return ready;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int total(LocalDate date) {
+        long stamp = lock.readLock();
+        try {
+            int[] chunk = chunkOf(totals, date.toEpochDay());
+            return chunk == null ? 0 : chunk[offsetOf(date.toEpochDay())];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public DayStatus status(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        long stamp = lock.readLock();
+        try {
+            int[] chunk = chunkOf(totals, epochDay);
+            if (chunk == null) {
+                return DayStatus.NONE;
+            }
+            return DayStatus.of(chunk[offsetOf(epochDay)], chunkOf(dones, epochDay)[offsetOf(epochDay)]);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Calls back for every day in [from, to] that has todos, in date order, under the read lock.
+    public void forEachDay(LocalDate from, LocalDate to, DayCounts action) {
+        forEachDay(from.toEpochDay(), to.toEpochDay(), action);
+    }
+
+    public void forEachDay(DayCounts action) {
+        forEachDay(Long.MIN_VALUE, Long.MAX_VALUE, action);
+    }
+
+    // Fills a range with the counts of its days.
+    void copyTo(DayStatusRange range) {
+        long from = range.getFrom().toEpochDay();
+        forEachDay(from, range.getTo().toEpochDay(), (epochDay, total, done) -> range.setAt((int) (epochDay - from), total, done));
+    }
+
+    public int allocatedChunks() {
+        long stamp = lock.readLock();
+        try {
+            return allocatedChunks;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long memoryBytes() {
+        return (long) allocatedChunks() * CHUNK_DAYS * 2 * Integer.BYTES;
+    }
+
+    // The committed counts of a day. Days set while a load runs keep this value over the snapshot's.
+    void set(LocalDate date, int total, int done) {
+        if (!enabled) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if (loading) {
+                setWhileLoading.add(date.toEpochDay());
+            }
+            store(date.toEpochDay(), total, done);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Everything at once, e.g. after the summaries were rebuilt.
+    void replaceAll(Map<LocalDate, int[]> counts) {
+        if (!enabled) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            clear();
+            counts.forEach((date, count) -> store(date.toEpochDay(), count[0], count[1]));
+            ready = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Bulk load from a database snapshot (see DayStatusIndexLoader).
+    void beginLoad() {
+        long stamp = lock.writeLock();
+        try {
+            loading = true;
+            setWhileLoading.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void load(LocalDate date, int total, int done) {
+        long stamp = lock.writeLock();
+        try {
+            long epochDay = date.toEpochDay();
+            if (!setWhileLoading.contains(epochDay)) {
+                store(epochDay, total, done);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void endLoad(boolean complete) {
+        long stamp = lock.writeLock();
+        try {
+            loading = false;
+            setWhileLoading.clear();
+            ready = ready || complete;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void forEachDay(long fromDay, long toDay, DayCounts action) {
+        long stamp = lock.readLock();
+        try {
+            for (int index = 0; index < totals.length; index++) {
+                int[] chunkTotals = totals[index];
+                if (chunkTotals == null) {
+                    continue;
+                }
+                int[] chunkDones = dones[index];
+                long chunkStart = (firstChunk + index) * CHUNK_DAYS;
+                long chunkEnd = chunkStart + CHUNK_DAYS - 1;
+                if (fromDay > chunkEnd || toDay < chunkStart) {
+                    continue;
+                }
+                // Compared before subtracting, so open ranges (Long.MIN_VALUE/MAX_VALUE) cannot overflow.
+                int fromOffset = fromDay <= chunkStart ? 0 : (int) (fromDay - chunkStart);
+                int toOffset = toDay >= chunkEnd ? CHUNK_DAYS - 1 : (int) (toDay - chunkStart);
+                for (int offset = fromOffset; offset <= toOffset; offset++) {
+                    if (chunkTotals[offset] != 0 || chunkDones[offset] != 0) {
+                        action.accept(chunkStart + offset, chunkTotals[offset], chunkDones[offset]);
+                    }
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void store(long epochDay, int total, int done) {
+        if (total == 0 && done == 0 && chunkOf(totals, epochDay) == null) {
+            return;
+        }
+        int index = ensureChunk(Math.floorDiv(epochDay, CHUNK_DAYS));
+        int offset = offsetOf(epochDay);
+        totals[index][offset] = total;
+        dones[index][offset] = done;
+    }
+
+    // Grows the chunk table towards the chunk if needed; returns the chunk's index in it.
+    private int ensureChunk(long chunk) {
+        if (totals.length == 0) {
+            firstChunk = chunk;
+        }
+        if (chunk < firstChunk) {
+            int shift = Math.toIntExact(firstChunk - chunk);
+            totals = shifted(totals, shift);
+            dones = shifted(dones, shift);
+            firstChunk = chunk;
+        }
+        int index = Math.toIntExact(chunk - firstChunk);
+        if (index >= totals.length) {
+            int length = Math.max(index + 1, totals.length * 2);
+            totals = Arrays.copyOf(totals, length);
+            dones = Arrays.copyOf(dones, length);
+        }
+        if (totals[index] == null) {
+            totals[index] = new int[CHUNK_DAYS];
+            dones[index] = new int[CHUNK_DAYS];
+            allocatedChunks++;
+        }
+        return index;
+    }
+
+    private static int[][] shifted(int[][] table, int shift) {
+        int[][] grown = new int[table.length + shift][];
+        System.arraycopy(table, 0, grown, shift, table.length);
+        return grown;
+    }
+
+    private int[] chunkOf(int[][] table, long epochDay) {
+        long index = Math.floorDiv(epochDay, CHUNK_DAYS) - firstChunk;
+        return index >= 0 && index < table.length ? table[(int) index] : null;
+    }
+
+    private static int offsetOf(long epochDay) {
+        return (int) Math.floorMod(epochDay, CHUNK_DAYS);
+    }
+
+    private void clear() {
+        totals = new int[0][];
+        dones = new int[0][];
+        firstChunk = 0;
+        allocatedChunks = 0;
+    }
+}
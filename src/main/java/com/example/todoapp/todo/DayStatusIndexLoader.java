@@ -0,0 +1,83 @@
+package com.example.todoapp.todo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Fills DayStatusIndex from todo_day_summary on a background thread once the application is up,
+// and offers its consistency check over JMX.
+@Component
+@ConditionalOnProperty(prefix = "todoapp.day-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ManagedResource(objectName = "todoapp:type=DayStatusIndex", description = "In-memory day status read model")
+public class DayStatusIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(DayStatusIndexLoader.class);
+
+    private final DayStatusIndex dayIndex;
+    private final DaySummaryRepository daySummaryRepository;
+    private final TodoService todoService;
+    private final TransactionTemplate transactionTemplate;
+
+    public DayStatusIndexLoader(DayStatusIndex dayIndex,
+                                DaySummaryRepository daySummaryRepository,
+                                TodoService todoService,
+                                PlatformTransactionManager transactionManager) {
+        this.dayIndex = dayIndex;
+        this.daySummaryRepository = daySummaryRepository;
+        this.todoService = todoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofVirtual().name("day-index-loader").start(this::load);
+    }
+
+    synchronized void load() {
+        long started = System.nanoTime();
+        boolean complete = false;
+        dayIndex.beginLoad();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (DaySummary summary : daySummaryRepository.findAll()) {
+                    dayIndex.load(summary.getDate(), summary.getTotalCount(), summary.getDoneCount());
+                }
+            });
+            complete = true;
+            log.info("Loaded day statuses into {} chunks ({} KB) in {} ms", dayIndex.allocatedChunks(),
+                    dayIndex.memoryBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to load the day status index, reading day summaries from the database", ex);
+        } finally {
+            dayIndex.endLoad(complete);
+        }
+    }
+
+    @ManagedAttribute(description = "Whether reads are served from memory")
+    public boolean isReady() {
+        return dayIndex.isReady();
+    }
+
+    @ManagedAttribute(description = "Memory held by the count arrays, in bytes")
+    public long getMemoryBytes() {
+        return dayIndex.memoryBytes();
+    }
+
+    @ManagedOperation(description = "Compare the index with the todo tables; returns the days that differ")
+    public String verify() {
+        List<LocalDate> mismatched = todoService.verifyDayStatusIndex();
+        return mismatched.isEmpty() ? "consistent" : mismatched.size() + " days differ: " + mismatched;
+    }
+}
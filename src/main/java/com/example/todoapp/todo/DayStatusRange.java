@@ -0,0 +1,85 @@
+package com.example.todoapp.todo;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// Todo counts for every day of a date range, kept in two int arrays indexed by days since `from`.
+// A year is two 366-element arrays instead of a map entry per day.
+public final class DayStatusRange {
+
+    private final LocalDate from;
+    private final int[] totalCounts;
+    private final int[] doneCounts;
+
+    DayStatusRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range ends before it starts: " + from + " > " + to);
+        }
+        int days = Math.toIntExact(ChronoUnit.DAYS.between(from, to) + 1);
+        this.from = from;
+        this.totalCounts = new int[days];
+        this.doneCounts = new int[days];
+    }
+
+    void set(LocalDate date, int totalCount, int doneCount) {
+        int index = indexOf(date);
+        totalCounts[index] = totalCount;
+        doneCounts[index] = doneCount;
+    }
+
+    void setAt(int index, int totalCount, int doneCount) {
+        totalCounts[index] = totalCount;
+        doneCounts[index] = doneCount;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return from.plusDays(totalCounts.length - 1);
+    }
+
+    public int size() {
+        return totalCounts.length;
+    }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(from) && !date.isAfter(getTo());
+    }
+
+    public LocalDate dateAt(int index) {
+        return from.plusDays(index);
+    }
+
+    public int indexOf(LocalDate date) {
+        if (!contains(date)) {
+            throw new IllegalArgumentException("Date outside " + from + ".." + getTo() + ": " + date);
+        }
+        return (int) ChronoUnit.DAYS.between(from, date);
+    }
+
+    public int totalAt(int index) {
+        return totalCounts[index];
+    }
+
+    public int doneAt(int index) {
+        return doneCounts[index];
+    }
+
+    public DayStatus statusAt(int index) {
+        return DayStatus.of(totalCounts[index], doneCounts[index]);
+    }
+
+    public DayStatus getStatus(LocalDate date) {
+        return contains(date) ? statusAt(indexOf(date)) : DayStatus.NONE;
+    }
+
+    public int maxTotal() {
+        int max = 0;
+        for (int total : totalCounts) {
+            max = Math.max(max, total);
+        }
+        return max;
+    }
+}
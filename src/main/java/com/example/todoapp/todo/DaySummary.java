@@ -0,0 +1,83 @@
+package com.example.todoapp.todo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+
+// Denormalized per-day counts, kept in step with the todo table by TodoService.
+@Entity
+@Table(name = "todo_day_summary")
+public class DaySummary implements Persistable<LocalDate> {
+
+    @Id
+    @Column(name = "todo_date")
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private int totalCount;
+
+    @Column(nullable = false)
+    private int doneCount;
+
+    // Counts are adjusted read-modify-write; two instances adjusting the same day must not both win.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected DaySummary() {
+    }
+
+    public DaySummary(LocalDate date, int totalCount, int doneCount) {
+        this.date = date;
+        this.totalCount = totalCount;
+        this.doneCount = doneCount;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    void adjust(int total, int done) {
+        this.totalCount += total;
+        this.doneCount += done;
+    }
+
+    @Override
+    public LocalDate getId() {
+        return date;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getDoneCount() {
+        return doneCount;
+    }
+
+    public DayStatus getStatus() {
+        return DayStatus.of(totalCount, doneCount);
+    }
+}
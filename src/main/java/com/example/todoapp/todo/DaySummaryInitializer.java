@@ -0,0 +1,50 @@
+package com.example.todoapp.todo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Backfills todo_day_summary for databases written before the table existed.
+@Component
+public class DaySummaryInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DaySummaryInitializer.class);
+
+    private final TodoService todoService;
+    private final TodoRepository todoRepository;
+    private final DaySummaryRepository daySummaryRepository;
+    private final boolean verifyOnStartup;
+
+    public DaySummaryInitializer(TodoService todoService,
+                                 TodoRepository todoRepository,
+                                 DaySummaryRepository daySummaryRepository,
+                                 @Value("${todoapp.day-summary.verify-on-startup:false}") boolean verifyOnStartup) {
+        this.todoService = todoService;
+        this.todoRepository = todoRepository;
+        this.daySummaryRepository = daySummaryRepository;
+        this.verifyOnStartup = verifyOnStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (daySummaryRepository.count() == 0 && todoRepository.count() > 0) {
+            int days = todoService.rebuildDaySummaries();
+            log.info("Built todo_day_summary for {} days", days);
+            return;
+        }
+
+        if (verifyOnStartup) {
+            List<LocalDate> mismatched = todoService.verifyDaySummaries();
+            if (!mismatched.isEmpty()) {
+                log.warn("todo_day_summary disagrees with todo on {} days, rebuilding", mismatched.size());
+                todoService.rebuildDaySummaries();
+            }
+        }
+    }
+}
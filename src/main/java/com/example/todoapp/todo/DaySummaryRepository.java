@@ -0,0 +1,20 @@
+package com.example.todoapp.todo;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DaySummaryRepository extends JpaRepository<DaySummary, LocalDate> {
+
+    // The calendar's and heatmap's reads while DayStatusIndex is not serving them; query-cached with
+    // todoapp.cache.enabled (see TodoCacheConfiguration).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TodoCacheConfiguration.DAY_SUMMARY_REGION)
+    })
+    List<DaySummary> findByDateBetween(LocalDate start, LocalDate end);
+}
@@ -0,0 +1,82 @@
+package com.example.todoapp.todo;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+// Immutable copy of a RecurrenceRule that the expansion cache can share between threads.
+// An occurrence shows up in lists as an open todo whose id is the negated rule id: it is unique
+// within a day and never collides with a stored todo.
+public record Recurrence(long id, String title, String content, RecurrenceRule.Frequency frequency, int interval,
+                         LocalDate startDate, LocalDate endDate, Instant createdAt) {
+
+    public static boolean isOccurrenceId(Long id) {
+        return id != null && id < 0;
+    }
+
+    static long ruleIdOf(Long occurrenceId) {
+        if (!isOccurrenceId(occurrenceId)) {
+            throw new IllegalArgumentException("Not an occurrence: " + occurrenceId);
+        }
+        return -occurrenceId;
+    }
+
+    public long occurrenceId() {
+        return -id;
+    }
+
+    // Dates in [from, to] this rule falls on, in order.
+    public List<LocalDate> datesBetween(LocalDate from, LocalDate to) {
+        LocalDate last = endDate != null && endDate.isBefore(to) ? endDate : to;
+        LocalDate first = from.isAfter(startDate) ? from : startDate;
+        List<LocalDate> dates = new ArrayList<>();
+        if (first.isAfter(last)) {
+            return dates;
+        }
+        switch (frequency) {
+            case DAILY, WEEKLY -> {
+                long step = frequency == RecurrenceRule.Frequency.WEEKLY ? 7L * interval : interval;
+                long skipped = ChronoUnit.DAYS.between(startDate, first);
+                LocalDate date = startDate.plusDays((skipped + step - 1) / step * step);
+                for (; !date.isAfter(last); date = date.plusDays(step)) {
+                    dates.add(date);
+                }
+            }
+            case MONTHLY -> {
+                YearMonth startMonth = YearMonth.from(startDate);
+                long skipped = ChronoUnit.MONTHS.between(startMonth, YearMonth.from(first));
+                YearMonth month = startMonth.plusMonths((skipped + interval - 1) / interval * interval);
+                int day = startDate.getDayOfMonth();
+                for (; !month.atDay(1).isAfter(last); month = month.plusMonths(interval)) {
+                    if (month.isValidDay(day)) {
+                        LocalDate date = month.atDay(day);
+                        if (!date.isBefore(first) && !date.isAfter(last)) {
+                            dates.add(date);
+                        }
+                    }
+                }
+            }
+        }
+        return dates;
+    }
+
+    public boolean occursOn(LocalDate date) {
+        return !datesBetween(date, date).isEmpty();
+    }
+
+    boolean overlaps(LocalDate from, LocalDate to) {
+        return !startDate.isAfter(to) && (endDate == null || !endDate.isBefore(from));
+    }
+
+    // Not managed and never saved as is; saving an occurrence stores a new todo (TodoService.saveOccurrence).
+    Todo toTodo(LocalDate date) {
+        return Todo.occurrence(occurrenceId(), date, title, content, createdAt);
+    }
+
+    TodoListItem toListItem() {
+        return new TodoListItem(occurrenceId(), title, false, createdAt);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.todoapp.todo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Generates the occurrences of all recurrence rules for a date range and caches the result per range,
+// so going back and forth between months costs no query and no date math. Rules are kept in memory;
+// overrides (saved or skipped occurrences) are read once per range. TodoService reports commits that
+// change rules or overrides. Thread-safe; reads run on several threads.
+@Component
+public class RecurrenceExpander {
+
+    private record Range(LocalDate from, LocalDate to) {
+    }
+
+    private record Key(long recurrenceId, LocalDate date) {
+    }
+
+    private final RecurrenceRuleRepository ruleRepository;
+    private final RecurrenceOverrideRepository overrideRepository;
+    private final Map<Range, Map<LocalDate, List<Recurrence>>> expansions;
+
+    // Guarded by this. Bumped on every change, so a result computed from older data is not cached.
+    private long generation;
+    private List<Recurrence> rules;
+
+    public RecurrenceExpander(RecurrenceRuleRepository ruleRepository,
+                              RecurrenceOverrideRepository overrideRepository,
+                              @Value("${todoapp.recurrence.cached-ranges:24}") int cachedRanges) {
+        this.ruleRepository = ruleRepository;
+        this.overrideRepository = overrideRepository;
+        this.expansions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Range, Map<LocalDate, List<Recurrence>>> eldest) {
+                return size() > cachedRanges;
+            }
+        };
+    }
+
+    // Occurrences per day in [from, to], in date order; days without any are left out.
+    public Map<LocalDate, List<Recurrence>> expand(LocalDate from, LocalDate to) {
+        Range range = new Range(from, to);
+        long startedAt;
+        synchronized (this) {
+            Map<LocalDate, List<Recurrence>> cached = expansions.get(range);
+            if (cached != null) {
+                return cached;
+            }
+            startedAt = generation;
+        }
+        Map<LocalDate, List<Recurrence>> expanded = compute(from, to);
+        synchronized (this) {
+            if (generation == startedAt) {
+                expansions.put(range, expanded);
+            }
+        }
+        return expanded;
+    }
+
+    // Occurrences still generated on one day. Not cached: TodoService calls it inside a write
+    // transaction, where the overrides it just wrote must count. Queries only if a rule falls on the day.
+    int countOn(LocalDate date) {
+        List<Long> due = new ArrayList<>();
+        for (Recurrence rule : rules()) {
+            if (rule.occursOn(date)) {
+                due.add(rule.id());
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+        due.removeAll(overrideRepository.findRecurrenceIdsByDate(date));
+        return due.size();
+    }
+
+    synchronized void rulesChanged() {
+        generation++;
+        rules = null;
+        expansions.clear();
+    }
+
+    synchronized void occurrenceChanged(LocalDate date) {
+        generation++;
+        expansions.keySet().removeIf(range -> !date.isBefore(range.from()) && !date.isAfter(range.to()));
+    }
+
+    private Map<LocalDate, List<Recurrence>> compute(LocalDate from, LocalDate to) {
+        Map<LocalDate, List<Recurrence>> byDate = new TreeMap<>();
+        for (Recurrence rule : rules()) {
+            if (!rule.overlaps(from, to)) {
+                continue;
+            }
+            for (LocalDate date : rule.datesBetween(from, to)) {
+                byDate.computeIfAbsent(date, d -> new ArrayList<>()).add(rule);
+            }
+        }
+        if (byDate.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<Key> overridden = new HashSet<>();
+        for (RecurrenceOverride override : overrideRepository.findByOccurrenceDateBetween(from, to)) {
+            overridden.add(new Key(override.getRecurrenceId(), override.getOccurrenceDate()));
+        }
+        Map<LocalDate, List<Recurrence>> result = new LinkedHashMap<>();
+        byDate.forEach((date, due) -> {
+            List<Recurrence> remaining = due.stream()
+                    .filter(rule -> !overridden.contains(new Key(rule.id(), date)))
+                    .toList();
+            if (!remaining.isEmpty()) {
+                result.put(date, remaining);
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
+    private List<Recurrence> rules() {
+        long startedAt;
+        synchronized (this) {
+            if (rules != null) {
+                return rules;
+            }
+            startedAt = generation;
+        }
+        List<Recurrence> loaded = ruleRepository.findAll().stream().map(RecurrenceRule::toRecurrence).toList();
+        synchronized (this) {
+            if (generation == startedAt) {
+                rules = loaded;
+            }
+        }
+        return loaded;
+    }
+}
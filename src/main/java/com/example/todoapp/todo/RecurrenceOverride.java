@@ -0,0 +1,62 @@
+package com.example.todoapp.todo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.LocalDate;
+
+// One occurrence of a rule that is no longer generated: it was saved as todoId (completed or edited),
+// or skipped when todoId is null. Kept apart from the todo table so archiving and deleting the todo
+// do not bring the occurrence back.
+@Entity
+@Table(
+        name = "todo_recurrence_override",
+        uniqueConstraints = @UniqueConstraint(name = "uk_recurrence_override",
+                columnNames = {"recurrence_id", "occurrence_date"}),
+        indexes = @Index(name = "idx_recurrence_override_date", columnList = "occurrence_date")
+)
+public class RecurrenceOverride {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_recurrence_override_seq")
+    @SequenceGenerator(name = "todo_recurrence_override_seq", sequenceName = "todo_recurrence_override_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "recurrence_id", nullable = false)
+    private long recurrenceId;
+
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    protected RecurrenceOverride() {
+    }
+
+    RecurrenceOverride(long recurrenceId, LocalDate occurrenceDate, Long todoId) {
+        this.recurrenceId = recurrenceId;
+        this.occurrenceDate = occurrenceDate;
+        this.todoId = todoId;
+    }
+
+    public long getRecurrenceId() {
+        return recurrenceId;
+    }
+
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+
+    public Long getTodoId() {
+        return todoId;
+    }
+}
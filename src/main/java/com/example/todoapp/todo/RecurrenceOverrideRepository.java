@@ -0,0 +1,23 @@
+package com.example.todoapp.todo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RecurrenceOverrideRepository extends JpaRepository<RecurrenceOverride, Long> {
+
+    List<RecurrenceOverride> findByOccurrenceDateBetween(LocalDate start, LocalDate end);
+
+    @Query("select o.recurrenceId from RecurrenceOverride o where o.occurrenceDate = :date")
+    List<Long> findRecurrenceIdsByDate(@Param("date") LocalDate date);
+
+    boolean existsByRecurrenceIdAndOccurrenceDate(long recurrenceId, LocalDate occurrenceDate);
+
+    @Modifying
+    @Query("delete from RecurrenceOverride o where o.recurrenceId = :recurrenceId")
+    int deleteByRecurrence(@Param("recurrenceId") long recurrenceId);
+}
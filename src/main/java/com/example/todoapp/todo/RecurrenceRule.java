@@ -0,0 +1,125 @@
+package com.example.todoapp.todo;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// A todo that repeats every `interval` days, weeks or months from startDate until endDate (inclusive,
+// open-ended when null). Occurrences are not stored; see Recurrence and RecurrenceExpander.
+@Entity
+@Table(name = "todo_recurrence")
+public class RecurrenceRule {
+
+    public enum Frequency {
+        DAILY,
+        WEEKLY,
+        // On the start date's day of the month; months without that day are skipped.
+        MONTHLY
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_recurrence_seq")
+    @SequenceGenerator(name = "todo_recurrence_seq", sequenceName = "todo_recurrence_seq", allocationSize = 1)
+    private Long id;
+
+    @NotBlank
+    @Size(max = 100)
+    @Column(nullable = false, length = 100)
+    private String title;
+
+    @NotBlank
+    @Size(max = 200)
+    @Column(nullable = false, length = 200)
+    private String content;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Frequency frequency;
+
+    @Min(1)
+    @Column(name = "repeat_interval", nullable = false)
+    private int interval;
+
+    @NotNull
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    protected RecurrenceRule() {
+    }
+
+    public RecurrenceRule(LocalDate startDate, String title, String content, Frequency frequency, int interval) {
+        this.startDate = startDate;
+        this.title = title;
+        this.content = content;
+        this.frequency = frequency;
+        this.interval = interval;
+    }
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    Recurrence toRecurrence() {
+        return new Recurrence(id, title, content, frequency, interval, startDate, endDate, createdAt);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+}
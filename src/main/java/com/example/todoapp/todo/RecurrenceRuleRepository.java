@@ -0,0 +1,6 @@
+package com.example.todoapp.todo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RecurrenceRuleRepository extends JpaRepository<RecurrenceRule, Long> {
+}
@@ -0,0 +1,19 @@
+package com.example.todoapp.todo;
+
+import java.util.Set;
+
+// Which tags the views show: todos with any of tagIds, or with all of them when matchAll is set.
+// An empty filter shows everything, generated occurrences included; a non-empty one hides those,
+// as they carry no tags.
+public record TagFilter(Set<Long> tagIds, boolean matchAll) {
+
+    public static final TagFilter NONE = new TagFilter(Set.of(), false);
+
+    public TagFilter {
+        tagIds = Set.copyOf(tagIds);
+    }
+
+    public boolean isEmpty() {
+        return tagIds.isEmpty();
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.todoapp.todo;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.StampedLock;
+
+// Tag filters in memory. Todo ids (of both tables) are kept in Roaring bitmaps: one per tag, one per
+// day and one of the done todos. A filter is an AND or OR of its tags' bitmaps; a day's counts under
+// it are two intersection cardinalities, so a month of statuses costs about 60 bitmap operations and
+// no query. TodoService hands it committed changes as a TodoChangeListener; TagIndexLoader fills it.
+// Generated occurrences have no tags and are not in here. Off (todoapp.tag-index.enabled) in the shared
+// profile, where TodoService answers filters from the database instead.
+@Component
+public class TagIndex implements TodoChangeListener {
+
+    private final StampedLock lock = new StampedLock();
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+    private final boolean enabled;
+
+    // Guarded by lock.
+    private final Map<Long, RoaringBitmap> byTag = new HashMap<>();
+    private final NavigableMap<Long, RoaringBitmap> byDay = new TreeMap<>();
+    private final RoaringBitmap done = new RoaringBitmap();
+    private boolean loading;
+    private final RoaringBitmap changedWhileLoading = new RoaringBitmap();
+    private final RoaringBitmap taggedWhileLoading = new RoaringBitmap();
+
+    public TagIndex() {
+        this(true);
+    }
+
+    @Autowired
+    public TagIndex(@Value("${todoapp.tag-index.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return loaded.isDone() && !loaded.isCompletedExceptionally();
+    }
+
+    // Filters are only answered from memory; the first reads after startup wait for the load.
+    void awaitReady(Duration timeout) {
+        try {
+            loaded.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the tag index", ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("The tag index is not available", ex);
+        }
+    }
+
+    public int count(LocalDate date, TagFilter filter) {
+        long stamp = lock.readLock();
+        try {
+            RoaringBitmap day = byDay.get(date.toEpochDay());
+            return day == null ? 0 : RoaringBitmap.andCardinality(day, matching(filter));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Ids of the day's todos that match, ascending.
+    public List<Long> idsOn(LocalDate date, TagFilter filter) {
+        long stamp = lock.readLock();
+        try {
+            RoaringBitmap day = byDay.get(date.toEpochDay());
+            if (day == null) {
+                return List.of();
+            }
+            RoaringBitmap ids = RoaringBitmap.and(day, matching(filter));
+            List<Long> result = new ArrayList<>(ids.getCardinality());
+            ids.forEach((int id) -> result.add((long) id));
+            return result;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Calls back for every day in [from, to] with matching todos, in date order, under the read lock.
+    public void forEachDay(LocalDate from, LocalDate to, TagFilter filter, DayStatusIndex.DayCounts action) {
+        long stamp = lock.readLock();
+        try {
+            RoaringBitmap matching = matching(filter);
+            RoaringBitmap matchingDone = RoaringBitmap.and(matching, done);
+            for (Map.Entry<Long, RoaringBitmap> day
+                    : byDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).entrySet()) {
+                int total = RoaringBitmap.andCardinality(day.getValue(), matching);
+                if (total > 0) {
+                    action.accept(day.getKey(), total, RoaringBitmap.andCardinality(day.getValue(), matchingDone));
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int tagCount() {
+        long stamp = lock.readLock();
+        try {
+            return byTag.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // Serialized size of the bitmaps, close to what they hold on the heap.
+    public long memoryBytes() {
+        long stamp = lock.readLock();
+        try {
+            long bytes = done.getLongSizeInBytes();
+            for (RoaringBitmap tagged : byTag.values()) {
+                bytes += tagged.getLongSizeInBytes();
+            }
+            for (RoaringBitmap day : byDay.values()) {
+                bytes += day.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void todosChanged(List<TodoChange> changes) {
+        long stamp = lock.writeLock();
+        try {
+            for (TodoChange change : changes) {
+                if (Recurrence.isOccurrenceId(change.id())) {
+                    continue;
+                }
+                int id = toIndex(change.id());
+                if (loading) {
+                    changedWhileLoading.add(id);
+                }
+                if (change.oldDate() != null) {
+                    removeFromDay(change.oldDate().toEpochDay(), id);
+                }
+                if (change.after() != null) {
+                    byDay.computeIfAbsent(change.newDate().toEpochDay(), day -> new RoaringBitmap()).add(id);
+                    setDone(id, change.after().done());
+                } else {
+                    done.remove(id);
+                    untag(id);
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void tagsChanged(Map<Long, Set<Long>> tagIdsByTodo) {
+        long stamp = lock.writeLock();
+        try {
+            tagIdsByTodo.forEach((todoId, tagIds) -> {
+                int id = toIndex(todoId);
+                if (loading) {
+                    taggedWhileLoading.add(id);
+                }
+                untag(id);
+                for (Long tagId : tagIds) {
+                    byTag.computeIfAbsent(tagId, tag -> new RoaringBitmap()).add(id);
+                }
+            });
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Bulk load from a database snapshot (see TagIndexLoader). Todos changed while it runs keep their
+    // live state over the snapshot's.
+    void beginLoad() {
+        long stamp = lock.writeLock();
+        try {
+            loading = true;
+            changedWhileLoading.clear();
+            taggedWhileLoading.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void loadTodo(long todoId, LocalDate date, boolean isDone) {
+        int id = toIndex(todoId);
+        long stamp = lock.writeLock();
+        try {
+            if (!changedWhileLoading.contains(id)) {
+                byDay.computeIfAbsent(date.toEpochDay(), day -> new RoaringBitmap()).add(id);
+                setDone(id, isDone);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    void loadLink(long todoId, long tagId) {
+        int id = toIndex(todoId);
+        long stamp = lock.writeLock();
+        try {
+            if (!taggedWhileLoading.contains(id)) {
+                byTag.computeIfAbsent(tagId, tag -> new RoaringBitmap()).add(id);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Ids come in runs (todos of a day are mostly created together), which run containers store compactly.
+    void endLoad(boolean complete) {
+        long stamp = lock.writeLock();
+        try {
+            loading = false;
+            changedWhileLoading.clear();
+            taggedWhileLoading.clear();
+            if (complete) {
+                done.runOptimize();
+                byTag.values().forEach(RoaringBitmap::runOptimize);
+                byDay.values().forEach(RoaringBitmap::runOptimize);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (complete) {
+            loaded.complete(null);
+        } else {
+            loaded.completeExceptionally(new IllegalStateException("Loading the tag index failed"));
+        }
+    }
+
+    private RoaringBitmap matching(TagFilter filter) {
+        List<RoaringBitmap> tagged = new ArrayList<>(filter.tagIds().size());
+        for (Long tagId : filter.tagIds()) {
+            RoaringBitmap members = byTag.get(tagId);
+            if (members == null && filter.matchAll()) {
+                return new RoaringBitmap();
+            }
+            if (members != null) {
+                tagged.add(members);
+            }
+        }
+        if (tagged.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        RoaringBitmap[] bitmaps = tagged.toArray(new RoaringBitmap[0]);
+        return filter.matchAll() ? FastAggregation.and(bitmaps) : FastAggregation.or(bitmaps);
+    }
+
+    private void removeFromDay(long epochDay, int id) {
+        RoaringBitmap day = byDay.get(epochDay);
+        if (day != null) {
+            day.remove(id);
+            if (day.isEmpty()) {
+                byDay.remove(epochDay);
+            }
+        }
+    }
+
+    private void setDone(int id, boolean isDone) {
+        if (isDone) {
+            done.add(id);
+        } else {
+            done.remove(id);
+        }
+    }
+
+    // A tag has one bitmap however few todos it has, so removing a todo visits every tag.
+    private void untag(int id) {
+        for (RoaringBitmap tagged : byTag.values()) {
+            tagged.remove(id);
+        }
+    }
+
+    // Ids come from a sequence starting at 1; 32-bit bitmaps cover the first two billion of them.
+    private static int toIndex(long todoId) {
+        return Math.toIntExact(todoId);
+    }
+}
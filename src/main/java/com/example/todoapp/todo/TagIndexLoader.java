@@ -0,0 +1,103 @@
+package com.example.todoapp.todo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Fills TagIndex from the todo, archive and todo_tag tables on a background thread once the
+// application is up. Only ids, days and done flags are read.
+@Component
+@ConditionalOnProperty(prefix = "todoapp.tag-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+@ManagedResource(objectName = "todoapp:type=TagIndex", description = "In-memory tag filter bitmaps")
+public class TagIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(TagIndexLoader.class);
+
+    private final TagIndex tagIndex;
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archiveRepository;
+    private final TagRepository tagRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TagIndexLoader(TagIndex tagIndex,
+                          TodoRepository todoRepository,
+                          ArchivedTodoRepository archiveRepository,
+                          TagRepository tagRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.tagIndex = tagIndex;
+        this.todoRepository = todoRepository;
+        this.archiveRepository = archiveRepository;
+        this.tagRepository = tagRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofVirtual().name("tag-index-loader").start(this::load);
+    }
+
+    synchronized void load() {
+        if (tagIndex.isReady()) {
+            return;
+        }
+        long started = System.nanoTime();
+        boolean complete = false;
+        tagIndex.beginLoad();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                loadTodos(todoRepository.streamMemberships());
+                loadTodos(archiveRepository.streamMemberships());
+                try (Stream<Object[]> links = tagRepository.streamLinks()) {
+                    Iterator<Object[]> iterator = links.iterator();
+                    while (iterator.hasNext()) {
+                        Object[] link = iterator.next();
+                        tagIndex.loadLink(((Number) link[0]).longValue(), ((Number) link[1]).longValue());
+                    }
+                }
+            });
+            complete = true;
+            log.info("Loaded {} tags into the tag index ({} KB) in {} ms", tagIndex.tagCount(),
+                    tagIndex.memoryBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to load the tag index, tag filters are unavailable", ex);
+        } finally {
+            tagIndex.endLoad(complete);
+        }
+    }
+
+    private void loadTodos(Stream<TodoMembership> memberships) {
+        try (memberships) {
+            Iterator<TodoMembership> iterator = memberships.iterator();
+            while (iterator.hasNext()) {
+                TodoMembership todo = iterator.next();
+                tagIndex.loadTodo(todo.id(), todo.date(), todo.done());
+            }
+        }
+    }
+
+    @ManagedAttribute(description = "Whether tag filters can be answered")
+    public boolean isReady() {
+        return tagIndex.isReady();
+    }
+
+    @ManagedAttribute(description = "Tags that have been given to a todo")
+    public int getTagCount() {
+        return tagIndex.tagCount();
+    }
+
+    @ManagedAttribute(description = "Size of the bitmaps, in bytes")
+    public long getMemoryBytes() {
+        return tagIndex.memoryBytes();
+    }
+}
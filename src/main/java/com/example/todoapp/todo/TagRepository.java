@@ -0,0 +1,73 @@
+package com.example.todoapp.todo;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// todo_tag is read with native queries: archived todos keep their rows there, and Todo only maps those
+// of the todo table.
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    List<Tag> findAllByOrderByNameAsc();
+
+    List<Tag> findByNameIn(Collection<String> names);
+
+    @Query(value = """
+            select tg.* from tag tg
+            join todo_tag tt on tt.tag_id = tg.id
+            where tt.todo_id = :todoId
+            order by tg.name
+            """, nativeQuery = true)
+    List<Tag> findByTodo(@Param("todoId") long todoId);
+
+    // Rows of {todo_id, tag_id}, for TagIndexLoader.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "select todo_id, tag_id from todo_tag", nativeQuery = true)
+    Stream<Object[]> streamLinks();
+
+    // Tag filters without TagIndex: rows of {todo_date, total, done} for the days in [from, to] with
+    // todos (of both tables) that have at least required of tagIds.
+    @Query(value = """
+            select t.todo_date, count(*), sum(case when t.done then 1 else 0 end)
+            from (select id, todo_date, done from todo
+                  union all
+                  select id, todo_date, done from todo_archive) t
+            where t.todo_date between :from and :to
+              and t.id in (select todo_id from todo_tag where tag_id in (:tagIds)
+                           group by todo_id having count(*) >= :required)
+            group by t.todo_date
+            order by t.todo_date
+            """, nativeQuery = true)
+    List<Object[]> countMatchingByDay(@Param("from") LocalDate from,
+                                      @Param("to") LocalDate to,
+                                      @Param("tagIds") Collection<Long> tagIds,
+                                      @Param("required") int required);
+
+    @Query(value = """
+            select t.id
+            from (select id, todo_date from todo
+                  union all
+                  select id, todo_date from todo_archive) t
+            where t.todo_date = :date
+              and t.id in (select todo_id from todo_tag where tag_id in (:tagIds)
+                           group by todo_id having count(*) >= :required)
+            order by t.id
+            """, nativeQuery = true)
+    List<Long> findMatchingIds(@Param("date") LocalDate date,
+                               @Param("tagIds") Collection<Long> tagIds,
+                               @Param("required") int required);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo_tag"))
+    @Query(value = "delete from todo_tag where todo_id in (:todoIds)", nativeQuery = true)
+    int deleteLinks(@Param("todoIds") Collection<Long> todoIds);
+}
@@ -1,32 +1,53 @@
 package com.example.todoapp.todo;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
 @Table(
         name = "todo",
         indexes = {
-                @Index(name = "idx_todo_date", columnList = "todo_date")
+                @Index(name = "idx_todo_date", columnList = "todo_date"),
+                @Index(name = "idx_todo_date_done_created", columnList = "todo_date, done, created_at")
         }
 )
+// Cached by id only with todoapp.cache.enabled (see TodoCacheConfiguration).
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TodoCacheConfiguration.TODO_REGION)
 public class Todo {
 
+    // Pooled sequence ids keep JDBC insert batching on (IDENTITY disables it).
+    static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_seq")
+    @SequenceGenerator(name = "todo_seq", sequenceName = "todo_seq", allocationSize = Todo.ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull
@@ -46,12 +67,29 @@ public class Todo {
     @Column(nullable = false)
     private boolean done;
 
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 
     @Column(nullable = false)
     private Instant updatedAt;
 
+    // Checked on every update, so a write based on a stale read fails instead of overwriting another
+    // instance's change (see the shared profile). The default fills the column in older databases.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    // Lazy and only touched by TodoService.setTags; reads go through TagRepository and TagIndex.
+    // todo_id has no foreign key: archived todos keep their rows, and get them back on restore.
+    @ManyToMany
+    @JoinTable(
+            name = "todo_tag",
+            joinColumns = @JoinColumn(name = "todo_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT)),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = @Index(name = "idx_todo_tag_tag", columnList = "tag_id")
+    )
+    private Set<Tag> tags = new HashSet<>();
+
     protected Todo() {
     }
 
@@ -62,16 +100,42 @@ public class Todo {
         this.done = done;
     }
 
+    // Imported rows keep the timestamps they were exported with.
+    static Todo restored(LocalDate date, String title, String content, boolean done,
+                         Instant createdAt, Instant updatedAt) {
+        Todo todo = new Todo(date, title, content, done);
+        todo.createdAt = createdAt;
+        todo.updatedAt = updatedAt;
+        return todo;
+    }
+
+    // An archived row read back as a todo; it is not managed and is never saved as is.
+    static Todo fromArchive(Long id, LocalDate date, String title, String content, boolean done,
+                            Instant createdAt, Instant updatedAt, long version) {
+        Todo todo = restored(date, title, content, done, createdAt, updatedAt);
+        todo.id = id;
+        todo.version = version;
+        return todo;
+    }
+
+    // A generated occurrence of a recurrence rule (see Recurrence); not managed and never saved as is.
+    static Todo occurrence(Long occurrenceId, LocalDate date, String title, String content, Instant createdAt) {
+        Todo todo = restored(date, title, content, false, createdAt, createdAt);
+        todo.id = occurrenceId;
+        return todo;
+    }
+
+    // Truncated to what the timestamp column stores, so keys taken from unflushed rows still match it.
     @PrePersist
     void onCreate() {
         Instant now = Instant.now();
-        this.createdAt = now;
-        this.updatedAt = now;
+        this.createdAt = (this.createdAt == null ? now : this.createdAt).truncatedTo(ChronoUnit.MICROS);
+        this.updatedAt = (this.updatedAt == null ? now : this.updatedAt).truncatedTo(ChronoUnit.MICROS);
     }
 
     @PreUpdate
     void onUpdate() {
-        this.updatedAt = Instant.now();
+        this.updatedAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     public Long getId() {
@@ -117,4 +181,12 @@ public class Todo {
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    Set<Tag> getTags() {
+        return tags;
+    }
 }
@@ -0,0 +1,78 @@
+package com.example.todoapp.todo;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Moves done todos older than the horizon into todo_archive on a background thread: first a while
+// after startup, then once per interval (see TodoService.archiveDoneBefore).
+@Component
+@ConditionalOnProperty(prefix = "todoapp.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TodoArchiver implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoArchiver.class);
+
+    private final TodoService todoService;
+    private final Period horizon;
+    private final Duration initialDelay;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+
+    public TodoArchiver(TodoService todoService,
+                        @Value("${todoapp.archive.horizon:1y}") Period horizon,
+                        @Value("${todoapp.archive.initial-delay:5m}") Duration initialDelay,
+                        @Value("${todoapp.archive.interval:1d}") Duration interval) {
+        this.todoService = todoService;
+        this.horizon = horizon;
+        this.initialDelay = initialDelay;
+        this.interval = interval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "todo-archiver");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        scheduler.scheduleWithFixedDelay(this::archiveQuietly,
+                initialDelay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    public int archive() {
+        LocalDate before = LocalDate.now().minus(horizon);
+        long started = System.nanoTime();
+        int moved = todoService.archiveDoneBefore(before);
+        if (moved > 0) {
+            log.info("Archived {} done todos dated before {} in {} ms",
+                    moved, before, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        return moved;
+    }
+
+    private void archiveQuietly() {
+        try {
+            archive();
+        } catch (RuntimeException ex) {
+            log.warn("Archiving failed", ex);
+        }
+    }
+}
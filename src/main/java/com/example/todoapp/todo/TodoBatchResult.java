@@ -0,0 +1,7 @@
+package com.example.todoapp.todo;
+
+import java.util.List;
+
+// What TodoService.applyBatch did: the created todos with their ids, and how many were updated and deleted.
+public record TodoBatchResult(List<Todo> created, int updated, int deleted) {
+}
@@ -0,0 +1,75 @@
+package com.example.todoapp.todo;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// Hibernate's second-level cache for Todo and the query cache for the day list pages and day summary
+// ranges, when todoapp.cache.enabled is set. Every region is a bounded Caffeine cache with a time to live.
+// Cached query results are dropped whenever TodoService commits a write to a table they read:
+// Hibernate stamps each written table in the update-timestamps region, which is never evicted.
+// Off in the shared profile, where other instances write without this cache hearing of it.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "todoapp.cache", name = "enabled", havingValue = "true")
+public class TodoCacheConfiguration {
+
+    static final String TODO_REGION = "todo";
+    static final String DAY_LIST_REGION = "todo-day-list";
+    static final String DAY_SUMMARY_REGION = "todo-day-summary";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager todoCacheManager(@Value("${todoapp.cache.todo.max-entries:10000}") long todoMaxEntries,
+                                         @Value("${todoapp.cache.todo.ttl:10m}") Duration todoTtl,
+                                         @Value("${todoapp.cache.queries.max-entries:1000}") long queryMaxEntries,
+                                         @Value("${todoapp.cache.queries.ttl:5m}") Duration queryTtl,
+                                         @Value("${todoapp.cache.statistics:true}") boolean statistics) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager manager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        manager.createCache(TODO_REGION, bounded(todoMaxEntries, todoTtl, statistics));
+        manager.createCache(DAY_LIST_REGION, bounded(queryMaxEntries, queryTtl, statistics));
+        manager.createCache(DAY_SUMMARY_REGION, bounded(queryMaxEntries, queryTtl, statistics));
+        // Built at startup whether or not a query uses it.
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                bounded(queryMaxEntries, queryTtl, statistics));
+        // One entry per table. Evicting one would let stale query results through, so it has no bounds.
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(statistics);
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer todoCacheProperties(CacheManager todoCacheManager,
+                                                             @Value("${todoapp.cache.statistics:true}") boolean statistics) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", todoCacheManager);
+            // The regions above are all there is; anything else is a mapping mistake.
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            if (statistics) {
+                properties.put("hibernate.generate_statistics", true);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxEntries, Duration ttl, boolean statistics) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStatisticsEnabled(statistics);
+        return configuration;
+    }
+}
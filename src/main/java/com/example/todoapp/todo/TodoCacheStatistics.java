@@ -0,0 +1,71 @@
+package com.example.todoapp.todo;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+// Hits and misses of the cache regions in TodoCacheConfiguration, counted by Hibernate while
+// todoapp.cache.statistics is on. Regions nothing has touched yet read as zero.
+@Component
+@ConditionalOnProperty(prefix = "todoapp.cache", name = "enabled", havingValue = "true")
+@ManagedResource(objectName = "todoapp:type=TodoCache", description = "Second-level and query cache hits and misses")
+public class TodoCacheStatistics {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public TodoCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @ManagedAttribute(description = "Todos found in the cache by id")
+    public long getTodoHits() {
+        CacheRegionStatistics region = statistics().getDomainDataRegionStatistics(TodoCacheConfiguration.TODO_REGION);
+        return region == null ? 0 : region.getHitCount();
+    }
+
+    @ManagedAttribute(description = "Todos read from the database by id")
+    public long getTodoMisses() {
+        CacheRegionStatistics region = statistics().getDomainDataRegionStatistics(TodoCacheConfiguration.TODO_REGION);
+        return region == null ? 0 : region.getMissCount();
+    }
+
+    @ManagedAttribute(description = "Day list pages served from the query cache")
+    public long getDayListHits() {
+        CacheRegionStatistics region = statistics().getQueryRegionStatistics(TodoCacheConfiguration.DAY_LIST_REGION);
+        return region == null ? 0 : region.getHitCount();
+    }
+
+    @ManagedAttribute(description = "Day list pages queried again")
+    public long getDayListMisses() {
+        CacheRegionStatistics region = statistics().getQueryRegionStatistics(TodoCacheConfiguration.DAY_LIST_REGION);
+        return region == null ? 0 : region.getMissCount();
+    }
+
+    @ManagedAttribute(description = "Day summary ranges served from the query cache")
+    public long getDaySummaryHits() {
+        CacheRegionStatistics region = statistics().getQueryRegionStatistics(TodoCacheConfiguration.DAY_SUMMARY_REGION);
+        return region == null ? 0 : region.getHitCount();
+    }
+
+    @ManagedAttribute(description = "Day summary ranges queried again")
+    public long getDaySummaryMisses() {
+        CacheRegionStatistics region = statistics().getQueryRegionStatistics(TodoCacheConfiguration.DAY_SUMMARY_REGION);
+        return region == null ? 0 : region.getMissCount();
+    }
+
+    @ManagedOperation(description = "Drop every cached todo and query result")
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
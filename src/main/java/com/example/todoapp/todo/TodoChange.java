@@ -0,0 +1,38 @@
+package com.example.todoapp.todo;
+
+import java.time.LocalDate;
+
+// One todo as changed by a committed transaction. before/after are its list rows and oldDate/newDate
+// its days; the "before" side is null for a created todo, the "after" side for a deleted one.
+public record TodoChange(Kind kind, Long id, LocalDate oldDate, LocalDate newDate,
+                         TodoListItem before, TodoListItem after) {
+
+    public enum Kind {
+        CREATED,
+        // Title or content only: the row stays where it is.
+        UPDATED,
+        // To another day; the done flag may have changed as well.
+        MOVED,
+        DONE_TOGGLED,
+        DELETED
+    }
+
+    static TodoChange created(LocalDate date, TodoListItem after) {
+        return new TodoChange(Kind.CREATED, after.id(), null, date, null, after);
+    }
+
+    static TodoChange updated(LocalDate oldDate, TodoListItem before, LocalDate newDate, TodoListItem after) {
+        Kind kind = !oldDate.equals(newDate) ? Kind.MOVED
+                : before.done() != after.done() ? Kind.DONE_TOGGLED
+                : Kind.UPDATED;
+        return new TodoChange(kind, after.id(), oldDate, newDate, before, after);
+    }
+
+    static TodoChange deleted(LocalDate date, TodoListItem before) {
+        return new TodoChange(Kind.DELETED, before.id(), date, null, before, null);
+    }
+
+    public boolean touches(LocalDate date) {
+        return date.equals(oldDate) || date.equals(newDate);
+    }
+}
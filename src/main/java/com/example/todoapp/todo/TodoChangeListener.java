@@ -0,0 +1,27 @@
+package com.example.todoapp.todo;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Told about each committed transaction by TodoService, once, on the thread that committed it.
+// Implement only what you need.
+public interface TodoChangeListener {
+
+    // The todos the transaction created, changed or deleted, in order.
+    default void todosChanged(List<TodoChange> changes) {
+    }
+
+    // The new status of each day whose total or done count changed.
+    default void daysChanged(Map<LocalDate, DayStatus> statuses) {
+    }
+
+    // Any day may have changed, e.g. after the day summaries were rebuilt.
+    default void allDaysChanged() {
+    }
+
+    // The full set of tag ids of each todo whose tags were set.
+    default void tagsChanged(Map<Long, Set<Long>> tagIdsByTodo) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.todoapp.todo;
+
+// An edit changed a field that was changed differently since the editor loaded the todo.
+public class TodoConflictException extends RuntimeException {
+
+    private final Todo current;
+
+    public TodoConflictException(Todo current) {
+        super("Todo was changed concurrently: " + current.getId());
+        this.current = current;
+    }
+
+    public Todo getCurrent() {
+        return current;
+    }
+}
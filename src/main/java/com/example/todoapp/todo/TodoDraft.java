@@ -0,0 +1,14 @@
+package com.example.todoapp.todo;
+
+import java.time.LocalDate;
+
+public record TodoDraft(LocalDate date, String title, String content, boolean done) {
+
+    public static TodoDraft of(Todo todo) {
+        return new TodoDraft(todo.getDate(), todo.getTitle(), todo.getContent(), todo.isDone());
+    }
+
+    Todo toTodo() {
+        return new Todo(date, title, content, done);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.todoapp.todo;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum TodoFileFormat {
+    NDJSON,
+    CSV;
+
+    public static TodoFileFormat fromFileName(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Unsupported file type: " + file.getFileName());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todoapp.todo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Databases created with IDENTITY ids get a fresh todo_seq starting at 1; move it past the existing ids.
+@Component
+@Order(0)
+public class TodoIdSequenceInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoIdSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TodoIdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        alignWithExistingIds();
+    }
+
+    public void alignWithExistingIds() {
+        List<Long> next = jdbcTemplate.queryForList(
+                "select base_value from information_schema.sequences where sequence_name = 'TODO_SEQ'", Long.class);
+        if (next.isEmpty()) {
+            return;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject(
+                "select max(id) from (select id from todo union all select id from todo_archive) ids", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // The pooled optimizer hands out the block just below each sequence value, so keep a block of headroom.
+        if (next.get(0) - Todo.ID_ALLOCATION_SIZE <= maxId) {
+            long restart = maxId + Todo.ID_ALLOCATION_SIZE + 1;
+            jdbcTemplate.execute("alter sequence todo_seq restart with " + restart);
+            log.info("Moved todo_seq to {} past existing id {}", restart, maxId);
+        }
+    }
+}
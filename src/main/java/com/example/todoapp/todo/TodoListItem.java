@@ -0,0 +1,18 @@
+package com.example.todoapp.todo;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+// What a row of the day list needs. Built by a constructor expression, so it never enters the
+// persistence context and the 200-char content is not read.
+public record TodoListItem(Long id, String title, boolean done, Instant createdAt) {
+
+    // The order of a day's list: open todos first, then by creation, id breaking ties.
+    public static final Comparator<TodoListItem> LIST_ORDER = Comparator.comparing(TodoListItem::done)
+            .thenComparing(TodoListItem::createdAt)
+            .thenComparing(TodoListItem::id);
+
+    public static TodoListItem of(Todo todo) {
+        return new TodoListItem(todo.getId(), todo.getTitle(), todo.isDone(), todo.getCreatedAt());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.todoapp.todo;
+
+import java.time.LocalDate;
+
+// The day and done flag of a todo, which is all TagIndex keeps of it. Read by a constructor expression.
+record TodoMembership(Long id, LocalDate date, boolean done) {
+}
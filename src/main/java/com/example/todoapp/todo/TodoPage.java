@@ -0,0 +1,26 @@
+package com.example.todoapp.todo;
+
+import java.time.Instant;
+import java.util.List;
+
+// One slice of a day's list in getTodosForDate order. `next` is where the following slice starts,
+// or null when this is the last one.
+public record TodoPage(List<TodoListItem> items, Key next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    // Keyset position: the (done, createdAt, id) of the last row of a page.
+    public record Key(boolean done, Instant createdAt, long id) {
+
+        public static Key of(TodoListItem item) {
+            return new Key(item.done(), item.createdAt(), item.id());
+        }
+
+        // Whether the item comes after this position in list order, i.e. on a following page.
+        boolean isBefore(TodoListItem item) {
+            return TodoListItem.LIST_ORDER.compare(new TodoListItem(id, null, done, createdAt), item) < 0;
+        }
+    }
+}
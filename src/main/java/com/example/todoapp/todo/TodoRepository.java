@@ -1,16 +1,112 @@
 package com.example.todoapp.todo;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TodoRepository extends JpaRepository<Todo, Long> {
 
     List<Todo> findByDateOrderByDoneAscCreatedAtAsc(LocalDate date);
 
+    // Keyset pagination over the list order, with id breaking createdAt ties. Rows are read-only projections.
+    // The pages the day list shows are query-cached with todoapp.cache.enabled (see TodoCacheConfiguration).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TodoCacheConfiguration.DAY_LIST_REGION)
+    })
+    @Query("""
+            select new com.example.todoapp.todo.TodoListItem(t.id, t.title, t.done, t.createdAt)
+            from Todo t
+            where t.date = :date
+            order by t.done, t.createdAt, t.id
+            """)
+    List<TodoListItem> findListItemsByDate(@Param("date") LocalDate date, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = TodoCacheConfiguration.DAY_LIST_REGION)
+    })
+    @Query("""
+            select new com.example.todoapp.todo.TodoListItem(t.id, t.title, t.done, t.createdAt)
+            from Todo t
+            where t.date = :date
+              and ((t.done = :done and (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id)))
+                   or (:done = false and t.done = true))
+            order by t.done, t.createdAt, t.id
+            """)
+    List<TodoListItem> findListItemsByDateAfter(@Param("date") LocalDate date,
+                                                @Param("done") boolean done,
+                                                @Param("createdAt") Instant createdAt,
+                                                @Param("id") long id,
+                                                Limit limit);
+
+    // Oldest first, for TodoService.archiveDoneBefore.
+    @Query("select t.id from Todo t where t.done = true and t.date < :before order by t.date, t.id")
+    List<Long> findDoneIdsBefore(@Param("before") LocalDate before, Limit limit);
+
+    // Leaves todo_tag alone, unlike a JPQL delete: archived todos keep their tags. The declared table
+    // keeps Hibernate from dropping every cache region, as it does for native writes it cannot place.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "todo"))
+    @Query(value = "delete from todo where id in (:ids)", nativeQuery = true)
+    int deleteRowsKeepingTags(@Param("ids") Collection<Long> ids);
+
+    // Cursor reads: consume inside a transaction, close the stream and detach rows as they are handled.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Todo t order by t.id")
+    Stream<Todo> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.example.todoapp.todo.TodoMembership(t.id, t.date, t.done) from Todo t")
+    Stream<TodoMembership> streamMemberships();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Todo t where t.date between :start and :end order by t.date, t.done, t.createdAt, t.id")
+    Stream<Todo> streamByDateBetween(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // The rows of a day that a tag filter matched (see TagIndex), in the same keyset order.
+    @Query("""
+            select new com.example.todoapp.todo.TodoListItem(t.id, t.title, t.done, t.createdAt)
+            from Todo t
+            where t.date = :date and t.id in :ids
+            order by t.done, t.createdAt, t.id
+            """)
+    List<TodoListItem> findListItemsByDateAndIds(@Param("date") LocalDate date,
+                                                 @Param("ids") Collection<Long> ids,
+                                                 Limit limit);
+
+    @Query("""
+            select new com.example.todoapp.todo.TodoListItem(t.id, t.title, t.done, t.createdAt)
+            from Todo t
+            where t.date = :date and t.id in :ids
+              and ((t.done = :done and (t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id)))
+                   or (:done = false and t.done = true))
+            order by t.done, t.createdAt, t.id
+            """)
+    List<TodoListItem> findListItemsByDateAndIdsAfter(@Param("date") LocalDate date,
+                                                      @Param("ids") Collection<Long> ids,
+                                                      @Param("done") boolean done,
+                                                      @Param("createdAt") Instant createdAt,
+                                                      @Param("id") long id,
+                                                      Limit limit);
+
     @Query("""
             select t.date as date,
                    count(t) as totalCount,
@@ -20,4 +116,13 @@ public interface TodoRepository extends JpaRepository<Todo, Long> {
             group by t.date
             """)
     List<TodoDaySummary> summarizeByDate(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    @Query("""
+            select t.date as date,
+                   count(t) as totalCount,
+                   sum(case when t.done = true then 1 else 0 end) as doneCount
+            from Todo t
+            group by t.date
+            """)
+    List<TodoDaySummary> summarizeAllDates();
 }
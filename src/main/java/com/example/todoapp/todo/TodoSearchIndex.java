@@ -0,0 +1,548 @@
+package com.example.todoapp.todo;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over todo title and content.
+// Words are kept in a sorted dictionary for prefix matching. Hangul words are also indexed as
+// character bigrams, so "우유" finds "딸기우유를" even though Korean attaches particles and
+// compounds without spaces. Each query token must match; hits are ranked by idf-weighted
+// field scores with title matches counting more than content matches. Its heap use grows with the
+// number of distinct words; with todoapp.search-index.enabled off it holds nothing and finds nothing.
+@Component
+public class TodoSearchIndex {
+
+    static final byte TITLE = 1;
+    static final byte CONTENT = 2;
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double CONTENT_WEIGHT = 1.0;
+    private static final double GRAM_WEIGHT = 0.8;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> wordPostings = new TreeMap<>();
+    private final Map<String, Postings> gramPostings = new HashMap<>();
+    private final Set<Long> touchedWhileLoading = new HashSet<>();
+
+    private final boolean enabled;
+    private int documentCount;
+    private boolean loading;
+
+    public TodoSearchIndex() {
+        this(true);
+    }
+
+    @Autowired
+    public TodoSearchIndex(@Value("${todoapp.search-index.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void add(long id, String title, String content) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                touchedWhileLoading.add(id);
+            }
+            index(id, title, content);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id, String title, String content) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                touchedWhileLoading.add(id);
+            }
+            boolean removed = unindex(id, title, TITLE) | unindex(id, content, CONTENT);
+            if (removed) {
+                documentCount--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Bulk load from a database snapshot. Todos changed through add/remove while loading are skipped,
+    // since their live version is newer than the snapshot.
+    void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            touchedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void load(long id, String title, String content) {
+        lock.writeLock().lock();
+        try {
+            if (!touchedWhileLoading.contains(id)) {
+                index(id, title, content);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void endLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            touchedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Candidates come from the rarest token alone; every other token can only keep or drop them. Scores
+    // are kept in primitive arrays and only the best `limit` are ordered, so a short, common prefix costs
+    // one pass over its postings rather than a map and a sort of everything it matches.
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = words(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<TokenMatch> matches = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                TokenMatch match = match(token);
+                if (match.estimate() == 0) {
+                    return List.of();
+                }
+                matches.add(match);
+            }
+            matches.sort(Comparator.comparingInt(TokenMatch::estimate));
+
+            // Sized for the rarest token's matches; documentCount caps what overlapping words add up to.
+            Scores scores = new Scores(Math.min(matches.get(0).estimate(), documentCount));
+            for (int round = 0; round < matches.size(); round++) {
+                score(matches.get(round), scores, round);
+                if (scores.endRound(round) == 0) {
+                    return List.of();
+                }
+            }
+            return scores.best(matches.size() - 1, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The dictionary words a token is a prefix of, and for Hangul tokens the postings of its bigrams.
+    // estimate bounds the number of todos it matches.
+    private record TokenMatch(SortedMap<String, Postings> words, List<Postings> grams, Postings rarestGram,
+                              int estimate) {
+    }
+
+    private TokenMatch match(String token) {
+        SortedMap<String, Postings> words = wordPostings.subMap(token, token + Character.MAX_VALUE);
+        long estimate = 0;
+        for (Postings postings : words.values()) {
+            estimate += postings.size();
+        }
+
+        List<String> tokenGrams = grams(token);
+        List<Postings> grams = new ArrayList<>(tokenGrams.size());
+        Postings rarest = null;
+        for (String gram : tokenGrams) {
+            Postings postings = gramPostings.get(gram);
+            if (postings == null) {
+                grams = List.of();
+                rarest = null;
+                break;
+            }
+            grams.add(postings);
+            if (rarest == null || postings.size() < rarest.size()) {
+                rarest = postings;
+            }
+        }
+        if (rarest != null) {
+            estimate += rarest.size();
+        }
+        return new TokenMatch(words, grams, rarest, (int) Math.min(estimate, Integer.MAX_VALUE));
+    }
+
+    // A todo's score for a token is its best over the words the token prefixes and the bigram match.
+    private void score(TokenMatch match, Scores scores, int round) {
+        for (Postings postings : match.words().values()) {
+            double idf = idf(postings.size());
+            for (int i = 0; i < postings.size(); i++) {
+                scores.offer(postings.idAt(i), idf * fieldWeight(postings.fieldsAt(i)), round);
+            }
+        }
+
+        Postings rarest = match.rarestGram();
+        if (rarest != null) {
+            double idf = idf(rarest.size()) * GRAM_WEIGHT;
+            for (int i = 0; i < rarest.size(); i++) {
+                long id = rarest.idAt(i);
+                if (round > 0 && !scores.isCandidate(id, round)) {
+                    continue;
+                }
+                byte fields = rarest.fieldsAt(i);
+                for (Postings gram : match.grams()) {
+                    if (fields == 0) {
+                        break;
+                    }
+                    if (gram != rarest) {
+                        fields &= gram.fieldsOf(id);
+                    }
+                }
+                if (fields != 0) {
+                    scores.offer(id, idf * fieldWeight(fields), round);
+                }
+            }
+        }
+    }
+
+    private double idf(int documentFrequency) {
+        return Math.log(1.0 + (double) Math.max(documentCount, 1) / Math.max(documentFrequency, 1));
+    }
+
+    private static double fieldWeight(byte fields) {
+        double weight = 0;
+        if ((fields & TITLE) != 0) {
+            weight += TITLE_WEIGHT;
+        }
+        if ((fields & CONTENT) != 0) {
+            weight += CONTENT_WEIGHT;
+        }
+        return weight;
+    }
+
+    private void index(long id, String title, String content) {
+        boolean added = index(id, title, TITLE) | index(id, content, CONTENT);
+        if (added) {
+            documentCount++;
+        }
+    }
+
+    private boolean index(long id, String text, byte field) {
+        boolean added = false;
+        for (String word : words(text)) {
+            added |= wordPostings.computeIfAbsent(word, w -> new Postings()).add(id, field);
+            for (String gram : grams(word)) {
+                gramPostings.computeIfAbsent(gram, g -> new Postings()).add(id, field);
+            }
+        }
+        return added;
+    }
+
+    private boolean unindex(long id, String text, byte field) {
+        boolean removed = false;
+        for (String word : words(text)) {
+            removed |= removeFrom(wordPostings, word, id, field);
+            for (String gram : grams(word)) {
+                removeFrom(gramPostings, gram, id, field);
+            }
+        }
+        return removed;
+    }
+
+    private static boolean removeFrom(Map<String, Postings> terms, String term, long id, byte field) {
+        Postings postings = terms.get(term);
+        if (postings == null) {
+            return false;
+        }
+        boolean removed = postings.remove(id, field);
+        if (postings.size() == 0) {
+            terms.remove(term);
+        }
+        return removed;
+    }
+
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        List<String> result = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                result.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    static List<String> grams(String word) {
+        if (word.length() < 2 || !containsHangul(word)) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(word.length() - 1);
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            result.add(word.substring(i, i + 2));
+        }
+        return result;
+    }
+
+    private static boolean containsHangul(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.UnicodeScript.of(word.charAt(i)) == Character.UnicodeScript.HANGUL) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Per-search scores in open addressing over primitive arrays. Round 0 adds the candidates; in each
+    // later round a candidate survives only if the token matched it, and adds its best score for it.
+    static final class Scores {
+
+        private long[] ids;
+        private double[] totals;
+        private double[] roundBest;
+        private int[] rounds;
+        // Index + 1 into the arrays above; 0 is an empty slot. At most half full.
+        private int[] table;
+        private int mask;
+        private int count;
+
+        Scores(int capacity) {
+            capacity = Math.max(capacity, 2);
+            ids = new long[capacity];
+            totals = new double[capacity];
+            roundBest = new double[capacity];
+            rounds = new int[capacity];
+            rehash(Integer.highestOneBit(capacity * 2 - 1) << 1);
+        }
+
+        void offer(long id, double score, int round) {
+            int slot = slotOf(id);
+            int index = table[slot] - 1;
+            if (index < 0) {
+                if (round > 0) {
+                    return;
+                }
+                if (count == ids.length) {
+                    grow();
+                    slot = slotOf(id);
+                }
+                index = count++;
+                table[slot] = index + 1;
+                ids[index] = id;
+                rounds[index] = 0;
+                roundBest[index] = score;
+                return;
+            }
+            if (rounds[index] == round) {
+                roundBest[index] = Math.max(roundBest[index], score);
+            } else if (rounds[index] == round - 1) {
+                rounds[index] = round;
+                roundBest[index] = score;
+            }
+        }
+
+        // Whether the id is still in the running for this round.
+        boolean isCandidate(long id, int round) {
+            int index = table[slotOf(id)] - 1;
+            return index >= 0 && rounds[index] >= round - 1;
+        }
+
+        // Adds the round's scores; returns how many candidates are left.
+        int endRound(int round) {
+            int left = 0;
+            for (int i = 0; i < count; i++) {
+                if (rounds[i] == round) {
+                    totals[i] += roundBest[i];
+                    left++;
+                }
+            }
+            return left;
+        }
+
+        // Ids of the best candidates that made it through the last round, best first; newer todos
+        // (higher ids) win ties. A min-heap of size limit keeps the worst of the best on top.
+        List<Long> best(int lastRound, int limit) {
+            int[] heap = new int[Math.min(limit, count)];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                if (rounds[i] != lastRound) {
+                    continue;
+                }
+                if (size < heap.length) {
+                    heap[size] = i;
+                    siftUp(heap, size++);
+                } else if (ranksAbove(i, heap[0])) {
+                    heap[0] = i;
+                    siftDown(heap, size);
+                }
+            }
+            Long[] ranked = new Long[size];
+            while (size > 0) {
+                ranked[--size] = ids[heap[0]];
+                heap[0] = heap[size];
+                siftDown(heap, size);
+            }
+            return Arrays.asList(ranked);
+        }
+
+        private boolean ranksAbove(int a, int b) {
+            int byScore = Double.compare(totals[a], totals[b]);
+            return byScore != 0 ? byScore > 0 : ids[a] > ids[b];
+        }
+
+        private void siftUp(int[] heap, int at) {
+            while (at > 0) {
+                int parent = (at - 1) >>> 1;
+                if (!ranksAbove(heap[parent], heap[at])) {
+                    return;
+                }
+                swap(heap, parent, at);
+                at = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int at = 0;
+            while (true) {
+                int child = 2 * at + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && ranksAbove(heap[child], heap[child + 1])) {
+                    child++;
+                }
+                if (!ranksAbove(heap[at], heap[child])) {
+                    return;
+                }
+                swap(heap, at, child);
+                at = child;
+            }
+        }
+
+        private static void swap(int[] heap, int a, int b) {
+            int value = heap[a];
+            heap[a] = heap[b];
+            heap[b] = value;
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            totals = Arrays.copyOf(totals, capacity);
+            roundBest = Arrays.copyOf(roundBest, capacity);
+            rounds = Arrays.copyOf(rounds, capacity);
+            rehash(table.length * 2);
+        }
+
+        private void rehash(int tableSize) {
+            table = new int[tableSize];
+            mask = tableSize - 1;
+            for (int i = 0; i < count; i++) {
+                table[slotOf(ids[i])] = i + 1;
+            }
+        }
+
+        private int slotOf(long id) {
+            int slot = Long.hashCode(id * 0x9E3779B97F4A7C15L) & mask;
+            while (table[slot] != 0 && ids[table[slot] - 1] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    // Sorted todo ids with a bit mask of the fields the term occurs in. Loading in id order only appends.
+    static final class Postings {
+
+        private long[] ids = new long[4];
+        private byte[] fields = new byte[4];
+        private int size;
+
+        // Returns true if the id was not present before.
+        boolean add(long id, byte field) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                fields[index] |= field;
+                return false;
+            }
+
+            int at = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(fields, at, fields, at + 1, size - at);
+            ids[at] = id;
+            fields[at] = field;
+            size++;
+            return true;
+        }
+
+        // Clears one field; returns true if the id disappeared entirely.
+        boolean remove(long id, byte field) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            fields[index] &= (byte) ~field;
+            if (fields[index] != 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(fields, index + 1, fields, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        byte fieldsOf(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            return index >= 0 ? fields[index] : 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long idAt(int index) {
+            return ids[index];
+        }
+
+        byte fieldsAt(int index) {
+            return fields[index];
+        }
+    }
+}
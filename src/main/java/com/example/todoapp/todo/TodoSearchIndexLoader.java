@@ -0,0 +1,78 @@
+package com.example.todoapp.todo;
+
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Fills TodoSearchIndex from the database on a background thread once the application is up.
+@Component
+@ConditionalOnProperty(prefix = "todoapp.search-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TodoSearchIndexLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchIndexLoader.class);
+
+    private final TodoSearchIndex searchIndex;
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archiveRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public TodoSearchIndexLoader(TodoSearchIndex searchIndex,
+                                 TodoRepository todoRepository,
+                                 ArchivedTodoRepository archiveRepository,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager) {
+        this.searchIndex = searchIndex;
+        this.todoRepository = todoRepository;
+        this.archiveRepository = archiveRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread.ofVirtual().name("search-index-loader").start(this::load);
+    }
+
+    void load() {
+        long started = System.nanoTime();
+        searchIndex.beginLoad();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Todo> todos = todoRepository.streamAll()) {
+                    Iterator<Todo> iterator = todos.iterator();
+                    while (iterator.hasNext()) {
+                        Todo todo = iterator.next();
+                        searchIndex.load(todo.getId(), todo.getTitle(), todo.getContent());
+                        entityManager.detach(todo);
+                    }
+                }
+                // Archived todos stay searchable.
+                try (Stream<ArchivedTodo> archived = archiveRepository.streamAll()) {
+                    Iterator<ArchivedTodo> iterator = archived.iterator();
+                    while (iterator.hasNext()) {
+                        ArchivedTodo todo = iterator.next();
+                        searchIndex.load(todo.getId(), todo.getTitle(), todo.getContent());
+                        entityManager.detach(todo);
+                    }
+                }
+            });
+            log.info("Indexed {} todos for search in {} ms",
+                    searchIndex.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to build the search index", ex);
+        } finally {
+            searchIndex.endLoad();
+        }
+    }
+}
@@ -1,89 +1,1181 @@
 package com.example.todoapp.todo;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class TodoService {
 
+    // Rows per commit for the bulk APIs; a multiple of hibernate.jdbc.batch_size.
+    static final int BULK_CHUNK_SIZE = 1000;
+
+    // Tries for a single-todo write that keeps losing to concurrent writers.
+    static final int WRITE_ATTEMPTS = 3;
+
+    // How long a tag-filtered read waits for TagIndexLoader right after startup.
+    private static final Duration TAG_INDEX_WAIT = Duration.ofSeconds(30);
+
+    private static final Logger log = LoggerFactory.getLogger(TodoService.class);
+
+    private static final Comparator<Todo> LIST_ORDER = Comparator.comparing(Todo::isDone)
+            .thenComparing(Todo::getCreatedAt)
+            .thenComparing(Todo::getId);
+
     private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archiveRepository;
+    private final DaySummaryRepository daySummaryRepository;
     private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoSearchIndex searchIndex;
+    private final RecurrenceRuleRepository ruleRepository;
+    private final RecurrenceOverrideRepository overrideRepository;
+    private final RecurrenceExpander recurrences;
+    private final DayStatusIndex dayIndex;
+    // Bound while a transaction has day counts DayStatusIndex does not have yet.
+    private final Object dayIndexUpdateKey = new Object();
+    private final TagRepository tagRepository;
+    private final TagIndex tagIndex;
 
-    public TodoService(TodoRepository todoRepository, Validator validator) {
+    private final List<TodoChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    // Days before this may have rows in todo_archive; null until looked up. It only moves forward, so a
+    // lookup that raced an archive chunk cannot pull it back. Not kept in the shared profile
+    // (todoapp.archive.cache-boundary), where other instances archive without this one hearing of it.
+    private final AtomicReference<LocalDate> coldBefore = new AtomicReference<>();
+    private final boolean cacheColdBoundary;
+
+    public TodoService(TodoRepository todoRepository,
+                       ArchivedTodoRepository archiveRepository,
+                       DaySummaryRepository daySummaryRepository,
+                       Validator validator,
+                       EntityManager entityManager,
+                       PlatformTransactionManager transactionManager,
+                       TodoSearchIndex searchIndex,
+                       RecurrenceRuleRepository ruleRepository,
+                       RecurrenceOverrideRepository overrideRepository,
+                       RecurrenceExpander recurrences,
+                       DayStatusIndex dayIndex,
+                       TagRepository tagRepository,
+                       TagIndex tagIndex,
+                       @Value("${todoapp.archive.cache-boundary:true}") boolean cacheColdBoundary) {
         this.todoRepository = todoRepository;
+        this.archiveRepository = archiveRepository;
+        this.daySummaryRepository = daySummaryRepository;
         this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.searchIndex = searchIndex;
+        this.ruleRepository = ruleRepository;
+        this.overrideRepository = overrideRepository;
+        this.recurrences = recurrences;
+        this.dayIndex = dayIndex;
+        this.tagRepository = tagRepository;
+        this.tagIndex = tagIndex;
+        this.cacheColdBoundary = cacheColdBoundary;
+        // First, so views told about a change already see it in tag filters.
+        if (tagIndex.isEnabled()) {
+            changeListeners.add(tagIndex);
+        }
+    }
+
+    public void addChangeListener(TodoChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(TodoChangeListener listener) {
+        changeListeners.remove(listener);
     }
 
     @Transactional(readOnly = true)
     public List<Todo> getTodosForDate(LocalDate date) {
-        return todoRepository.findByDateOrderByDoneAscCreatedAtAsc(date);
+        List<Todo> hot = todoRepository.findByDateOrderByDoneAscCreatedAtAsc(date);
+        boolean cold = isCold(date);
+        List<Recurrence> due = occurrencesOn(date);
+        if (!cold && due.isEmpty()) {
+            return hot;
+        }
+        List<Todo> todos = new ArrayList<>(hot);
+        if (cold) {
+            for (ArchivedTodo archived : archiveRepository.findByDateOrderByDoneAscCreatedAtAscIdAsc(date)) {
+                todos.add(archived.toTodo());
+            }
+        }
+        for (Recurrence rule : due) {
+            todos.add(rule.toTodo(date));
+        }
+        todos.sort(LIST_ORDER);
+        return todos;
+    }
+
+    // Keyset pagination over getTodosForDate's order; pass the previous page's next key, or null to start.
+    @Transactional(readOnly = true)
+    public TodoPage getTodoPage(LocalDate date, TodoPage.Key after, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        // One extra row tells whether another page follows.
+        Limit limit = Limit.of(size + 1);
+        List<TodoListItem> rows = after == null
+                ? todoRepository.findListItemsByDate(date, limit)
+                : todoRepository.findListItemsByDateAfter(date, after.done(), after.createdAt(), after.id(), limit);
+        boolean cold = isCold(date);
+        List<Recurrence> due = occurrencesOn(date);
+        if (cold || !due.isEmpty()) {
+            // Every source is read from the same key with the same limit; the first size + 1 of the union are the page.
+            List<TodoListItem> union = new ArrayList<>(rows);
+            if (cold) {
+                union.addAll(after == null
+                        ? archiveRepository.findListItemsByDate(date, limit)
+                        : archiveRepository.findListItemsByDateAfter(date, after.done(), after.createdAt(), after.id(), limit));
+            }
+            for (Recurrence rule : due) {
+                TodoListItem item = rule.toListItem();
+                if (after == null || after.isBefore(item)) {
+                    union.add(item);
+                }
+            }
+            union.sort(TodoListItem.LIST_ORDER);
+            rows = union.subList(0, Math.min(union.size(), size + 1));
+        }
+
+        if (rows.size() <= size) {
+            return new TodoPage(rows, null);
+        }
+        List<TodoListItem> items = List.copyOf(rows.subList(0, size));
+        return new TodoPage(items, TodoPage.Key.of(items.get(size - 1)));
+    }
+
+    // The same page restricted to the todos the filter matches. Filtered reads are answered by TagIndex,
+    // so they see committed changes only; see forEachTaggedDay.
+    @Transactional(readOnly = true)
+    public TodoPage getTodoPage(LocalDate date, TodoPage.Key after, int size, TagFilter filter) {
+        if (filter.isEmpty()) {
+            return getTodoPage(date, after, size);
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        List<Long> ids = matchingIds(date, filter);
+        if (ids.isEmpty()) {
+            return new TodoPage(List.of(), null);
+        }
+        Limit limit = Limit.of(size + 1);
+        List<TodoListItem> rows = after == null
+                ? todoRepository.findListItemsByDateAndIds(date, ids, limit)
+                : todoRepository.findListItemsByDateAndIdsAfter(date, ids, after.done(), after.createdAt(), after.id(), limit);
+        if (isCold(date) && rows.size() < ids.size()) {
+            List<TodoListItem> union = new ArrayList<>(rows);
+            union.addAll(after == null
+                    ? archiveRepository.findListItemsByDateAndIds(date, ids, limit)
+                    : archiveRepository.findListItemsByDateAndIdsAfter(date, ids, after.done(), after.createdAt(), after.id(), limit));
+            union.sort(TodoListItem.LIST_ORDER);
+            rows = union.subList(0, Math.min(union.size(), size + 1));
+        }
+
+        if (rows.size() <= size) {
+            return new TodoPage(rows, null);
+        }
+        List<TodoListItem> items = List.copyOf(rows.subList(0, size));
+        return new TodoPage(items, TodoPage.Key.of(items.get(size - 1)));
+    }
+
+    @Transactional(readOnly = true)
+    public int countTodosForDate(LocalDate date, TagFilter filter) {
+        if (filter.isEmpty()) {
+            return countTodosForDate(date);
+        }
+        int[] count = new int[1];
+        forEachTaggedDay(date, date, filter, (epochDay, total, done) -> count[0] = total);
+        return count[0];
+    }
+
+    @Transactional(readOnly = true)
+    public int countTodosForDate(LocalDate date) {
+        int stored = dayIndexUsable()
+                ? dayIndex.total(date)
+                : daySummaryRepository.findById(date).map(DaySummary::getTotalCount).orElse(0);
+        return stored + occurrencesOn(date).size();
     }
 
+    // Read-only transactions run Hibernate with read-only sessions: loaded entities get no dirty-checking snapshot.
     @Transactional(readOnly = true)
     public Optional<Todo> getById(Long id) {
-        return todoRepository.findById(id);
+        return todoRepository.findById(id).or(() -> archiveRepository.findById(id).map(ArchivedTodo::toTodo));
+    }
+
+    // Stored todos dated from..to in date and list order, both tables merged (no generated occurrences).
+    // Rows are detached as they are handed over, so a range of any size reads with a flat heap.
+    @Transactional(readOnly = true)
+    public long forEachInRange(LocalDate from, LocalDate to, Consumer<Todo> action) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range ends before it starts: " + from + " > " + to);
+        }
+        Comparator<Todo> order = Comparator.comparing(Todo::getDate).thenComparing(LIST_ORDER);
+        try (Stream<Todo> hot = todoRepository.streamByDateBetween(from, to);
+             Stream<Todo> cold = isCold(from)
+                     ? archiveRepository.streamByDateBetween(from, to).map(archived -> {
+                         entityManager.detach(archived);
+                         return archived.toTodo();
+                     })
+                     : Stream.empty()) {
+            Iterator<Todo> hotRows = hot.iterator();
+            Iterator<Todo> coldRows = cold.iterator();
+            Todo nextHot = hotRows.hasNext() ? hotRows.next() : null;
+            Todo nextCold = coldRows.hasNext() ? coldRows.next() : null;
+            long count = 0;
+            while (nextHot != null || nextCold != null) {
+                if (nextCold == null || (nextHot != null && order.compare(nextHot, nextCold) <= 0)) {
+                    entityManager.detach(nextHot);
+                    action.accept(nextHot);
+                    nextHot = hotRows.hasNext() ? hotRows.next() : null;
+                } else {
+                    action.accept(nextCold);
+                    nextCold = coldRows.hasNext() ? coldRows.next() : null;
+                }
+                count++;
+            }
+            return count;
+        }
+    }
+
+    // Ranked matches for the words in the query, each matched by prefix (see TodoSearchIndex).
+    @Transactional(readOnly = true)
+    public List<Todo> search(String query, int limit) {
+        List<Long> ids = searchIndex.search(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Todo> byId = new HashMap<>();
+        for (Todo todo : todoRepository.findAllById(ids)) {
+            byId.put(todo.getId(), todo);
+        }
+        if (byId.size() < ids.size()) {
+            List<Long> missing = ids.stream().filter(id -> !byId.containsKey(id)).toList();
+            for (ArchivedTodo archived : archiveRepository.findAllById(missing)) {
+                byId.put(archived.getId(), archived.toTodo());
+            }
+        }
+        List<Todo> ranked = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Todo todo = byId.get(id);
+            if (todo != null) {
+                ranked.add(todo);
+            }
+        }
+        return ranked;
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Todo create(LocalDate date, String title, String content, boolean done) {
-        Todo todo = new Todo(date, title, content, done);
-        validate(todo);
-        return todoRepository.save(todo);
+        validate(new Todo(date, title, content, done));
+        return retryOnConflict(() -> {
+            Todo saved = todoRepository.save(new Todo(date, title, content, done));
+            adjustDaySummary(date, 1, done ? 1 : 0);
+            recordChange(batch -> batch.todos.add(TodoChange.created(date, TodoListItem.of(saved))));
+            afterCommit(() -> searchIndex.add(saved.getId(), title, content));
+            return saved;
+        });
     }
 
+    // Last write wins; see update(Long, TodoDraft, TodoDraft) for edits that must not overwrite others.
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Todo update(Long id, LocalDate date, String title, String content, boolean done) {
-        Todo todo = todoRepository.findById(id)
+        TodoDraft draft = new TodoDraft(date, title, content, done);
+        validate(draft.toTodo());
+        return retryOnConflict(() -> apply(find(id), draft));
+    }
+
+    // Saves an edit made on top of base, the state the editor loaded. Fields changed elsewhere since
+    // then are kept unless this edit changed them too; that case throws TodoConflictException.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Todo update(Long id, TodoDraft base, TodoDraft edit) {
+        validate(edit.toTodo());
+        return retryOnConflict(() -> {
+            Todo current = find(id);
+            TodoDraft merged = merge(base, TodoDraft.of(current), edit);
+            if (merged == null) {
+                throw new TodoConflictException(current);
+            }
+            return apply(current, merged);
+        });
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void delete(Long id) {
+        retryOnConflict(() -> {
+            todoRepository.findById(id).or(() -> restore(id)).ifPresent(todo -> {
+                todoRepository.delete(todo);
+                adjustDaySummary(todo.getDate(), -1, todo.isDone() ? -1 : 0);
+                recordChange(batch -> batch.todos.add(TodoChange.deleted(todo.getDate(), TodoListItem.of(todo))));
+                afterCommit(() -> searchIndex.remove(id, todo.getTitle(), todo.getContent()));
+            });
+            return null;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<Tag> listTags() {
+        return tagRepository.findAllByOrderByNameAsc();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Tag> getTags(Long todoId) {
+        return tagRepository.findByTodo(todoId);
+    }
+
+    // Replaces a todo's tags with the named ones, creating tags that do not exist yet. Names are
+    // trimmed; blank ones are ignored. Returns the todo's tags by name.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Tag> setTags(Long id, Collection<String> names) {
+        Set<String> wanted = new LinkedHashSet<>();
+        for (String name : names) {
+            if (!name.isBlank()) {
+                wanted.add(name.strip());
+            }
+        }
+        Set<ConstraintViolation<Tag>> violations = new HashSet<>();
+        for (String name : wanted) {
+            violations.addAll(validator.validate(new Tag(name)));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        return retryOnConflict(() -> {
+            Todo todo = find(id);
+            List<Tag> tags = new ArrayList<>(wanted.isEmpty() ? List.of() : tagRepository.findByNameIn(wanted));
+            Set<String> existing = new HashSet<>();
+            tags.forEach(tag -> existing.add(tag.getName()));
+            for (String name : wanted) {
+                if (!existing.contains(name)) {
+                    tags.add(tagRepository.save(new Tag(name)));
+                }
+            }
+            todo.getTags().clear();
+            todo.getTags().addAll(tags);
+
+            Set<Long> tagIds = new HashSet<>();
+            tags.forEach(tag -> tagIds.add(tag.getId()));
+            recordChange(batch -> batch.tags.put(id, Set.copyOf(tagIds)));
+            tags.sort(Comparator.comparing(Tag::getName));
+            return tags;
+        });
+    }
+
+    private List<Long> matchingIds(LocalDate date, TagFilter filter) {
+        if (!tagIndex.isEnabled()) {
+            return tagRepository.findMatchingIds(date, filter.tagIds(), requiredTags(filter));
+        }
+        tagIndex.awaitReady(TAG_INDEX_WAIT);
+        return tagIndex.idsOn(date, filter);
+    }
+
+    // Filters come from TagIndex, or from the tables where it is off (the shared profile: other
+    // instances tag todos without this one hearing of it).
+    private void forEachTaggedDay(LocalDate from, LocalDate to, TagFilter filter, DayStatusIndex.DayCounts action) {
+        if (tagIndex.isEnabled()) {
+            tagIndex.awaitReady(TAG_INDEX_WAIT);
+            tagIndex.forEachDay(from, to, filter, action);
+            return;
+        }
+        for (Object[] row : tagRepository.countMatchingByDay(from, to, filter.tagIds(), requiredTags(filter))) {
+            LocalDate date = row[0] instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) row[0];
+            action.accept(date.toEpochDay(), ((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+        }
+    }
+
+    private static int requiredTags(TagFilter filter) {
+        return filter.matchAll() ? filter.tagIds().size() : 1;
+    }
+
+    // Repeats from start until ended; see RecurrenceRule.
+    public RecurrenceRule createRecurrence(LocalDate start, String title, String content,
+                                           RecurrenceRule.Frequency frequency, int interval) {
+        RecurrenceRule rule = new RecurrenceRule(start, title, content, frequency, interval);
+        Set<ConstraintViolation<RecurrenceRule>> violations = validator.validate(rule);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        ruleRepository.save(rule);
+        rulesChanged();
+        return rule;
+    }
+
+    // Stops the rule of an occurrence from the given day on; earlier occurrences stay. Ending it on its
+    // first day deletes the rule. Occurrences already saved as todos are kept either way.
+    public void endRecurrence(Long occurrenceId, LocalDate from) {
+        long ruleId = Recurrence.ruleIdOf(occurrenceId);
+        RecurrenceRule rule = ruleRepository.findById(ruleId)
+                .orElseThrow(() -> new IllegalArgumentException("Recurrence not found: " + ruleId));
+        if (!from.isAfter(rule.getStartDate())) {
+            overrideRepository.deleteByRecurrence(ruleId);
+            ruleRepository.delete(rule);
+        } else if (rule.getEndDate() == null || !rule.getEndDate().isBefore(from)) {
+            rule.setEndDate(from.minusDays(1));
+        }
+        rulesChanged();
+    }
+
+    // A generated occurrence as the editor shows it, or empty if it is not generated on that day.
+    @Transactional(readOnly = true)
+    public Optional<Todo> getOccurrence(Long occurrenceId, LocalDate date) {
+        return occurrencesOn(date).stream()
+                .filter(rule -> rule.occurrenceId() == occurrenceId)
+                .findFirst()
+                .map(rule -> rule.toTodo(date));
+    }
+
+    // Stores one occurrence as a todo of its own, e.g. once it is completed or edited, and stops the rule
+    // from generating it. The todo keeps the rule's creation time, so its row stays where it was.
+    public Todo saveOccurrence(Long occurrenceId, LocalDate occurrenceDate, TodoDraft edit) {
+        validate(edit.toTodo());
+        Recurrence rule = findOccurrence(occurrenceId, occurrenceDate);
+        Todo saved = todoRepository.save(
+                Todo.restored(edit.date(), edit.title(), edit.content(), edit.done(), rule.createdAt(), null));
+        overrideRepository.save(new RecurrenceOverride(rule.id(), occurrenceDate, saved.getId()));
+        occurrenceChanged(occurrenceDate);
+
+        adjustDaySummary(edit.date(), 1, edit.done() ? 1 : 0);
+        if (!edit.date().equals(occurrenceDate)) {
+            recordDayStatus(occurrenceDate);
+        }
+        recordChange(batch -> batch.todos.add(
+                TodoChange.updated(occurrenceDate, rule.toListItem(), edit.date(), TodoListItem.of(saved))));
+        afterCommit(() -> searchIndex.add(saved.getId(), edit.title(), edit.content()));
+        return saved;
+    }
+
+    // Deletes a single occurrence; the rule's other occurrences stay.
+    public void skipOccurrence(Long occurrenceId, LocalDate date) {
+        Recurrence rule = findOccurrence(occurrenceId, date);
+        overrideRepository.save(new RecurrenceOverride(rule.id(), date, null));
+        occurrenceChanged(date);
+        recordDayStatus(date);
+        recordChange(batch -> batch.todos.add(TodoChange.deleted(date, rule.toListItem())));
+    }
+
+    private Recurrence findOccurrence(Long occurrenceId, LocalDate date) {
+        long ruleId = Recurrence.ruleIdOf(occurrenceId);
+        return ruleRepository.findById(ruleId)
+                .map(RecurrenceRule::toRecurrence)
+                .filter(rule -> rule.occursOn(date))
+                .filter(rule -> !overrideRepository.existsByRecurrenceIdAndOccurrenceDate(ruleId, date))
+                .orElseThrow(() -> new IllegalArgumentException("Occurrence not found: " + ruleId + " on " + date));
+    }
+
+    private List<Recurrence> occurrencesOn(LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        return recurrences.expand(month.atDay(1), month.atEndOfMonth()).getOrDefault(date, List.of());
+    }
+
+    // The transaction sees its own change right away; everyone else once it completes either way.
+    private void rulesChanged() {
+        recurrences.rulesChanged();
+        afterCompletion(recurrences::rulesChanged);
+        recordChange(batch -> batch.allDays = true);
+    }
+
+    private void occurrenceChanged(LocalDate date) {
+        recurrences.occurrenceChanged(date);
+        afterCompletion(() -> recurrences.occurrenceChanged(date));
+    }
+
+    private Todo find(Long id) {
+        return todoRepository.findById(id)
+                .or(() -> restore(id))
                 .orElseThrow(() -> new IllegalArgumentException("Todo not found: " + id));
+    }
 
-        todo.setDate(date);
-        todo.setTitle(title);
-        todo.setContent(content);
-        todo.setDone(done);
+    // An archived todo that is edited or deleted moves back to the todo table first.
+    private Optional<Todo> restore(Long id) {
+        if (archiveRepository.copyToTodo(id) == 0) {
+            return Optional.empty();
+        }
+        archiveRepository.deleteAllByIdInBatch(List.of(id));
+        return todoRepository.findById(id);
+    }
 
-        validate(todo);
-        return todoRepository.save(todo);
+    // findAllById for the bulk writes: archived todos among the ids move back to the todo table first.
+    private List<Todo> findAllRestoring(List<Long> ids) {
+        List<Todo> todos = todoRepository.findAllById(ids);
+        if (todos.size() == ids.size()) {
+            return todos;
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        todos.forEach(todo -> missing.remove(todo.getId()));
+        if (archiveRepository.copyAllToTodo(missing) == 0) {
+            return todos;
+        }
+        archiveRepository.deleteAllByIdInBatch(missing);
+        List<Todo> found = new ArrayList<>(todos);
+        found.addAll(todoRepository.findAllById(missing));
+        return found;
     }
 
-    public void delete(Long id) {
-        todoRepository.deleteById(id);
+    // Moves done todos dated before the given day into todo_archive, oldest first and BULK_CHUNK_SIZE
+    // per commit, so the todo table and its date index only hold what is still in use. Day summaries
+    // and the search index count both tables and do not change.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int archiveDoneBefore(LocalDate before) {
+        int moved = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = todoRepository.findDoneIdsBefore(before, Limit.of(BULK_CHUNK_SIZE));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                archiveRepository.copyFromTodo(ids);
+                todoRepository.deleteRowsKeepingTags(ids);
+                flushAndClear();
+                // Per chunk, so reads between chunks already look for the moved rows in the archive.
+                afterCommit(() -> raiseColdBoundary(before));
+                return ids.size();
+            });
+            if (count == null || count == 0) {
+                break;
+            }
+            moved += count;
+        }
+        return moved;
+    }
+
+    private boolean isCold(LocalDate date) {
+        LocalDate boundary = cacheColdBoundary ? coldBefore.get() : null;
+        if (boundary == null) {
+            LocalDate latest = archiveRepository.findLatestDate();
+            boundary = latest == null ? LocalDate.MIN : latest.plusDays(1);
+            if (cacheColdBoundary) {
+                boundary = raiseColdBoundary(boundary);
+            }
+        }
+        return date.isBefore(boundary);
+    }
+
+    private LocalDate raiseColdBoundary(LocalDate boundary) {
+        return coldBefore.accumulateAndGet(boundary,
+                (current, raised) -> current == null || raised.isAfter(current) ? raised : current);
+    }
+
+    private Todo apply(Todo todo, TodoDraft draft) {
+        Long id = todo.getId();
+        LocalDate oldDate = todo.getDate();
+        boolean oldDone = todo.isDone();
+        String oldTitle = todo.getTitle();
+        String oldContent = todo.getContent();
+        TodoListItem before = TodoListItem.of(todo);
+
+        todo.setDate(draft.date());
+        todo.setTitle(draft.title());
+        todo.setContent(draft.content());
+        todo.setDone(draft.done());
+        Todo saved = todoRepository.save(todo);
+
+        if (!oldDate.equals(draft.date())) {
+            adjustDaySummary(oldDate, -1, oldDone ? -1 : 0);
+            adjustDaySummary(draft.date(), 1, draft.done() ? 1 : 0);
+        } else if (oldDone != draft.done()) {
+            adjustDaySummary(draft.date(), 0, draft.done() ? 1 : -1);
+        }
+        recordChange(batch -> batch.todos.add(TodoChange.updated(oldDate, before, draft.date(), TodoListItem.of(saved))));
+        afterCommit(() -> {
+            searchIndex.remove(id, oldTitle, oldContent);
+            searchIndex.add(id, draft.title(), draft.content());
+        });
+        return saved;
+    }
+
+    // Three-way merge per field; null when both sides changed the same field to different values.
+    static TodoDraft merge(TodoDraft base, TodoDraft theirs, TodoDraft mine) {
+        LocalDate date = pick(base.date(), theirs.date(), mine.date());
+        String title = pick(base.title(), theirs.title(), mine.title());
+        String content = pick(base.content(), theirs.content(), mine.content());
+        Boolean done = pick(base.done(), theirs.done(), mine.done());
+        if (date == null || title == null || content == null || done == null) {
+            return null;
+        }
+        return new TodoDraft(date, title, content, done);
+    }
+
+    private static <T> T pick(T base, T theirs, T mine) {
+        if (mine.equals(base)) {
+            return theirs;
+        }
+        if (theirs.equals(base) || theirs.equals(mine)) {
+            return mine;
+        }
+        return null;
+    }
+
+    // Runs a single-todo write in its own transaction and starts it over when another instance
+    // committed the same rows first (version check, row lock timeout, or a day summary row both inserted).
+    // Inside a caller's transaction there is nothing to start over, so the write runs once and the caller
+    // sees the failure.
+    private <T> T retryOnConflict(Supplier<T> write) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return write.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write.get());
+            } catch (ConcurrencyFailureException | OptimisticLockException ex) {
+                if (attempt >= WRITE_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Concurrent write, retrying (attempt {})", attempt, ex);
+            } catch (DataIntegrityViolationException ex) {
+                if (attempt >= WRITE_ATTEMPTS || !isDuplicateKey(ex)) {
+                    throw ex;
+                }
+                log.debug("Concurrent insert, retrying (attempt {})", attempt, ex);
+            }
+        }
+    }
+
+    private static boolean isDuplicateKey(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateKeyException
+                    || cause instanceof SQLException sql && "23505".equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The bulk APIs validate everything up front, then commit in chunks of BULK_CHUNK_SIZE and clear the
+    // persistence context after each one. Inside a caller's transaction the chunks join it instead.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Todo> createAll(Collection<TodoDraft> drafts) {
+        List<Todo> todos = new ArrayList<>(drafts.size());
+        for (TodoDraft draft : drafts) {
+            todos.add(draft.toTodo());
+        }
+        return persistAll(todos);
+    }
+
+    // Inserts rows that keep their exported timestamps; see TodoTransferService.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<Todo> restoreAll(List<Todo> todos) {
+        return persistAll(todos);
+    }
+
+    private List<Todo> persistAll(List<Todo> todos) {
+        validateAll(todos);
+
+        for (List<Todo> chunk : chunks(todos)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<LocalDate, int[]> deltas = new HashMap<>();
+                for (Todo todo : chunk) {
+                    entityManager.persist(todo);
+                    addDelta(deltas, todo.getDate(), 1, todo.isDone() ? 1 : 0);
+                }
+                applyDaySummaryDeltas(deltas);
+                flushAndClear();
+                List<Todo> committed = List.copyOf(chunk);
+                recordChange(batch -> {
+                    for (Todo todo : committed) {
+                        batch.todos.add(TodoChange.created(todo.getDate(), TodoListItem.of(todo)));
+                    }
+                });
+                afterCommit(() -> {
+                    for (Todo todo : committed) {
+                        searchIndex.add(todo.getId(), todo.getTitle(), todo.getContent());
+                    }
+                });
+            });
+        }
+        return todos;
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int updateAll(Map<Long, TodoDraft> changes) {
+        List<Todo> candidates = new ArrayList<>(changes.size());
+        for (TodoDraft draft : changes.values()) {
+            candidates.add(draft.toTodo());
+        }
+        validateAll(candidates);
+
+        for (List<Long> chunk : chunks(new ArrayList<>(changes.keySet()))) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Todo> todos = findAllRestoring(chunk);
+                if (todos.size() != chunk.size()) {
+                    Set<Long> missing = new HashSet<>(chunk);
+                    todos.forEach(todo -> missing.remove(todo.getId()));
+                    throw new IllegalArgumentException("Todo not found: " + missing);
+                }
+
+                Map<LocalDate, int[]> deltas = new HashMap<>();
+                List<Runnable> reindex = new ArrayList<>(todos.size());
+                List<TodoChange> changed = new ArrayList<>(todos.size());
+                for (Todo todo : todos) {
+                    TodoDraft draft = changes.get(todo.getId());
+                    addDelta(deltas, todo.getDate(), -1, todo.isDone() ? -1 : 0);
+                    addDelta(deltas, draft.date(), 1, draft.done() ? 1 : 0);
+
+                    long id = todo.getId();
+                    LocalDate oldDate = todo.getDate();
+                    TodoListItem before = TodoListItem.of(todo);
+                    String oldTitle = todo.getTitle();
+                    String oldContent = todo.getContent();
+                    reindex.add(() -> {
+                        searchIndex.remove(id, oldTitle, oldContent);
+                        searchIndex.add(id, draft.title(), draft.content());
+                    });
+
+                    todo.setDate(draft.date());
+                    todo.setTitle(draft.title());
+                    todo.setContent(draft.content());
+                    todo.setDone(draft.done());
+                    changed.add(TodoChange.updated(oldDate, before, draft.date(), TodoListItem.of(todo)));
+                }
+                applyDaySummaryDeltas(deltas);
+                flushAndClear();
+                recordChange(batch -> batch.todos.addAll(changed));
+                afterCommit(() -> reindex.forEach(Runnable::run));
+            });
+        }
+        return changes.size();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public int deleteAll(Collection<Long> ids) {
+        int deleted = 0;
+        for (List<Long> chunk : chunks(new ArrayList<>(new HashSet<>(ids)))) {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Todo> todos = findAllRestoring(chunk);
+                Map<LocalDate, int[]> deltas = new HashMap<>();
+                for (Todo todo : todos) {
+                    addDelta(deltas, todo.getDate(), -1, todo.isDone() ? -1 : 0);
+                }
+                tagRepository.deleteLinks(chunk);
+                todoRepository.deleteAllInBatch(todos);
+                applyDaySummaryDeltas(deltas);
+                flushAndClear();
+                recordChange(batch -> {
+                    for (Todo todo : todos) {
+                        batch.todos.add(TodoChange.deleted(todo.getDate(), TodoListItem.of(todo)));
+                    }
+                });
+                afterCommit(() -> {
+                    for (Todo todo : todos) {
+                        searchIndex.remove(todo.getId(), todo.getTitle(), todo.getContent());
+                    }
+                });
+                return todos.size();
+            });
+            deleted += count == null ? 0 : count;
+        }
+        return deleted;
+    }
+
+    // One transaction for a group of queued edits and deletes (see TodoWriteBehind).
+    public void applyWrites(Map<Long, TodoDraft> updates, Collection<Long> deletes) {
+        if (!updates.isEmpty()) {
+            updateAll(updates);
+        }
+        if (!deletes.isEmpty()) {
+            deleteAll(deletes);
+        }
+    }
+
+    // Creates, then edits, then deletes, all in one transaction: the bulk APIs' chunks join it, so a
+    // failure anywhere leaves nothing of the batch behind. Size batches to what one transaction can hold.
+    public TodoBatchResult applyBatch(Collection<TodoDraft> creates, Map<Long, TodoDraft> updates, Collection<Long> deletes) {
+        List<Todo> created = creates.isEmpty() ? List.of() : createAll(creates);
+        int updated = updates.isEmpty() ? 0 : updateAll(updates);
+        int deleted = deletes.isEmpty() ? 0 : deleteAll(deletes);
+        return new TodoBatchResult(created, updated, deleted);
     }
 
+    // Day summaries count archived todos too, so cold months need no lookup in the archive.
     @Transactional(readOnly = true)
     public Map<LocalDate, DayStatus> getMonthDayStatuses(YearMonth month) {
         LocalDate start = month.atDay(1);
         LocalDate end = month.atEndOfMonth();
 
-        List<TodoDaySummary> summaries = todoRepository.summarizeByDate(start, end);
+        Map<LocalDate, List<Recurrence>> due = recurrences.expand(start, end);
         Map<LocalDate, DayStatus> result = new HashMap<>();
 
-        for (TodoDaySummary summary : summaries) {
-            LocalDate date = summary.getDate();
-            long total = summary.getTotalCount() == null ? 0 : summary.getTotalCount();
-            long doneCount = summary.getDoneCount() == null ? 0 : summary.getDoneCount();
+        DayStatusIndex.DayCounts add = (epochDay, total, done) -> {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            DayStatus status = DayStatus.of(total + due.getOrDefault(date, List.of()).size(), done);
+            if (status != DayStatus.NONE) {
+                result.put(date, status);
+            }
+        };
+        if (dayIndexUsable()) {
+            dayIndex.forEachDay(start, end, add);
+        } else {
+            for (DaySummary summary : daySummaryRepository.findByDateBetween(start, end)) {
+                add.accept(summary.getDate().toEpochDay(), summary.getTotalCount(), summary.getDoneCount());
+            }
+        }
+        // Generated occurrences are open, and days with nothing else have no summary row.
+        for (LocalDate date : due.keySet()) {
+            result.putIfAbsent(date, DayStatus.INCOMPLETE);
+        }
+
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<LocalDate, DayStatus> getMonthDayStatuses(YearMonth month, TagFilter filter) {
+        if (filter.isEmpty()) {
+            return getMonthDayStatuses(month);
+        }
+        Map<LocalDate, DayStatus> result = new HashMap<>();
+        forEachTaggedDay(month.atDay(1), month.atEndOfMonth(), filter,
+                (epochDay, total, done) -> result.put(LocalDate.ofEpochDay(epochDay), DayStatus.of(total, done)));
+        return result;
+    }
+
+    // One range query for any span of days, e.g. a whole year for the heatmap.
+    @Transactional(readOnly = true)
+    public DayStatusRange getDayStatuses(LocalDate from, LocalDate to) {
+        DayStatusRange range = new DayStatusRange(from, to);
+        if (dayIndexUsable()) {
+            dayIndex.copyTo(range);
+        } else {
+            for (DaySummary summary : daySummaryRepository.findByDateBetween(from, to)) {
+                range.set(summary.getDate(), summary.getTotalCount(), summary.getDoneCount());
+            }
+        }
+        recurrences.expand(from, to).forEach((date, due) -> {
+            int index = range.indexOf(date);
+            range.set(date, range.totalAt(index) + due.size(), range.doneAt(index));
+        });
+        return range;
+    }
+
+    @Transactional(readOnly = true)
+    public DayStatusRange getDayStatuses(LocalDate from, LocalDate to, TagFilter filter) {
+        if (filter.isEmpty()) {
+            return getDayStatuses(from, to);
+        }
+        DayStatusRange range = new DayStatusRange(from, to);
+        long first = from.toEpochDay();
+        forEachTaggedDay(from, to, filter, (epochDay, total, done) -> range.setAt((int) (epochDay - first), total, done));
+        return range;
+    }
+
+    // Recomputes todo_day_summary from the todo table, e.g. for databases created before it existed.
+    public int rebuildDaySummaries() {
+        daySummaryRepository.deleteAllInBatch();
+
+        Map<LocalDate, int[]> counts = countAllDates();
+        List<DaySummary> rebuilt = new ArrayList<>();
+        for (Map.Entry<LocalDate, int[]> actual : counts.entrySet()) {
+            rebuilt.add(new DaySummary(actual.getKey(), actual.getValue()[0], actual.getValue()[1]));
+        }
+        daySummaryRepository.saveAll(rebuilt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            DayIndexUpdate update = dayIndexUpdate();
+            update.days.clear();
+            update.replacement = counts;
+        } else {
+            dayIndex.replaceAll(counts);
+        }
+        recordChange(batch -> batch.allDays = true);
+        return rebuilt.size();
+    }
+
+    // Returns the dates whose stored summary disagrees with the todo table.
+    @Transactional(readOnly = true)
+    public List<LocalDate> verifyDaySummaries() {
+        Map<LocalDate, DaySummary> stored = new HashMap<>();
+        for (DaySummary summary : daySummaryRepository.findAll()) {
+            stored.put(summary.getDate(), summary);
+        }
+
+        List<LocalDate> mismatched = new ArrayList<>();
+        for (Map.Entry<LocalDate, int[]> actual : countAllDates().entrySet()) {
+            DaySummary summary = stored.remove(actual.getKey());
+            if (summary == null
+                    || summary.getTotalCount() != actual.getValue()[0]
+                    || summary.getDoneCount() != actual.getValue()[1]) {
+                mismatched.add(actual.getKey());
+            }
+        }
+        for (DaySummary leftover : stored.values()) {
+            if (leftover.getTotalCount() != 0 || leftover.getDoneCount() != 0) {
+                mismatched.add(leftover.getDate());
+            }
+        }
+        return mismatched;
+    }
 
-            if (total <= 0) {
+    // Returns the dates on which DayStatusIndex disagrees with the todo tables.
+    @Transactional(readOnly = true)
+    public List<LocalDate> verifyDayStatusIndex() {
+        if (!dayIndex.isReady()) {
+            throw new IllegalStateException("The day status index is not loaded yet");
+        }
+        Map<LocalDate, int[]> actual = countAllDates();
+        List<LocalDate> mismatched = new ArrayList<>();
+        dayIndex.forEachDay((epochDay, total, done) -> {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            int[] counts = actual.remove(date);
+            if (counts == null || counts[0] != total || counts[1] != done) {
+                mismatched.add(date);
+            }
+        });
+        actual.forEach((date, counts) -> {
+            if (counts[0] != 0 || counts[1] != 0) {
+                mismatched.add(date);
+            }
+        });
+        mismatched.sort(null);
+        return mismatched;
+    }
+
+    // Total and done counts per day over the todo and archive tables.
+    private Map<LocalDate, int[]> countAllDates() {
+        Map<LocalDate, int[]> counts = new HashMap<>();
+        for (TodoDaySummary actual : todoRepository.summarizeAllDates()) {
+            addDelta(counts, actual.getDate(), toInt(actual.getTotalCount()), toInt(actual.getDoneCount()));
+        }
+        for (TodoDaySummary archived : archiveRepository.summarizeAllDates()) {
+            addDelta(counts, archived.getDate(), toInt(archived.getTotalCount()), toInt(archived.getDoneCount()));
+        }
+        return counts;
+    }
+
+    private void adjustDaySummary(LocalDate date, int total, int done) {
+        // Rows that drop to zero are kept: deleting and re-inserting the same key in one flush fails.
+        // A new row is flushed at once, so a concurrent first write to the day fails here with a
+        // duplicate key that retryOnConflict starts over from, rather than at commit.
+        DaySummary summary = daySummaryRepository.findById(date)
+                .orElseGet(() -> daySummaryRepository.saveAndFlush(new DaySummary(date, 0, 0)));
+        summary.adjust(total, done);
+        recordDayCounts(summary);
+        if (total != 0 || done != 0) {
+            recordChange(batch -> batch.days.put(date, statusOf(summary)));
+        }
+    }
+
+    private void applyDaySummaryDeltas(Map<LocalDate, int[]> deltas) {
+        List<DaySummary> changed = new ArrayList<>();
+        Map<LocalDate, DaySummary> existing = new HashMap<>();
+        for (DaySummary summary : daySummaryRepository.findAllById(deltas.keySet())) {
+            existing.put(summary.getDate(), summary);
+        }
+
+        for (Map.Entry<LocalDate, int[]> entry : deltas.entrySet()) {
+            int[] delta = entry.getValue();
+            if (delta[0] == 0 && delta[1] == 0) {
                 continue;
             }
+            DaySummary summary = existing.get(entry.getKey());
+            if (summary == null) {
+                summary = daySummaryRepository.save(new DaySummary(entry.getKey(), 0, 0));
+            }
+            summary.adjust(delta[0], delta[1]);
+            recordDayCounts(summary);
+            changed.add(summary);
+        }
+        if (!changed.isEmpty()) {
+            recordChange(batch -> changed.forEach(summary -> batch.days.put(summary.getDate(), statusOf(summary))));
+        }
+    }
+
+    // Committed counts go into DayStatusIndex; until then this transaction reads day counts from the
+    // database, which has its own uncommitted changes.
+    private void recordDayCounts(DaySummary summary) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dayIndex.set(summary.getDate(), summary.getTotalCount(), summary.getDoneCount());
+            return;
+        }
+        dayIndexUpdate().days.put(summary.getDate(), new int[]{summary.getTotalCount(), summary.getDoneCount()});
+    }
+
+    private DayIndexUpdate dayIndexUpdate() {
+        DayIndexUpdate update = (DayIndexUpdate) TransactionSynchronizationManager.getResource(dayIndexUpdateKey);
+        if (update == null) {
+            update = new DayIndexUpdate();
+            TransactionSynchronizationManager.bindResource(dayIndexUpdateKey, update);
+            TransactionSynchronizationManager.registerSynchronization(update);
+        }
+        return update;
+    }
+
+    private boolean dayIndexUsable() {
+        return dayIndex.isReady() && TransactionSynchronizationManager.getResource(dayIndexUpdateKey) == null;
+    }
 
-            if (doneCount >= total) {
-                result.put(date, DayStatus.ALL_DONE);
-            } else {
-                result.put(date, DayStatus.INCOMPLETE);
+    private final class DayIndexUpdate implements TransactionSynchronization {
+
+        private final Map<LocalDate, int[]> days = new HashMap<>();
+        private Map<LocalDate, int[]> replacement;
+
+        @Override
+        public void afterCommit() {
+            if (replacement != null) {
+                dayIndex.replaceAll(replacement);
             }
+            days.forEach((date, counts) -> dayIndex.set(date, counts[0], counts[1]));
         }
 
-        return result;
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dayIndexUpdateKey);
+        }
+    }
+
+    // For a day whose generated occurrences changed while its stored todos did not.
+    private void recordDayStatus(LocalDate date) {
+        recordChange(batch -> batch.days.put(date, daySummaryRepository.findById(date)
+                .map(this::statusOf)
+                .orElseGet(() -> DayStatus.of(recurrences.countOn(date), 0))));
+    }
+
+    // Stored todos plus the occurrences still generated, which are open.
+    private DayStatus statusOf(DaySummary summary) {
+        return DayStatus.of(summary.getTotalCount() + recurrences.countOn(summary.getDate()), summary.getDoneCount());
+    }
+
+    // Adds to the transaction's change batch, which the listeners get once it commits; without a
+    // transaction the change is delivered right away.
+    private void recordChange(Consumer<ChangeBatch> change) {
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            ChangeBatch batch = new ChangeBatch();
+            change.accept(batch);
+            batch.afterCommit();
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof ChangeBatch batch && batch.owner() == this) {
+                change.accept(batch);
+                return;
+            }
+        }
+        ChangeBatch batch = new ChangeBatch();
+        change.accept(batch);
+        TransactionSynchronizationManager.registerSynchronization(batch);
+    }
+
+    // Everything one transaction changed. Days go first, so a view patching rows already sees the new
+    // markers; a rolled back transaction is never delivered.
+    private final class ChangeBatch implements TransactionSynchronization {
+
+        private final List<TodoChange> todos = new ArrayList<>();
+        private final Map<LocalDate, DayStatus> days = new HashMap<>();
+        private final Map<Long, Set<Long>> tags = new HashMap<>();
+        private boolean allDays;
+
+        private TodoService owner() {
+            return TodoService.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            Map<LocalDate, DayStatus> committedDays = Map.copyOf(days);
+            List<TodoChange> committedTodos = List.copyOf(todos);
+            Map<Long, Set<Long>> committedTags = Map.copyOf(tags);
+            for (TodoChangeListener listener : changeListeners) {
+                if (allDays) {
+                    listener.allDaysChanged();
+                } else if (!committedDays.isEmpty()) {
+                    listener.daysChanged(committedDays);
+                }
+                if (!committedTags.isEmpty()) {
+                    listener.tagsChanged(committedTags);
+                }
+                if (!committedTodos.isEmpty()) {
+                    listener.todosChanged(committedTodos);
+                }
+            }
+        }
+    }
+
+    private static void addDelta(Map<LocalDate, int[]> deltas, LocalDate date, int total, int done) {
+        int[] delta = deltas.computeIfAbsent(date, d -> new int[2]);
+        delta[0] += total;
+        delta[1] += done;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // In-memory indexes must only see committed changes; without a transaction there is nothing to wait for.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(items.subList(from, Math.min(items.size(), from + BULK_CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private static int toInt(Long count) {
+        return count == null ? 0 : Math.toIntExact(count);
     }
 
     private void validate(Todo todo) {
@@ -92,4 +1184,14 @@ public class TodoService {
             throw new ConstraintViolationException(violations);
         }
     }
+
+    private void validateAll(List<Todo> todos) {
+        Set<ConstraintViolation<Todo>> violations = new HashSet<>();
+        for (Todo todo : todos) {
+            violations.addAll(validator.validate(todo));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
 }
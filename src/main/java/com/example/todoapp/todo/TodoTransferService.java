@@ -0,0 +1,330 @@
+package com.example.todoapp.todo;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+// Backup/restore of todos as NDJSON or CSV. Both directions stream row by row, so the heap stays
+// flat no matter how many todos there are. Imported todos get new ids but keep their timestamps.
+@Service
+public class TodoTransferService {
+
+    private static final int PROGRESS_INTERVAL = 10_000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] CSV_HEADER = {"id", "date", "title", "content", "done", "createdAt", "updatedAt"};
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archiveRepository;
+    private final TodoService todoService;
+    private final EntityManager entityManager;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public TodoTransferService(TodoRepository todoRepository,
+                               ArchivedTodoRepository archiveRepository,
+                               TodoService todoService,
+                               EntityManager entityManager) {
+        this.todoRepository = todoRepository;
+        this.archiveRepository = archiveRepository;
+        this.todoService = todoService;
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(Path file, TodoFileFormat format, LongConsumer progress) throws IOException {
+        // Archived todos follow the live ones; each archived row is detached as soon as it is copied.
+        try (Stream<Todo> todos = Stream.concat(todoRepository.streamAll(), archiveRepository.streamAll().map(archived -> {
+                    entityManager.detach(archived);
+                    return archived.toTodo();
+                }));
+             Writer writer = openWriter(file)) {
+            long count = switch (format) {
+                case NDJSON -> writeNdjson(todos.iterator(), writer, progress);
+                case CSV -> writeCsv(todos.iterator(), writer, progress);
+            };
+            progress.accept(count);
+            return count;
+        }
+    }
+
+    public long importFrom(Path file, TodoFileFormat format, LongConsumer progress) throws IOException {
+        try (Reader reader = openReader(file)) {
+            ImportBatch batch = new ImportBatch(progress);
+            switch (format) {
+                case NDJSON -> readNdjson(reader, batch);
+                case CSV -> readCsv(reader, batch);
+            }
+            return batch.finish();
+        }
+    }
+
+    private long writeNdjson(Iterator<Todo> todos, Writer writer, LongConsumer progress) throws IOException {
+        long count = 0;
+        try (JsonGenerator json = jsonFactory.createGenerator(writer)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+            while (todos.hasNext()) {
+                Todo todo = todos.next();
+                json.writeStartObject();
+                json.writeNumberField("id", todo.getId());
+                json.writeStringField("date", todo.getDate().toString());
+                json.writeStringField("title", todo.getTitle());
+                json.writeStringField("content", todo.getContent());
+                json.writeBooleanField("done", todo.isDone());
+                json.writeStringField("createdAt", todo.getCreatedAt().toString());
+                json.writeStringField("updatedAt", todo.getUpdatedAt().toString());
+                json.writeEndObject();
+                count = written(todo, count, progress);
+            }
+        }
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<Todo> todos, Writer writer, LongConsumer progress) throws IOException {
+        writeCsvRow(writer, CSV_HEADER);
+
+        long count = 0;
+        while (todos.hasNext()) {
+            Todo todo = todos.next();
+            writeCsvRow(writer,
+                    String.valueOf(todo.getId()),
+                    todo.getDate().toString(),
+                    todo.getTitle(),
+                    todo.getContent(),
+                    String.valueOf(todo.isDone()),
+                    todo.getCreatedAt().toString(),
+                    todo.getUpdatedAt().toString());
+            count = written(todo, count, progress);
+        }
+        return count;
+    }
+
+    private long written(Todo todo, long count, LongConsumer progress) {
+        // Keeps the persistence context from growing with the export.
+        entityManager.detach(todo);
+        long next = count + 1;
+        if (next % PROGRESS_INTERVAL == 0) {
+            progress.accept(next);
+        }
+        return next;
+    }
+
+    private void readNdjson(Reader reader, ImportBatch batch) throws IOException {
+        try (JsonParser json = jsonFactory.createParser(reader)) {
+            JsonToken token;
+            while ((token = json.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a JSON object at " + json.currentLocation());
+                }
+
+                LocalDate date = null;
+                String title = null;
+                String content = null;
+                boolean done = false;
+                Instant createdAt = null;
+                Instant updatedAt = null;
+
+                while (json.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = json.currentName();
+                    JsonToken value = json.nextToken();
+                    String text = value == JsonToken.VALUE_NULL ? null : json.getText();
+                    switch (name) {
+                        case "date" -> date = text == null ? null : LocalDate.parse(text);
+                        case "title" -> title = text;
+                        case "content" -> content = text;
+                        case "done" -> done = value == JsonToken.VALUE_TRUE;
+                        case "createdAt" -> createdAt = text == null ? null : Instant.parse(text);
+                        case "updatedAt" -> updatedAt = text == null ? null : Instant.parse(text);
+                        default -> json.skipChildren();
+                    }
+                }
+
+                batch.add(Todo.restored(date, title, content, done, createdAt, updatedAt));
+            }
+        }
+    }
+
+    private void readCsv(Reader reader, ImportBatch batch) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            return;
+        }
+        int dateColumn = requireColumn(header, "date");
+        int titleColumn = requireColumn(header, "title");
+        int contentColumn = requireColumn(header, "content");
+        int doneColumn = requireColumn(header, "done");
+        int createdAtColumn = header.indexOf("createdAt");
+        int updatedAtColumn = header.indexOf("updatedAt");
+
+        List<String> row;
+        while ((row = readCsvRecord(reader)) != null) {
+            if (row.size() == 1 && row.get(0).isEmpty()) {
+                continue;
+            }
+            batch.add(Todo.restored(
+                    LocalDate.parse(row.get(dateColumn)),
+                    row.get(titleColumn),
+                    row.get(contentColumn),
+                    Boolean.parseBoolean(row.get(doneColumn)),
+                    instantAt(row, createdAtColumn),
+                    instantAt(row, updatedAtColumn)));
+        }
+    }
+
+    private static int requireColumn(List<String> header, String name) throws IOException {
+        int index = header.indexOf(name);
+        if (index < 0) {
+            throw new IOException("CSV header is missing column: " + name);
+        }
+        return index;
+    }
+
+    private static Instant instantAt(List<String> row, int column) {
+        if (column < 0 || column >= row.size() || row.get(column).isEmpty()) {
+            return null;
+        }
+        return Instant.parse(row.get(column));
+    }
+
+    // RFC 4180: fields with commas, quotes or line breaks are quoted, quotes are doubled.
+    private static void writeCsvRow(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = fields[i];
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (quote) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static List<String> readCsvRecord(Reader reader) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean afterQuote = false;
+        boolean any = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            if (inQuotes) {
+                if (c == '"') {
+                    inQuotes = false;
+                    afterQuote = true;
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == '"') {
+                // A quote right after a closing quote is an escaped quote inside the field.
+                if (afterQuote) {
+                    field.append('"');
+                }
+                inQuotes = true;
+                afterQuote = false;
+                continue;
+            }
+
+            afterQuote = false;
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!any) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Writer openWriter(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static Reader openReader(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    // Collects parsed rows and hands them to TodoService in commit-sized chunks.
+    private final class ImportBatch {
+
+        private final LongConsumer progress;
+        private final List<Todo> pending = new ArrayList<>(TodoService.BULK_CHUNK_SIZE);
+        private long imported;
+
+        private ImportBatch(LongConsumer progress) {
+            this.progress = progress;
+        }
+
+        private void add(Todo todo) {
+            pending.add(todo);
+            if (pending.size() == TodoService.BULK_CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            todoService.restoreAll(pending);
+            imported += pending.size();
+            pending.clear();
+            progress.accept(imported);
+        }
+
+        private long finish() {
+            flush();
+            return imported;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.todoapp.todo;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Optional write-behind for edits and deletes (todoapp.write-behind.enabled). Changes to the same
+// todo are merged while queued, and everything queued within the debounce window is written in one
+// transaction. If that transaction fails, the changes are retried one by one so only the bad ones
+// are reported. Queued changes are flushed on shutdown.
+@Component
+public class TodoWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoWriteBehind.class);
+
+    public interface Listener {
+
+        void flushed(Set<Long> ids);
+
+        void failed(Long id, Throwable error);
+    }
+
+    private final TodoService todoService;
+    private final Validator validator;
+    private final boolean enabled;
+    private final long debounceNanos;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService scheduler;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Object flushLock = new Object();
+
+    // Guarded by this.
+    private Map<Long, TodoDraft> updates = new LinkedHashMap<>();
+    private Set<Long> deletes = new LinkedHashSet<>();
+    // Days whose reads change once the queue is written: where queued todos are stored and where they go.
+    private Set<LocalDate> dates = new HashSet<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private long firstQueuedAt;
+
+    public TodoWriteBehind(TodoService todoService,
+                           Validator validator,
+                           @Value("${todoapp.write-behind.enabled:false}") boolean enabled,
+                           @Value("${todoapp.write-behind.debounce:300ms}") Duration debounce,
+                           @Value("${todoapp.write-behind.max-delay:2s}") Duration maxDelay) {
+        this.todoService = todoService;
+        this.validator = validator;
+        this.enabled = enabled;
+        this.debounceNanos = debounce.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.scheduler = enabled ? Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "todo-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    // Validates right away, so input errors still surface at the call site.
+    public void update(Long id, TodoDraft draft) {
+        requireEnabled();
+        Set<ConstraintViolation<Todo>> violations = validator.validate(draft.toTodo());
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        Optional<LocalDate> stored = storedDate(id);
+        synchronized (this) {
+            if (deletes.contains(id)) {
+                throw new IllegalArgumentException("Todo not found: " + id);
+            }
+            updates.put(id, draft);
+            stored.ifPresent(dates::add);
+            dates.add(draft.date());
+            schedule();
+        }
+    }
+
+    public void delete(Long id) {
+        requireEnabled();
+        Optional<LocalDate> stored = storedDate(id);
+        synchronized (this) {
+            updates.remove(id);
+            deletes.add(id);
+            stored.ifPresent(dates::add);
+            schedule();
+        }
+    }
+
+    public synchronized boolean hasPending() {
+        return !updates.isEmpty() || !deletes.isEmpty();
+    }
+
+    // Whether a read of this todo would differ once the queue is written.
+    public synchronized boolean isPending(Long id) {
+        return updates.containsKey(id) || deletes.contains(id);
+    }
+
+    // Whether a read of any day in [from, to] would differ once the queue is written.
+    public synchronized boolean isPending(LocalDate from, LocalDate to) {
+        for (LocalDate date : dates) {
+            if (!date.isBefore(from) && !date.isAfter(to)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Writes everything queued so far on the calling thread.
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Long, TodoDraft> batchUpdates;
+            Set<Long> batchDeletes;
+            synchronized (this) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                if (updates.isEmpty() && deletes.isEmpty()) {
+                    return;
+                }
+                batchUpdates = updates;
+                batchDeletes = deletes;
+                updates = new LinkedHashMap<>();
+                deletes = new LinkedHashSet<>();
+                dates = new HashSet<>();
+            }
+            write(batchUpdates, batchDeletes);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null) {
+            flush();
+            scheduler.shutdownNow();
+        }
+    }
+
+    // Each change pushes the flush back by the debounce, but never past max-delay after the first one.
+    private void schedule() {
+        long now = System.nanoTime();
+        if (scheduledFlush == null) {
+            firstQueuedAt = now;
+        } else {
+            scheduledFlush.cancel(false);
+        }
+        long delay = Math.min(debounceNanos, Math.max(0, firstQueuedAt + maxDelayNanos - now));
+        scheduledFlush = scheduler.schedule(this::flushQuietly, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("Write-behind flush failed", ex);
+        }
+    }
+
+    private void write(Map<Long, TodoDraft> batchUpdates, Set<Long> batchDeletes) {
+        Set<Long> written = new LinkedHashSet<>();
+        try {
+            todoService.applyWrites(batchUpdates, batchDeletes);
+            written.addAll(batchUpdates.keySet());
+            written.addAll(batchDeletes);
+        } catch (RuntimeException groupFailure) {
+            log.warn("Grouped write of {} changes failed, retrying one by one",
+                    batchUpdates.size() + batchDeletes.size(), groupFailure);
+            for (Map.Entry<Long, TodoDraft> update : batchUpdates.entrySet()) {
+                writeOne(update.getKey(), Map.of(update.getKey(), update.getValue()), Set.of(), written);
+            }
+            for (Long id : batchDeletes) {
+                writeOne(id, Map.of(), Set.of(id), written);
+            }
+        }
+
+        if (!written.isEmpty()) {
+            Set<Long> ids = Set.copyOf(written);
+            listeners.forEach(listener -> listener.flushed(ids));
+        }
+    }
+
+    private void writeOne(Long id, Map<Long, TodoDraft> update, Set<Long> delete, Set<Long> written) {
+        try {
+            todoService.applyWrites(update, delete);
+            written.add(id);
+        } catch (RuntimeException ex) {
+            listeners.forEach(listener -> listener.failed(id, ex));
+        }
+    }
+
+    // Still the committed date while a todo is queued, since nothing is written before the flush.
+    private Optional<LocalDate> storedDate(Long id) {
+        return todoService.getById(id).map(Todo::getDate);
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind is disabled (todoapp.write-behind.enabled)");
+        }
+    }
+}
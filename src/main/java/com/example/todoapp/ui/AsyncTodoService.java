@@ -0,0 +1,354 @@
+package com.example.todoapp.ui;
+
+import com.example.todoapp.todo.DayStatus;
+import com.example.todoapp.todo.DayStatusRange;
+import com.example.todoapp.todo.RecurrenceRule;
+import com.example.todoapp.todo.Tag;
+import com.example.todoapp.todo.TagFilter;
+import com.example.todoapp.todo.Todo;
+import com.example.todoapp.todo.TodoChange;
+import com.example.todoapp.todo.TodoChangeListener;
+import com.example.todoapp.todo.TodoDraft;
+import com.example.todoapp.todo.TodoPage;
+import com.example.todoapp.todo.TodoService;
+import com.example.todoapp.todo.TodoWriteBehind;
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+public class AsyncTodoService implements AutoCloseable {
+
+    // The shown month, its neighbours and some history.
+    private static final int MONTH_CACHE_SIZE = 12;
+
+    private final CompletableFuture<TodoService> todoService;
+    private final CompletableFuture<TodoWriteBehind> writeBehind;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final MonthStatusCache monthStatuses = new MonthStatusCache(MONTH_CACHE_SIZE, month -> {
+        TagFilter filter = tagFilter;
+        return read(queue -> queue.isPending(month.atDay(1), month.atEndOfMonth()),
+                service -> service.getMonthDayStatuses(month, filter));
+    });
+    private final List<TodoChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // What the views show; set on the FX thread and captured when a read is submitted.
+    private volatile TagFilter tagFilter = TagFilter.NONE;
+
+    public AsyncTodoService(TodoService todoService) {
+        this(CompletableFuture.completedFuture(todoService), CompletableFuture.completedFuture(null));
+    }
+
+    // Calls made before the service is available wait for it, so views can be shown while Spring boots.
+    public AsyncTodoService(CompletableFuture<TodoService> todoService, CompletableFuture<TodoWriteBehind> writeBehind) {
+        this.todoService = todoService;
+        this.writeBehind = writeBehind;
+        todoService.thenAccept(service -> service.addChangeListener(new TodoChangeListener() {
+            @Override
+            public void todosChanged(List<TodoChange> changes) {
+                Platform.runLater(() -> listeners.forEach(listener -> listener.todosChanged(changes)));
+            }
+
+            @Override
+            public void daysChanged(Map<LocalDate, DayStatus> statuses) {
+                TagFilter filter = tagFilter;
+                if (!filter.isEmpty()) {
+                    patchFiltered(statuses.keySet(), filter);
+                    return;
+                }
+                Platform.runLater(() -> {
+                    monthStatuses.patch(statuses);
+                    listeners.forEach(listener -> listener.daysChanged(statuses));
+                });
+            }
+
+            // Which days are affected is not known, but only a filtered view shows tags at all.
+            @Override
+            public void tagsChanged(Map<Long, Set<Long>> tagIdsByTodo) {
+                if (!tagFilter.isEmpty()) {
+                    allDaysChanged();
+                }
+            }
+
+            @Override
+            public void allDaysChanged() {
+                Platform.runLater(() -> {
+                    monthStatuses.invalidateAll();
+                    listeners.forEach(TodoChangeListener::allDaysChanged);
+                });
+            }
+        }));
+    }
+
+    // How long a cached month is served before it is read again; null keeps it until evicted. Call on the
+    // FX thread.
+    public void setMonthCacheTtl(Duration ttl) {
+        monthStatuses.setMaxAge(ttl);
+    }
+
+    // Hears about committed changes on the FX thread, after the month cache has been patched. Under a
+    // tag filter, days come with their filtered status, and a change of tags reads as allDaysChanged.
+    public void addChangeListener(TodoChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public TagFilter getTagFilter() {
+        return tagFilter;
+    }
+
+    // Cached months were counted under the old filter; the views reload what they show.
+    public void setTagFilter(TagFilter filter) {
+        tagFilter = filter;
+        monthStatuses.invalidateAll();
+    }
+
+    // The committed statuses count every todo; under a filter the changed days are counted again, in
+    // memory (see TagIndex), and dropped if the filter changed in the meantime.
+    private void patchFiltered(Set<LocalDate> days, TagFilter filter) {
+        LocalDate from = days.stream().min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = days.stream().max(LocalDate::compareTo).orElseThrow();
+        getDayStatuses(from, to, filter).whenComplete((range, ex) -> {
+            if (filter != tagFilter) {
+                return;
+            }
+            if (ex != null) {
+                monthStatuses.invalidateAll();
+                listeners.forEach(TodoChangeListener::allDaysChanged);
+                return;
+            }
+            Map<LocalDate, DayStatus> filtered = new HashMap<>();
+            days.forEach(day -> filtered.put(day, range.getStatus(day)));
+            monthStatuses.patch(filtered);
+            listeners.forEach(listener -> listener.daysChanged(filtered));
+        });
+    }
+
+    public CompletableFuture<List<Todo>> getTodosForDate(LocalDate date) {
+        return read(queue -> queue.isPending(date, date), service -> service.getTodosForDate(date));
+    }
+
+    public CompletableFuture<Optional<Todo>> getById(Long id) {
+        return read(queue -> queue.isPending(id), service -> service.getById(id));
+    }
+
+    public CompletableFuture<TodoPage> getTodoPage(LocalDate date, TodoPage.Key after, int size) {
+        TagFilter filter = tagFilter;
+        return read(queue -> queue.isPending(date, date),
+                service -> service.getTodoPage(date, after, size, filter));
+    }
+
+    public CompletableFuture<Integer> countTodosForDate(LocalDate date) {
+        TagFilter filter = tagFilter;
+        return read(queue -> queue.isPending(date, date),
+                service -> service.countTodosForDate(date, filter));
+    }
+
+    // Served from the month cache when possible; call on the FX thread.
+    public CompletableFuture<Map<LocalDate, DayStatus>> getMonthDayStatuses(YearMonth month) {
+        return monthStatuses.get(month);
+    }
+
+    // Loads months into the cache in the background, e.g. the neighbours of the one just shown.
+    public void prefetchMonthDayStatuses(YearMonth... months) {
+        for (YearMonth month : months) {
+            monthStatuses.prefetch(month);
+        }
+    }
+
+    public CompletableFuture<DayStatusRange> getDayStatuses(LocalDate from, LocalDate to) {
+        return getDayStatuses(from, to, tagFilter);
+    }
+
+    private CompletableFuture<DayStatusRange> getDayStatuses(LocalDate from, LocalDate to, TagFilter filter) {
+        return read(queue -> queue.isPending(from, to), service -> service.getDayStatuses(from, to, filter));
+    }
+
+    public CompletableFuture<List<Todo>> search(String query, int limit) {
+        return read(TodoWriteBehind::hasPending, service -> service.search(query, limit));
+    }
+
+    public CompletableFuture<Todo> create(LocalDate date, String title, String content, boolean done) {
+        return submit(service -> service.create(date, title, content, done));
+    }
+
+    public CompletableFuture<Todo> update(Long id, LocalDate date, String title, String content, boolean done) {
+        return submit(service -> service.update(id, date, title, content, done));
+    }
+
+    public CompletableFuture<Void> delete(Long id) {
+        return submit(service -> {
+            service.delete(id);
+            return null;
+        });
+    }
+
+    public CompletableFuture<List<Tag>> listTags() {
+        return submit(TodoService::listTags);
+    }
+
+    public CompletableFuture<List<Tag>> getTags(Long todoId) {
+        return submit(service -> service.getTags(todoId));
+    }
+
+    public CompletableFuture<List<Tag>> setTags(Long todoId, Collection<String> names) {
+        return submit(service -> service.setTags(todoId, names));
+    }
+
+    public CompletableFuture<Optional<Todo>> getOccurrence(Long occurrenceId, LocalDate date) {
+        return submit(service -> service.getOccurrence(occurrenceId, date));
+    }
+
+    public CompletableFuture<RecurrenceRule> createRecurrence(LocalDate start, String title, String content,
+                                                              RecurrenceRule.Frequency frequency, int interval) {
+        return submit(service -> service.createRecurrence(start, title, content, frequency, interval));
+    }
+
+    // Occurrences are always written directly: the todo they turn into needs an id right away.
+    public CompletableFuture<Todo> saveOccurrence(Long occurrenceId, LocalDate occurrenceDate, TodoDraft edit) {
+        return submit(service -> service.saveOccurrence(occurrenceId, occurrenceDate, edit));
+    }
+
+    public CompletableFuture<Void> skipOccurrence(Long occurrenceId, LocalDate date) {
+        return submit(service -> {
+            service.skipOccurrence(occurrenceId, date);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> endRecurrence(Long occurrenceId, LocalDate from) {
+        return submit(service -> {
+            service.endRecurrence(occurrenceId, from);
+            return null;
+        });
+    }
+
+    // Completes with true once the change is queued for write-behind, or with false once it has been
+    // written directly because write-behind is off. A direct write is merged against base, the state
+    // the edit started from (see TodoService.update(Long, TodoDraft, TodoDraft)); the queue writes as is.
+    public CompletableFuture<Boolean> updateLater(Long id, TodoDraft base, TodoDraft edit) {
+        return submit(service -> {
+            TodoWriteBehind queue = enabledWriteBehind();
+            if (queue == null) {
+                if (base == null) {
+                    service.update(id, edit.date(), edit.title(), edit.content(), edit.done());
+                } else {
+                    service.update(id, base, edit);
+                }
+                return false;
+            }
+            queue.update(id, edit);
+            return true;
+        });
+    }
+
+    public CompletableFuture<Boolean> deleteLater(Long id) {
+        return submit(service -> {
+            TodoWriteBehind queue = enabledWriteBehind();
+            if (queue == null) {
+                service.delete(id);
+                return false;
+            }
+            queue.delete(id);
+            return true;
+        });
+    }
+
+    // Flush results and late errors are delivered on the FX thread.
+    public void setWriteListener(TodoWriteBehind.Listener listener) {
+        writeBehind.thenAccept(queue -> {
+            if (queue == null) {
+                return;
+            }
+            queue.addListener(new TodoWriteBehind.Listener() {
+                @Override
+                public void flushed(Set<Long> ids) {
+                    Platform.runLater(() -> listener.flushed(ids));
+                }
+
+                @Override
+                public void failed(Long id, Throwable error) {
+                    Platform.runLater(() -> listener.failed(id, error));
+                }
+            });
+        });
+    }
+
+    // Blocks until queued writes are stored; for shutdown.
+    public void flushWrites() {
+        TodoWriteBehind queue = writeBehind.isDone() && !writeBehind.isCompletedExceptionally()
+                ? writeBehind.join() : null;
+        if (queue != null && queue.isEnabled()) {
+            queue.flush();
+        }
+    }
+
+    // Reads see queued writes: when the queue holds a change the read would see, everything queued is
+    // flushed first, together in one transaction. Other reads leave the queue to its debounce.
+    // Tags and occurrences are always written directly.
+    private <T> CompletableFuture<T> read(Predicate<TodoWriteBehind> sees, ServiceCall<T> task) {
+        return submit(service -> {
+            TodoWriteBehind queue = enabledWriteBehind();
+            if (queue != null && sees.test(queue)) {
+                queue.flush();
+            }
+            return task.call(service);
+        });
+    }
+
+    private TodoWriteBehind enabledWriteBehind() {
+        TodoWriteBehind queue = writeBehind.join();
+        return queue != null && queue.isEnabled() ? queue : null;
+    }
+
+    // Futures complete on the FX thread. Cancelling drops the result (or skips a task that has not
+    // started yet) but never interrupts the worker: an interrupt during H2 file I/O closes the channel.
+    <T> CompletableFuture<T> submit(ServiceCall<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        todoService.whenComplete((service, unavailable) -> executor.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                if (unavailable != null) {
+                    throw unavailable;
+                }
+                T value = task.call(service);
+                Platform.runLater(() -> result.complete(value));
+            } catch (Throwable ex) {
+                Platform.runLater(() -> result.completeExceptionally(ex));
+            }
+        }));
+        return result;
+    }
+
+    static Throwable unwrap(Throwable ex) {
+        if (ex instanceof CompletionException && ex.getCause() != null) {
+            return ex.getCause();
+        }
+        return ex;
+    }
+
+    @FunctionalInterface
+    interface ServiceCall<T> {
+        T call(TodoService service) throws Exception;
+    }
+
+    @Override
+    public void close() {
+        // Waits for in-flight saves so nothing is lost when the context closes afterwards.
+        executor.close();
+    }
+}
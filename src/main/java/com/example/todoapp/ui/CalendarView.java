@@ -0,0 +1,32 @@
+package com.example.todoapp.ui;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.scene.Node;
+
+import java.time.LocalDate;
+
+// What MainView needs from a month calendar. Pick the renderer with -Dtodoapp.calendar.renderer=canvas;
+// the default is the node-per-day MonthCalendarView.
+public interface CalendarView {
+
+    Node getRoot();
+
+    ObjectProperty<LocalDate> selectedDateProperty();
+
+    default LocalDate getSelectedDate() {
+        return selectedDateProperty().get();
+    }
+
+    default void setSelectedDate(LocalDate date) {
+        selectedDateProperty().set(date);
+    }
+
+    void refresh();
+
+    static CalendarView create(AsyncTodoService todoService) {
+        if ("canvas".equalsIgnoreCase(System.getProperty("todoapp.calendar.renderer"))) {
+            return new CanvasMonthCalendarView(todoService);
+        }
+        return new MonthCalendarView(todoService);
+    }
+}
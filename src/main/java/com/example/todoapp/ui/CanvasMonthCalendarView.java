@@ -0,0 +1,354 @@
+package com.example.todoapp.ui;
+
+import com.example.todoapp.todo.DayStatus;
+import com.example.todoapp.todo.TodoChangeListener;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.geometry.VPos;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Same calendar as MonthCalendarView, drawn onto one Canvas instead of a StackPane/Button/Circle
+// per day. Clicks and keys are hit-tested here; a selection or status change repaints only the
+// affected cells, a month change repaints the grid.
+public class CanvasMonthCalendarView implements CalendarView {
+
+    private static final DateTimeFormatter MONTH_LABEL_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String[] DAY_OF_WEEK_LABELS = {"월", "화", "수", "목", "금", "토", "일"};
+
+    private static final int WEEKS = 6;
+    private static final double CELL_WIDTH = 46;
+    private static final double CELL_HEIGHT = 42;
+    private static final double HEADER_HEIGHT = 24;
+    private static final double GAP = 6;
+    private static final double MARKER_RADIUS = 4;
+
+    private static final Color CELL_FILL = Color.web("#f4f4f4");
+    private static final Color CELL_BORDER = Color.web("#c8c8c8");
+    private static final Color SELECTED_BORDER = Color.web("#039ed3");
+    private static final Font DAY_FONT = Font.font(13);
+
+    private final AsyncTodoService todoService;
+
+    private final VBox root;
+    private final Label monthLabel;
+    private final ProgressIndicator loadingIndicator;
+    private final Canvas canvas;
+
+    private final ObjectProperty<YearMonth> displayedMonth = new SimpleObjectProperty<>(YearMonth.now());
+    private final ObjectProperty<LocalDate> selectedDate = new SimpleObjectProperty<>(LocalDate.now());
+
+    // What is currently painted in each of the 42 cells.
+    private final LocalDate[] cellDates = new LocalDate[WEEKS * 7];
+    private final DayStatus[] cellStatuses = new DayStatus[WEEKS * 7];
+    private int selectedIndex = -1;
+
+    private YearMonth boundMonth;
+    private Map<LocalDate, DayStatus> cachedStatuses = Map.of();
+
+    private CompletableFuture<Map<LocalDate, DayStatus>> pendingStatusLoad;
+
+    public CanvasMonthCalendarView(AsyncTodoService todoService) {
+        this.todoService = todoService;
+
+        Button prevButton = new Button("<");
+        Button nextButton = new Button(">");
+        monthLabel = new Label();
+        monthLabel.setMaxWidth(Double.MAX_VALUE);
+        monthLabel.setAlignment(Pos.CENTER);
+
+        Region spacerLeft = new Region();
+        Region spacerRight = new Region();
+        HBox.setHgrow(spacerLeft, Priority.ALWAYS);
+        HBox.setHgrow(spacerRight, Priority.ALWAYS);
+
+        loadingIndicator = new ProgressIndicator();
+        loadingIndicator.setPrefSize(16, 16);
+        loadingIndicator.setVisible(false);
+
+        HBox header = new HBox(8, prevButton, spacerLeft, monthLabel, loadingIndicator, spacerRight, nextButton);
+        header.setAlignment(Pos.CENTER);
+
+        canvas = new Canvas(7 * CELL_WIDTH + 6 * GAP, HEADER_HEIGHT + WEEKS * (CELL_HEIGHT + GAP));
+        canvas.setFocusTraversable(true);
+        canvas.addEventHandler(MouseEvent.MOUSE_CLICKED, this::onClick);
+        canvas.addEventHandler(KeyEvent.KEY_PRESSED, this::onKey);
+        canvas.focusedProperty().addListener((obs, oldVal, newVal) -> repaintCell(selectedIndex));
+
+        root = new VBox(10, header, canvas);
+        root.setPadding(new Insets(10));
+
+        prevButton.setOnAction(e -> displayedMonth.set(displayedMonth.get().minusMonths(1)));
+        nextButton.setOnAction(e -> displayedMonth.set(displayedMonth.get().plusMonths(1)));
+
+        displayedMonth.addListener((obs, oldVal, newVal) -> refresh());
+
+        selectedDate.addListener((obs, oldVal, newVal) -> {
+            if (newVal != null) {
+                YearMonth ym = YearMonth.from(newVal);
+                if (!ym.equals(displayedMonth.get())) {
+                    displayedMonth.set(ym);
+                } else {
+                    updateSelection();
+                }
+            }
+        });
+
+        todoService.addChangeListener(new TodoChangeListener() {
+            @Override
+            public void daysChanged(Map<LocalDate, DayStatus> statuses) {
+                patchStatuses(statuses);
+            }
+
+            @Override
+            public void allDaysChanged() {
+                refresh();
+            }
+        });
+
+        refresh();
+    }
+
+    @Override
+    public Node getRoot() {
+        return root;
+    }
+
+    @Override
+    public ObjectProperty<LocalDate> selectedDateProperty() {
+        return selectedDate;
+    }
+
+    @Override
+    public void refresh() {
+        if (pendingStatusLoad != null) {
+            pendingStatusLoad.cancel(false);
+        }
+
+        YearMonth month = displayedMonth.get();
+        if (!month.equals(boundMonth)) {
+            bindMonth(month);
+        }
+        updateSelection();
+        loadingIndicator.setVisible(true);
+
+        CompletableFuture<Map<LocalDate, DayStatus>> load = todoService.getMonthDayStatuses(month);
+        pendingStatusLoad = load;
+        load.whenComplete((statuses, ex) -> {
+            if (load.isCancelled()) {
+                return;
+            }
+            pendingStatusLoad = null;
+            loadingIndicator.setVisible(false);
+            if (ex == null) {
+                cachedStatuses = statuses;
+                updateMarkers();
+            }
+            // The next click then renders from the cache.
+            todoService.prefetchMonthDayStatuses(month.minusMonths(1), month.plusMonths(1));
+        });
+    }
+
+    // A commit reports the new status of the days it changed; only those markers are redrawn.
+    private void patchStatuses(Map<LocalDate, DayStatus> statuses) {
+        if (statuses.keySet().stream().noneMatch(day -> YearMonth.from(day).equals(boundMonth))) {
+            return;
+        }
+        if (pendingStatusLoad != null) {
+            // The load may have read the counts from before the commit.
+            refresh();
+            return;
+        }
+        Map<LocalDate, DayStatus> patched = new HashMap<>(cachedStatuses);
+        patched.putAll(statuses);
+        cachedStatuses = patched;
+        updateMarkers();
+    }
+
+    private void bindMonth(YearMonth month) {
+        boundMonth = month;
+        monthLabel.setText(month.format(MONTH_LABEL_FORMAT));
+
+        int offset = offsetOf(month);
+        int daysInMonth = month.lengthOfMonth();
+        for (int index = 0; index < cellDates.length; index++) {
+            int day = index - offset + 1;
+            cellDates[index] = day >= 1 && day <= daysInMonth ? month.atDay(day) : null;
+            cellStatuses[index] = DayStatus.NONE;
+        }
+        selectedIndex = -1;
+        paintAll();
+    }
+
+    private void updateSelection() {
+        int next = indexOf(selectedDate.get());
+        if (next == selectedIndex) {
+            return;
+        }
+        int previous = selectedIndex;
+        selectedIndex = next;
+        repaintCell(previous);
+        repaintCell(next);
+    }
+
+    private void updateMarkers() {
+        for (int index = 0; index < cellDates.length; index++) {
+            if (cellDates[index] == null) {
+                continue;
+            }
+            DayStatus status = cachedStatuses.getOrDefault(cellDates[index], DayStatus.NONE);
+            if (status != cellStatuses[index]) {
+                cellStatuses[index] = status;
+                repaintCell(index);
+            }
+        }
+    }
+
+    private void onClick(MouseEvent event) {
+        canvas.requestFocus();
+        int index = hitTest(event.getX(), event.getY());
+        if (index >= 0 && cellDates[index] != null) {
+            selectedDate.set(cellDates[index]);
+        }
+    }
+
+    // Arrow keys move by a day or a week, Page Up/Down by a month, Home/End to the ends of the month.
+    private void onKey(KeyEvent event) {
+        LocalDate current = selectedDate.get();
+        if (current == null) {
+            return;
+        }
+        LocalDate next = switch (event.getCode()) {
+            case LEFT -> current.minusDays(1);
+            case RIGHT -> current.plusDays(1);
+            case UP -> current.minusWeeks(1);
+            case DOWN -> current.plusWeeks(1);
+            case PAGE_UP -> current.minusMonths(1);
+            case PAGE_DOWN -> current.plusMonths(1);
+            case HOME -> current.withDayOfMonth(1);
+            case END -> YearMonth.from(current).atEndOfMonth();
+            default -> null;
+        };
+        if (next != null) {
+            selectedDate.set(next);
+            event.consume();
+        }
+    }
+
+    private int hitTest(double x, double y) {
+        if (y < HEADER_HEIGHT) {
+            return -1;
+        }
+        int col = (int) (x / (CELL_WIDTH + GAP));
+        int row = (int) ((y - HEADER_HEIGHT) / (CELL_HEIGHT + GAP));
+        if (col < 0 || col >= 7 || row < 0 || row >= WEEKS) {
+            return -1;
+        }
+        // Clicks in the gap between cells do not count.
+        double inCellX = x - col * (CELL_WIDTH + GAP);
+        double inCellY = y - HEADER_HEIGHT - row * (CELL_HEIGHT + GAP);
+        if (inCellX > CELL_WIDTH || inCellY > CELL_HEIGHT) {
+            return -1;
+        }
+        return row * 7 + col;
+    }
+
+    private int indexOf(LocalDate date) {
+        if (date == null || boundMonth == null || !YearMonth.from(date).equals(boundMonth)) {
+            return -1;
+        }
+        return offsetOf(boundMonth) + date.getDayOfMonth() - 1;
+    }
+
+    private static int offsetOf(YearMonth month) {
+        return month.atDay(1).getDayOfWeek().getValue() - 1; // Monday=0
+    }
+
+    private void paintAll() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        g.setFill(Color.BLACK);
+        g.setFont(DAY_FONT);
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        for (int col = 0; col < 7; col++) {
+            g.fillText(DAY_OF_WEEK_LABELS[col], col * (CELL_WIDTH + GAP) + CELL_WIDTH / 2, HEADER_HEIGHT / 2);
+        }
+
+        for (int index = 0; index < cellDates.length; index++) {
+            repaintCell(index);
+        }
+    }
+
+    // Clears and redraws one cell, including the room its selection border takes.
+    private void repaintCell(int index) {
+        if (index < 0) {
+            return;
+        }
+        double x = (index % 7) * (CELL_WIDTH + GAP);
+        double y = HEADER_HEIGHT + (index / 7) * (CELL_HEIGHT + GAP);
+
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.clearRect(x, y, CELL_WIDTH, CELL_HEIGHT);
+
+        LocalDate date = cellDates[index];
+        if (date == null) {
+            return;
+        }
+
+        g.setFill(CELL_FILL);
+        g.fillRoundRect(x, y, CELL_WIDTH, CELL_HEIGHT, 6, 6);
+
+        boolean selected = index == selectedIndex;
+        g.setStroke(selected ? SELECTED_BORDER : CELL_BORDER);
+        g.setLineWidth(selected ? 2 : 1);
+        if (selected && canvas.isFocused()) {
+            g.setLineDashes(4, 2);
+        } else {
+            g.setLineDashes();
+        }
+        g.strokeRoundRect(x + 1, y + 1, CELL_WIDTH - 2, CELL_HEIGHT - 2, 6, 6);
+        g.setLineDashes();
+
+        g.setFill(Color.BLACK);
+        g.setFont(DAY_FONT);
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        g.fillText(String.valueOf(date.getDayOfMonth()), x + CELL_WIDTH / 2, y + CELL_HEIGHT / 2);
+
+        Color marker = switch (cellStatuses[index]) {
+            case INCOMPLETE -> Color.ORANGE;
+            case ALL_DONE -> Color.GREEN;
+            case NONE -> null;
+        };
+        if (marker != null) {
+            double cx = x + CELL_WIDTH - 4 - MARKER_RADIUS;
+            double cy = y + CELL_HEIGHT - 4 - MARKER_RADIUS;
+            g.setFill(marker);
+            g.fillOval(cx - MARKER_RADIUS, cy - MARKER_RADIUS, MARKER_RADIUS * 2, MARKER_RADIUS * 2);
+        }
+    }
+}
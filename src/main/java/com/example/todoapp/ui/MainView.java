@@ -1,68 +1,141 @@
 package com.example.todoapp.ui;
 
+import com.example.todoapp.todo.DayStatus;
+import com.example.todoapp.todo.Recurrence;
+import com.example.todoapp.todo.RecurrenceRule;
+import com.example.todoapp.todo.Tag;
+import com.example.todoapp.todo.TagFilter;
 import com.example.todoapp.todo.Todo;
-import com.example.todoapp.todo.TodoService;
+import com.example.todoapp.todo.TodoChange;
+import com.example.todoapp.todo.TodoChangeListener;
+import com.example.todoapp.todo.TodoConflictException;
+import com.example.todoapp.todo.TodoDraft;
+import com.example.todoapp.todo.TodoListItem;
+import com.example.todoapp.todo.TodoWriteBehind;
 import jakarta.validation.ConstraintViolationException;
+import javafx.animation.PauseTransition;
 import javafx.collections.FXCollections;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
 import javafx.scene.control.Separator;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
+import javafx.util.Duration;
 
 import java.time.LocalDate;
+import java.time.Year;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public class MainView {
 
-    private final TodoService todoService;
+    private static final int SEARCH_RESULT_LIMIT = 50;
+    // Index 0 is a plain todo; the rest follow RecurrenceRule.Frequency.
+    private static final List<String> REPEAT_LABELS = List.of("반복 안 함", "매일", "매주", "매월");
+    // Index 1 shows only todos with every selected tag.
+    private static final List<String> TAG_MATCH_LABELS = List.of("하나라도", "모두");
+
+    private final AsyncTodoService todoService;
 
     private final BorderPane root;
 
-    private final MonthCalendarView calendarView;
+    private final CalendarView calendarView;
+    private final YearHeatmapView yearView;
+    private final TabPane calendarTabs;
+    private final Tab monthTab;
+    private final Tab yearTab;
+
+    private final ListView<TodoListItem> todoListView;
+
+    private final TextField searchField;
+    private final ListView<Todo> searchResultsView;
+    private final PauseTransition searchDebounce;
 
-    private final ListView<Todo> todoListView;
+    private final FlowPane tagFilterPane;
+    private final ChoiceBox<String> tagMatchChoice;
 
     private final TextField titleField;
     private final TextArea contentArea;
+    private final TextField tagsField;
     private final CheckBox doneCheck;
+    private final ChoiceBox<String> repeatChoice;
+    private final Button endRepeatButton;
     private final Button saveButton;
     private final Button newButton;
     private final Button deleteButton;
     private final Label messageLabel;
+    private final Label emptyPlaceholder;
+    private final Label loadingPlaceholder;
 
     private Long editingTodoId;
+    // The stored state the editor started from; saves are merged against it.
+    private TodoDraft editingBase;
+    // The editor's tags as stored, joined like tagNames does; tags are only written when they differ.
+    private String editingTags = "";
 
-    public MainView(TodoService todoService) {
+    private Runnable onFirstData;
+
+    private PagedTodoList dayList;
+    private CompletableFuture<List<Todo>> pendingSearch;
+    private CompletableFuture<Optional<Todo>> pendingEdit;
+
+    public MainView(AsyncTodoService todoService) {
         this.todoService = todoService;
 
-        calendarView = new MonthCalendarView(todoService);
+        calendarView = CalendarView.create(todoService);
+        yearView = new YearHeatmapView(todoService);
+
+        monthTab = new Tab("월", calendarView.getRoot());
+        yearTab = new Tab("연간", yearView.getRoot());
+        calendarTabs = new TabPane(monthTab, yearTab);
+        calendarTabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+
+        emptyPlaceholder = new Label("ToDo가 없습니다.");
+        loadingPlaceholder = new Label("불러오는 중...");
 
         todoListView = new ListView<>();
+        todoListView.setPlaceholder(emptyPlaceholder);
         todoListView.setCellFactory(list -> new ListCell<>() {
             @Override
-            protected void updateItem(Todo item, boolean empty) {
+            protected void updateItem(TodoListItem item, boolean empty) {
                 super.updateItem(item, empty);
-                if (empty || item == null) {
+                if (empty) {
                     setText(null);
                     setTextFill(Color.BLACK);
                     return;
                 }
+                if (item == null) {
+                    // The row's page is still loading.
+                    setText("...");
+                    setTextFill(Color.GRAY);
+                    return;
+                }
 
-                setText(item.getTitle());
-                if (item.isDone()) {
+                setText(item.title());
+                if (item.done()) {
                     setTextFill(Color.LIGHTGRAY);
                 } else {
                     setTextFill(Color.BLACK);
@@ -70,11 +143,47 @@ public class MainView {
             }
         });
 
+        searchField = new TextField();
+        searchField.setPromptText("검색 (제목/내용)");
+
+        searchResultsView = new ListView<>();
+        searchResultsView.setPrefHeight(160);
+        searchResultsView.setPlaceholder(new Label("검색 결과가 없습니다."));
+        searchResultsView.setVisible(false);
+        searchResultsView.setManaged(false);
+        searchResultsView.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(Todo item, boolean empty) {
+                super.updateItem(item, empty);
+                if (empty || item == null) {
+                    setText(null);
+                    setTextFill(Color.BLACK);
+                    return;
+                }
+
+                setText(item.getDate() + "  " + item.getTitle());
+                setTextFill(item.isDone() ? Color.LIGHTGRAY : Color.BLACK);
+            }
+        });
+
+        searchDebounce = new PauseTransition(Duration.millis(250));
+
+        tagFilterPane = new FlowPane(6, 6);
+        tagMatchChoice = new ChoiceBox<>(FXCollections.observableArrayList(TAG_MATCH_LABELS));
+        tagMatchChoice.getSelectionModel().selectFirst();
+
         titleField = new TextField();
         contentArea = new TextArea();
         contentArea.setWrapText(true);
+        tagsField = new TextField();
+        tagsField.setPromptText("예: 회사, 프로젝트A");
 
         doneCheck = new CheckBox("완료");
+        repeatChoice = new ChoiceBox<>(FXCollections.observableArrayList(REPEAT_LABELS));
+        repeatChoice.getSelectionModel().selectFirst();
+        endRepeatButton = new Button("반복 종료");
+        endRepeatButton.setVisible(false);
+        endRepeatButton.setManaged(false);
 
         saveButton = new Button("Save");
         newButton = new Button("새 ToDo");
@@ -85,36 +194,83 @@ public class MainView {
         Parent rightPane = buildRightPane();
 
         root = new BorderPane();
-        root.setLeft(calendarView.getRoot());
+        root.setLeft(calendarTabs);
         root.setCenter(new Separator(Orientation.VERTICAL));
         root.setRight(rightPane);
 
-        BorderPane.setMargin(calendarView.getRoot(), new Insets(0));
+        BorderPane.setMargin(calendarTabs, new Insets(0));
         BorderPane.setMargin(rightPane, new Insets(0));
 
         wireEvents();
 
+        // Saves and deletes come back as change events; the list and the calendars patch themselves.
+        todoService.addChangeListener(new TodoChangeListener() {
+            @Override
+            public void todosChanged(List<TodoChange> changes) {
+                patchDayList(changes);
+            }
+
+            @Override
+            public void daysChanged(Map<LocalDate, DayStatus> statuses) {
+                if (yearTab.isSelected()) {
+                    yearView.refresh();
+                }
+            }
+
+            // A recurrence rule was added or ended: any day may have gained or lost occurrences.
+            @Override
+            public void allDaysChanged() {
+                refreshForDate(calendarView.getSelectedDate());
+                if (yearTab.isSelected()) {
+                    yearView.refresh();
+                }
+            }
+        });
+
+        todoService.setWriteListener(new TodoWriteBehind.Listener() {
+            @Override
+            public void flushed(Set<Long> ids) {
+            }
+
+            @Override
+            public void failed(Long id, Throwable error) {
+                // Drop the optimistic state of the list.
+                showError(error);
+                refreshForDate(calendarView.getSelectedDate());
+            }
+        });
+
         // Initial load
         refreshForDate(calendarView.getSelectedDate());
+        reloadTags();
     }
 
     public Parent getRoot() {
         return root;
     }
 
+    public void setOnFirstData(Runnable onFirstData) {
+        this.onFirstData = onFirstData;
+    }
+
     private Parent buildRightPane() {
         Label listHeader = new Label("ToDo 목록");
 
-        HBox listHeaderRow = new HBox(10, listHeader, newButton, deleteButton);
+        HBox listHeaderRow = new HBox(10, listHeader, newButton, deleteButton, endRepeatButton);
         listHeaderRow.setAlignment(Pos.CENTER_LEFT);
 
-        VBox listBox = new VBox(8, listHeaderRow, todoListView);
+        HBox tagFilterRow = new HBox(8, new Label("태그"), tagMatchChoice, tagFilterPane);
+        tagFilterRow.setAlignment(Pos.CENTER_LEFT);
+        HBox.setHgrow(tagFilterPane, Priority.ALWAYS);
+
+        VBox listBox = new VBox(8, searchField, tagFilterRow, searchResultsView, listHeaderRow, todoListView);
         VBox.setVgrow(todoListView, Priority.ALWAYS);
 
         Label detailHeader = new Label("상세");
 
         Label titleLabel = new Label("제목 (최대 100자)");
         Label contentLabel = new Label("내용 (최대 200자)");
+        Label tagsLabel = new Label("태그 (쉼표로 구분, 각 30자 이내)");
 
         VBox detailBox = new VBox(8,
                 detailHeader,
@@ -122,7 +278,9 @@ public class MainView {
                 titleField,
                 contentLabel,
                 contentArea,
-                doneCheck,
+                tagsLabel,
+                tagsField,
+                new HBox(10, doneCheck, repeatChoice),
                 saveButton,
                 messageLabel
         );
@@ -147,8 +305,32 @@ public class MainView {
         });
 
         todoListView.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            // Reselecting the todo in the editor, e.g. after its row was patched, keeps the editor as it is.
+            if (newVal != null && !newVal.id().equals(editingTodoId)) {
+                openForEdit(newVal);
+            }
+        });
+
+        // The heatmap is only loaded while its tab is showing.
+        yearTab.selectedProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal) {
+                yearView.show(Year.from(calendarView.getSelectedDate()));
+            }
+        });
+
+        yearView.setOnDateChosen(date -> {
+            calendarView.setSelectedDate(date);
+            calendarTabs.getSelectionModel().select(monthTab);
+        });
+
+        tagMatchChoice.getSelectionModel().selectedIndexProperty().addListener((obs, oldVal, newVal) -> applyTagFilter());
+
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> searchDebounce.playFromStart());
+        searchDebounce.setOnFinished(e -> runSearch(searchField.getText()));
+
+        searchResultsView.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
             if (newVal != null) {
-                loadForEdit(newVal);
+                jumpTo(newVal);
             }
         });
 
@@ -161,11 +343,46 @@ public class MainView {
             if (editingTodoId == null) {
                 return;
             }
-            todoService.delete(editingTodoId);
-            LocalDate selected = calendarView.getSelectedDate();
-            refreshForDate(selected);
-            calendarView.refresh();
-            clearEditor();
+            setEditorBusy(true);
+            if (Recurrence.isOccurrenceId(editingTodoId)) {
+                todoService.skipOccurrence(editingTodoId, calendarView.getSelectedDate()).whenComplete((ignored, ex) -> {
+                    setEditorBusy(false);
+                    if (ex != null) {
+                        showError(AsyncTodoService.unwrap(ex));
+                        return;
+                    }
+                    clearEditor();
+                });
+                return;
+            }
+            todoService.deleteLater(editingTodoId).whenComplete((queued, ex) -> {
+                setEditorBusy(false);
+                if (ex != null) {
+                    showError(AsyncTodoService.unwrap(ex));
+                    return;
+                }
+                clearEditor();
+                if (queued) {
+                    // The row goes once the queue is flushed and the delete committed.
+                    todoListView.getSelectionModel().clearSelection();
+                }
+            });
+        });
+
+        // Ends the series from the shown day on; the days before keep their occurrences.
+        endRepeatButton.setOnAction(e -> {
+            if (!Recurrence.isOccurrenceId(editingTodoId)) {
+                return;
+            }
+            setEditorBusy(true);
+            todoService.endRecurrence(editingTodoId, calendarView.getSelectedDate()).whenComplete((ignored, ex) -> {
+                setEditorBusy(false);
+                if (ex != null) {
+                    showError(AsyncTodoService.unwrap(ex));
+                    return;
+                }
+                clearEditor();
+            });
         });
 
         saveButton.setOnAction(e -> {
@@ -176,67 +393,408 @@ public class MainView {
             String content = contentArea.getText();
             boolean done = doneCheck.isSelected();
 
-            String validationError = validateInputs(title, content);
+            List<String> tags = tagNames(tagsField.getText());
+
+            String validationError = validateInputs(title, content, tags);
             if (validationError != null) {
                 messageLabel.setText(validationError);
                 return;
             }
+            // Decided now: the editor may show another todo by the time the save completes.
+            List<String> changedTags = String.join(", ", tags).equals(editingTags) ? null : tags;
 
-            try {
-                if (editingTodoId == null) {
-                    Todo created = todoService.create(date, title.trim(), content.trim(), done);
-                    loadForEdit(created);
-                } else {
-                    Todo updated = todoService.update(editingTodoId, date, title.trim(), content.trim(), done);
-                    loadForEdit(updated);
+            if (editingTodoId != null) {
+                saveEdit(editingTodoId, date, title.trim(), content.trim(), done, changedTags);
+                return;
+            }
+
+            int repeat = repeatChoice.getSelectionModel().getSelectedIndex();
+            if (repeat > 0) {
+                setEditorBusy(true);
+                RecurrenceRule.Frequency frequency = RecurrenceRule.Frequency.values()[repeat - 1];
+                todoService.createRecurrence(date, title.trim(), content.trim(), frequency, 1).whenComplete((rule, ex) -> {
+                    setEditorBusy(false);
+                    if (ex != null) {
+                        showError(AsyncTodoService.unwrap(ex));
+                        return;
+                    }
+                    clearEditor();
+                });
+                return;
+            }
+
+            setEditorBusy(true);
+            todoService.create(date, title.trim(), content.trim(), done).whenComplete((saved, ex) -> {
+                setEditorBusy(false);
+                if (ex != null) {
+                    showError(AsyncTodoService.unwrap(ex));
+                    return;
+                }
+                loadForEdit(saved);
+                selectEditing();
+                saveTags(saved.getId(), changedTags);
+            });
+        });
+    }
+
+    // With write-behind on, the row changes right away and the calendars catch up after the flush.
+    private void saveEdit(Long id, LocalDate date, String title, String content, boolean done, List<String> changedTags) {
+        TodoDraft edit = new TodoDraft(date, title, content, done);
+        setEditorBusy(true);
+        if (Recurrence.isOccurrenceId(id)) {
+            // The occurrence becomes a todo of its own; its row is swapped by the change event.
+            todoService.saveOccurrence(id, date, edit).whenComplete((saved, ex) -> {
+                setEditorBusy(false);
+                if (ex != null) {
+                    showError(AsyncTodoService.unwrap(ex));
+                    return;
                 }
+                if (id.equals(editingTodoId)) {
+                    loadForEdit(saved);
+                    selectEditing();
+                }
+                saveTags(saved.getId(), changedTags);
+            });
+            return;
+        }
+        todoService.updateLater(id, editingBase, edit).whenComplete((queued, ex) -> {
+            setEditorBusy(false);
+            Throwable error = ex == null ? null : AsyncTodoService.unwrap(ex);
+            if (error instanceof TodoConflictException conflict) {
+                // Keep the user's text; saving again now overwrites the other change on purpose.
+                if (id.equals(editingTodoId)) {
+                    editingBase = TodoDraft.of(conflict.getCurrent());
+                }
+                messageLabel.setText("다른 곳에서 먼저 수정된 항목입니다. 다시 저장하면 지금 내용으로 덮어씁니다.");
+                refreshForDate(calendarView.getSelectedDate());
+                return;
+            }
+            if (error != null) {
+                showError(error);
+                return;
+            }
+            if (id.equals(editingTodoId)) {
+                editingBase = edit;
+            }
+            saveTags(id, changedTags);
+            if (queued) {
+                // Shown right away; the committed change patches the row again after the flush.
+                dayList.replace(id, item -> new TodoListItem(id, title, done, item.createdAt()));
+            }
+        });
+    }
+
+    private void runSearch(String query) {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+            pendingSearch = null;
+        }
+
+        boolean active = query != null && !query.isBlank();
+        searchResultsView.setVisible(active);
+        searchResultsView.setManaged(active);
+        if (!active) {
+            searchResultsView.getItems().clear();
+            return;
+        }
 
-                refreshForDate(date);
-                calendarView.refresh();
-            } catch (ConstraintViolationException ex) {
-                messageLabel.setText("입력값을 확인해주세요 (제목 100자, 내용 200자 이내, 공백 불가)");
-            } catch (RuntimeException ex) {
-                messageLabel.setText(ex.getMessage() == null ? "저장 중 오류" : ex.getMessage());
+        CompletableFuture<List<Todo>> search = todoService.search(query, SEARCH_RESULT_LIMIT);
+        pendingSearch = search;
+        search.whenComplete((hits, ex) -> {
+            if (search.isCancelled()) {
+                return;
+            }
+            pendingSearch = null;
+            if (ex != null) {
+                showError(AsyncTodoService.unwrap(ex));
+                return;
             }
+            searchResultsView.setItems(FXCollections.observableArrayList(hits));
         });
     }
 
+    private void jumpTo(Todo hit) {
+        // A hit is the full todo, so it opens without a read; the day's list selects it once loaded.
+        cancelPendingEdit();
+        loadForEdit(hit);
+        loadTags(hit.getId());
+        messageLabel.setText("");
+        if (!hit.getDate().equals(calendarView.getSelectedDate())) {
+            calendarView.setSelectedDate(hit.getDate());
+        } else if (dayList != null && dayList.indexOfLoaded(hit.getId()) >= 0) {
+            selectEditing();
+        } else {
+            refreshForDate(hit.getDate());
+        }
+    }
+
     private void refreshForDate(LocalDate date) {
-        List<Todo> todos = todoService.getTodosForDate(date);
-        todoListView.setItems(FXCollections.observableArrayList(todos));
+        // Only the latest date matters when the user clicks through the calendar quickly.
+        if (dayList != null) {
+            dayList.close();
+        }
 
-        // Keep selection if possible
-        if (editingTodoId != null) {
-            for (Todo todo : todos) {
-                if (editingTodoId.equals(todo.getId())) {
-                    todoListView.getSelectionModel().select(todo);
-                    break;
-                }
+        todoListView.setPlaceholder(loadingPlaceholder);
+        todoListView.setItems(FXCollections.observableArrayList());
+
+        PagedTodoList list = new PagedTodoList(todoService, date);
+        dayList = list;
+        list.setOnPageLoaded(this::reselectEditing);
+        list.setOnError(this::showError);
+        list.open().whenComplete((firstPage, ex) -> {
+            if (list != dayList) {
+                return;
+            }
+            todoListView.setPlaceholder(emptyPlaceholder);
+            if (ex != null) {
+                showError(AsyncTodoService.unwrap(ex));
+                return;
+            }
+            showTodos(list, firstPage);
+            if (onFirstData != null) {
+                Runnable callback = onFirstData;
+                onFirstData = null;
+                callback.run();
+            }
+        });
+    }
+
+    // Patches the shown day in place; it is only read again when a change cannot be applied to it.
+    private void patchDayList(List<TodoChange> changes) {
+        PagedTodoList list = dayList;
+        if (list == null || todoListView.getItems() != list) {
+            return;
+        }
+        if (!todoService.getTagFilter().isEmpty()) {
+            // Whether a row matches the filter is only known to TagIndex.
+            if (changes.stream().anyMatch(change -> change.touches(list.date()))) {
+                refreshForDate(list.date());
+            }
+            return;
+        }
+        for (TodoChange change : changes) {
+            if (change.touches(list.date()) && !list.patch(change)) {
+                refreshForDate(list.date());
+                return;
             }
         }
+        selectEditing();
+    }
+
+    private void selectEditing() {
+        if (editingTodoId == null || dayList == null || todoListView.getItems() != dayList) {
+            return;
+        }
+        int index = dayList.indexOfLoaded(editingTodoId);
+        if (index >= 0) {
+            todoListView.getSelectionModel().select(index);
+        } else {
+            todoListView.getSelectionModel().clearSelection();
+        }
+    }
+
+    private void showTodos(PagedTodoList list, List<TodoListItem> firstPage) {
+        todoListView.setItems(list);
 
-        if (todos.isEmpty()) {
+        // Keep selection if possible
+        reselectEditing(firstPage, 0);
+
+        if (list.isEmpty()) {
             todoListView.getSelectionModel().clearSelection();
             clearEditor();
         }
     }
 
+    // Selects by index: selecting by item would make the paged list look through every page.
+    private void reselectEditing(List<TodoListItem> page, int firstIndex) {
+        if (editingTodoId == null || todoListView.getItems() != dayList) {
+            return;
+        }
+        for (int i = 0; i < page.size(); i++) {
+            if (editingTodoId.equals(page.get(i).id())) {
+                todoListView.getSelectionModel().select(firstIndex + i);
+                return;
+            }
+        }
+    }
+
+    // The list only holds titles; the full todo is read when it is opened.
+    private void openForEdit(TodoListItem item) {
+        cancelPendingEdit();
+        editingTodoId = item.id();
+        editingBase = null;
+        updateRepeatControls();
+        titleField.setText(item.title());
+        contentArea.clear();
+        showTags(List.of());
+        doneCheck.setSelected(item.done());
+        messageLabel.setText("");
+        setEditorBusy(true);
+
+        CompletableFuture<Optional<Todo>> load = Recurrence.isOccurrenceId(item.id())
+                ? todoService.getOccurrence(item.id(), dayList.date())
+                : todoService.getById(item.id());
+        pendingEdit = load;
+        load.whenComplete((todo, ex) -> {
+            if (load.isCancelled()) {
+                return;
+            }
+            pendingEdit = null;
+            setEditorBusy(false);
+            if (ex != null) {
+                showError(AsyncTodoService.unwrap(ex));
+                return;
+            }
+            todo.ifPresentOrElse(found -> {
+                loadForEdit(found);
+                loadTags(found.getId());
+            }, () -> messageLabel.setText("삭제된 ToDo입니다."));
+        });
+    }
+
+    private void cancelPendingEdit() {
+        if (pendingEdit != null) {
+            pendingEdit.cancel(false);
+            pendingEdit = null;
+            setEditorBusy(false);
+        }
+    }
+
     private void loadForEdit(Todo todo) {
         editingTodoId = todo.getId();
+        editingBase = TodoDraft.of(todo);
+        updateRepeatControls();
         titleField.setText(todo.getTitle());
         contentArea.setText(todo.getContent());
         doneCheck.setSelected(todo.isDone());
     }
 
+    // Occurrences have no tags until they are saved as todos of their own.
+    private void loadTags(Long todoId) {
+        showTags(List.of());
+        if (Recurrence.isOccurrenceId(todoId)) {
+            return;
+        }
+        todoService.getTags(todoId).whenComplete((tags, ex) -> {
+            if (!todoId.equals(editingTodoId)) {
+                return;
+            }
+            if (ex != null) {
+                showError(AsyncTodoService.unwrap(ex));
+                return;
+            }
+            showTags(tags);
+        });
+    }
+
+    private void showTags(List<Tag> tags) {
+        editingTags = String.join(", ", tags.stream().map(Tag::getName).toList());
+        tagsField.setText(editingTags);
+    }
+
+    // Written after the todo itself, so a new todo has its id; null means the tags did not change.
+    private void saveTags(Long todoId, List<String> names) {
+        if (names == null) {
+            return;
+        }
+        todoService.setTags(todoId, names).whenComplete((tags, ex) -> {
+            if (ex != null) {
+                showError(AsyncTodoService.unwrap(ex));
+                return;
+            }
+            if (todoId.equals(editingTodoId)) {
+                showTags(tags);
+            }
+            reloadTags();
+        });
+    }
+
+    private static List<String> tagNames(String text) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : (text == null ? "" : text).split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.strip());
+            }
+        }
+        return List.copyOf(names);
+    }
+
+    // One toggle per tag; selections survive the reload, as tags are never deleted.
+    private void reloadTags() {
+        todoService.listTags().whenComplete((tags, ex) -> {
+            if (ex != null) {
+                showError(AsyncTodoService.unwrap(ex));
+                return;
+            }
+            Set<Long> selected = todoService.getTagFilter().tagIds();
+            tagFilterPane.getChildren().clear();
+            for (Tag tag : tags) {
+                ToggleButton toggle = new ToggleButton(tag.getName());
+                toggle.setUserData(tag.getId());
+                toggle.setSelected(selected.contains(tag.getId()));
+                toggle.setOnAction(e -> applyTagFilter());
+                tagFilterPane.getChildren().add(toggle);
+            }
+        });
+    }
+
+    // The calendars and the day list reload under the new filter; the heatmap only while it is showing.
+    private void applyTagFilter() {
+        Set<Long> selected = new HashSet<>();
+        for (Node node : tagFilterPane.getChildren()) {
+            if (node instanceof ToggleButton toggle && toggle.isSelected()) {
+                selected.add((Long) toggle.getUserData());
+            }
+        }
+        TagFilter filter = selected.isEmpty() ? TagFilter.NONE
+                : new TagFilter(selected, tagMatchChoice.getSelectionModel().getSelectedIndex() == 1);
+        if (filter.equals(todoService.getTagFilter())) {
+            return;
+        }
+        todoService.setTagFilter(filter);
+        calendarView.refresh();
+        if (yearTab.isSelected()) {
+            yearView.refresh();
+        }
+        refreshForDate(calendarView.getSelectedDate());
+    }
+
+    private void setEditorBusy(boolean busy) {
+        saveButton.setDisable(busy);
+        deleteButton.setDisable(busy);
+        endRepeatButton.setDisable(busy);
+    }
+
+    // Repeating is chosen when a todo is created; an occurrence of a series can end the series.
+    private void updateRepeatControls() {
+        repeatChoice.setDisable(editingTodoId != null);
+        repeatChoice.getSelectionModel().selectFirst();
+        boolean occurrence = Recurrence.isOccurrenceId(editingTodoId);
+        endRepeatButton.setVisible(occurrence);
+        endRepeatButton.setManaged(occurrence);
+    }
+
+    private void showError(Throwable ex) {
+        if (ex instanceof ConstraintViolationException) {
+            messageLabel.setText("입력값을 확인해주세요 (제목 100자, 내용 200자, 태그 30자 이내, 공백 불가)");
+        } else {
+            messageLabel.setText(ex.getMessage() == null ? "저장 중 오류" : ex.getMessage());
+        }
+    }
+
     private void clearEditor() {
+        cancelPendingEdit();
         editingTodoId = null;
+        editingBase = null;
+        updateRepeatControls();
         titleField.clear();
         contentArea.clear();
+        showTags(List.of());
         doneCheck.setSelected(false);
         messageLabel.setText("");
     }
 
-    private String validateInputs(String title, String content) {
+    private String validateInputs(String title, String content, List<String> tags) {
         String t = title == null ? "" : title.trim();
         String c = content == null ? "" : content.trim();
 
@@ -252,6 +810,11 @@ public class MainView {
         if (c.length() > 200) {
             return "내용은 200자 이하여야 합니다.";
         }
+        for (String tag : tags) {
+            if (tag.length() > 30) {
+                return "태그는 30자 이하여야 합니다: " + tag;
+            }
+        }
 
         return null;
     }
@@ -1,7 +1,7 @@
 package com.example.todoapp.ui;
 
 import com.example.todoapp.todo.DayStatus;
-import com.example.todoapp.todo.TodoService;
+import com.example.todoapp.todo.TodoChangeListener;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.geometry.Insets;
@@ -9,10 +9,12 @@ import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -22,24 +24,38 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-public class MonthCalendarView {
+public class MonthCalendarView implements CalendarView {
 
     private static final DateTimeFormatter MONTH_LABEL_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
 
-    private final TodoService todoService;
+    private static final int WEEKS = 6;
+
+    private static final String SELECTED_STYLE = "-fx-border-color: -fx-focus-color; -fx-border-width: 2;";
+    private static final String UNSELECTED_STYLE = "-fx-border-color: transparent;";
+
+    private final AsyncTodoService todoService;
 
     private final VBox root;
     private final Label monthLabel;
+    private final ProgressIndicator loadingIndicator;
     private final GridPane grid;
+    private final DayCell[] cells = new DayCell[WEEKS * 7];
 
     private final ObjectProperty<YearMonth> displayedMonth = new SimpleObjectProperty<>(YearMonth.now());
     private final ObjectProperty<LocalDate> selectedDate = new SimpleObjectProperty<>(LocalDate.now());
 
     private Map<LocalDate, DayStatus> cachedStatuses = Map.of();
 
-    public MonthCalendarView(TodoService todoService) {
+    private YearMonth boundMonth;
+    private DayCell selectedCell;
+
+    private CompletableFuture<Map<LocalDate, DayStatus>> pendingStatusLoad;
+
+    public MonthCalendarView(AsyncTodoService todoService) {
         this.todoService = todoService;
 
         Button prevButton = new Button("<");
@@ -53,12 +69,18 @@ public class MonthCalendarView {
         HBox.setHgrow(spacerLeft, Priority.ALWAYS);
         HBox.setHgrow(spacerRight, Priority.ALWAYS);
 
-        HBox header = new HBox(8, prevButton, spacerLeft, monthLabel, spacerRight, nextButton);
+        loadingIndicator = new ProgressIndicator();
+        loadingIndicator.setPrefSize(16, 16);
+        loadingIndicator.setVisible(false);
+
+        HBox header = new HBox(8, prevButton, spacerLeft, monthLabel, loadingIndicator, spacerRight, nextButton);
         header.setAlignment(Pos.CENTER);
 
         grid = new GridPane();
         grid.setHgap(6);
         grid.setVgap(6);
+        addDayOfWeekHeader();
+        addDayCells();
 
         root = new VBox(10, header, grid);
         root.setPadding(new Insets(10));
@@ -76,43 +98,87 @@ public class MonthCalendarView {
                 if (!ym.equals(displayedMonth.get())) {
                     displayedMonth.set(ym);
                 } else {
-                    render();
+                    updateSelection();
                 }
             }
         });
 
+        todoService.addChangeListener(new TodoChangeListener() {
+            @Override
+            public void daysChanged(Map<LocalDate, DayStatus> statuses) {
+                patchStatuses(statuses);
+            }
+
+            @Override
+            public void allDaysChanged() {
+                refresh();
+            }
+        });
+
         refresh();
     }
 
+    @Override
     public Node getRoot() {
         return root;
     }
 
+    @Override
     public ObjectProperty<LocalDate> selectedDateProperty() {
         return selectedDate;
     }
 
-    public LocalDate getSelectedDate() {
-        return selectedDate.get();
-    }
+    @Override
+    public void refresh() {
+        if (pendingStatusLoad != null) {
+            pendingStatusLoad.cancel(false);
+        }
+
+        // Draw the days right away; markers follow once the statuses arrive.
+        render();
+        loadingIndicator.setVisible(true);
 
-    public void setSelectedDate(LocalDate date) {
-        selectedDate.set(date);
+        YearMonth month = displayedMonth.get();
+        CompletableFuture<Map<LocalDate, DayStatus>> load = todoService.getMonthDayStatuses(month);
+        pendingStatusLoad = load;
+        load.whenComplete((statuses, ex) -> {
+            if (load.isCancelled()) {
+                return;
+            }
+            pendingStatusLoad = null;
+            loadingIndicator.setVisible(false);
+            if (ex == null) {
+                cachedStatuses = statuses;
+                updateMarkers();
+            }
+            // The next click then renders from the cache.
+            todoService.prefetchMonthDayStatuses(month.minusMonths(1), month.plusMonths(1));
+        });
     }
 
-    public void refresh() {
-        cachedStatuses = todoService.getMonthDayStatuses(displayedMonth.get());
-        render();
+    // A commit reports the new status of the days it changed; only those markers are redrawn.
+    private void patchStatuses(Map<LocalDate, DayStatus> statuses) {
+        if (statuses.keySet().stream().noneMatch(day -> YearMonth.from(day).equals(boundMonth))) {
+            return;
+        }
+        if (pendingStatusLoad != null) {
+            // The load may have read the counts from before the commit.
+            refresh();
+            return;
+        }
+        Map<LocalDate, DayStatus> patched = new HashMap<>(cachedStatuses);
+        patched.putAll(statuses);
+        cachedStatuses = patched;
+        updateMarkers();
     }
 
+    // The grid structure is built once; rendering only rebinds the existing cells.
     private void render() {
-        grid.getChildren().clear();
-
         YearMonth month = displayedMonth.get();
-        monthLabel.setText(month.format(MONTH_LABEL_FORMAT));
-
-        addDayOfWeekHeader();
-        addDays(month);
+        if (!month.equals(boundMonth)) {
+            bindMonth(month);
+        }
+        updateSelection();
     }
 
     private void addDayOfWeekHeader() {
@@ -136,54 +202,134 @@ public class MonthCalendarView {
         }
     }
 
-    private void addDays(YearMonth month) {
+    private void addDayCells() {
+        for (int index = 0; index < cells.length; index++) {
+            DayCell cell = new DayCell();
+            cells[index] = cell;
+            grid.add(cell.stack, index % 7, (index / 7) + 1);
+        }
+    }
+
+    private void bindMonth(YearMonth month) {
+        boundMonth = month;
+        monthLabel.setText(month.format(MONTH_LABEL_FORMAT));
+
         LocalDate first = month.atDay(1);
         int offset = first.getDayOfWeek().getValue() - 1; // Monday=0
-
         int daysInMonth = month.lengthOfMonth();
-        for (int day = 1; day <= daysInMonth; day++) {
-            LocalDate date = month.atDay(day);
-            int index = offset + (day - 1);
-            int col = index % 7;
-            int row = (index / 7) + 1;
 
-            grid.add(createDayCell(date), col, row);
+        for (int index = 0; index < cells.length; index++) {
+            int day = index - offset + 1;
+            if (day >= 1 && day <= daysInMonth) {
+                cells[index].bind(month.atDay(day));
+            } else {
+                cells[index].unbind();
+            }
+        }
+
+        if (selectedCell != null) {
+            selectedCell.setSelected(false);
+            selectedCell = null;
         }
+        updateMarkers();
     }
 
-    private Node createDayCell(LocalDate date) {
-        Button button = new Button(String.valueOf(date.getDayOfMonth()));
-        button.setMinSize(40, 36);
-        button.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+    private void updateSelection() {
+        DayCell next = cellFor(selectedDate.get());
+        if (next == selectedCell) {
+            return;
+        }
+        if (selectedCell != null) {
+            selectedCell.setSelected(false);
+        }
+        if (next != null) {
+            next.setSelected(true);
+        }
+        selectedCell = next;
+    }
+
+    private void updateMarkers() {
+        for (DayCell cell : cells) {
+            if (cell.date != null) {
+                cell.setStatus(cachedStatuses.getOrDefault(cell.date, DayStatus.NONE));
+            }
+        }
+    }
 
-        if (date.equals(selectedDate.get())) {
-            button.setStyle("-fx-border-color: -fx-focus-color; -fx-border-width: 2;");
-        } else {
-            button.setStyle("-fx-border-color: transparent;");
+    private DayCell cellFor(LocalDate date) {
+        if (date == null || boundMonth == null || !YearMonth.from(date).equals(boundMonth)) {
+            return null;
         }
+        int offset = boundMonth.atDay(1).getDayOfWeek().getValue() - 1;
+        return cells[offset + date.getDayOfMonth() - 1];
+    }
+
+    private final class DayCell {
+
+        private final Button button;
+        private final Circle marker;
+        private final StackPane stack;
 
-        button.setOnAction(e -> selectedDate.set(date));
+        private LocalDate date;
+        private boolean selected;
+        private DayStatus status = DayStatus.NONE;
 
-        Circle marker = new Circle(4);
-        marker.setVisible(false);
+        private DayCell() {
+            button = new Button();
+            button.setMinSize(40, 36);
+            button.setMaxSize(Double.MAX_VALUE, Double.MAX_VALUE);
+            button.setStyle(UNSELECTED_STYLE);
+            button.setOnAction(e -> {
+                if (date != null) {
+                    selectedDate.set(date);
+                }
+            });
+
+            marker = new Circle(4);
+            marker.setVisible(false);
 
-        DayStatus status = cachedStatuses.getOrDefault(date, DayStatus.NONE);
-        if (status == DayStatus.INCOMPLETE) {
-            marker.setFill(Color.ORANGE);
-            marker.setVisible(true);
-        } else if (status == DayStatus.ALL_DONE) {
-            marker.setFill(Color.GREEN);
-            marker.setVisible(true);
+            stack = new StackPane(button);
+            stack.setMinSize(40, 36);
+            stack.setAlignment(Pos.CENTER);
+
+            StackPane.setAlignment(marker, Pos.BOTTOM_RIGHT);
+            StackPane.setMargin(marker, new Insets(0, 4, 4, 0));
+            stack.getChildren().add(marker);
         }
 
-        javafx.scene.layout.StackPane stack = new javafx.scene.layout.StackPane(button);
-        stack.setMinSize(40, 36);
-        stack.setAlignment(Pos.CENTER);
+        private void bind(LocalDate date) {
+            this.date = date;
+            button.setText(String.valueOf(date.getDayOfMonth()));
+            stack.setVisible(true);
+        }
 
-        javafx.scene.layout.StackPane.setAlignment(marker, Pos.BOTTOM_RIGHT);
-        javafx.scene.layout.StackPane.setMargin(marker, new Insets(0, 4, 4, 0));
-        stack.getChildren().add(marker);
+        private void unbind() {
+            date = null;
+            stack.setVisible(false);
+            setStatus(DayStatus.NONE);
+        }
+
+        private void setSelected(boolean selected) {
+            if (this.selected != selected) {
+                this.selected = selected;
+                button.setStyle(selected ? SELECTED_STYLE : UNSELECTED_STYLE);
+            }
+        }
 
-        return stack;
+        private void setStatus(DayStatus status) {
+            if (this.status == status) {
+                return;
+            }
+            this.status = status;
+            if (status == DayStatus.INCOMPLETE) {
+                marker.setFill(Color.ORANGE);
+                marker.setVisible(true);
+            } else if (status == DayStatus.ALL_DONE) {
+                marker.setFill(Color.GREEN);
+                marker.setVisible(true);
+            } else {
+                marker.setVisible(false);
+            }
+        }
     }
 }
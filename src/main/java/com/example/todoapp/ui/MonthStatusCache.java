@@ -0,0 +1,124 @@
+package com.example.todoapp.ui;
+
+import com.example.todoapp.todo.DayStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// Day statuses of recently shown and prefetched months, least recently used dropped first. Commits
+// patch the days they changed into cached months, so a month is only read once. Commits of other
+// processes are never heard of; with a max age (the shared profile) months are read again once that
+// old. FX thread only.
+class MonthStatusCache {
+
+    private final Function<YearMonth, CompletableFuture<Map<LocalDate, DayStatus>>> loader;
+    private final Map<YearMonth, Map<LocalDate, DayStatus>> months;
+    // System.nanoTime() at which each cached month's load started.
+    private final Map<YearMonth, Long> loadedAt = new HashMap<>();
+    private final Map<YearMonth, CompletableFuture<Map<LocalDate, DayStatus>>> loading = new HashMap<>();
+    // Null keeps months until they are evicted.
+    private Duration maxAge;
+
+    MonthStatusCache(int capacity, Function<YearMonth, CompletableFuture<Map<LocalDate, DayStatus>>> loader) {
+        this.loader = loader;
+        this.months = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<YearMonth, Map<LocalDate, DayStatus>> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                loadedAt.remove(eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+    void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    // Completes right away on a hit. Callers get their own future, so cancelling it does not stop a
+    // load someone else is waiting for.
+    CompletableFuture<Map<LocalDate, DayStatus>> get(YearMonth month) {
+        Map<LocalDate, DayStatus> cached = months.get(month);
+        if (cached != null && isFresh(month)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return load(month).copy();
+    }
+
+    void prefetch(YearMonth month) {
+        if (!months.containsKey(month) || !isFresh(month)) {
+            load(month);
+        }
+    }
+
+    private boolean isFresh(YearMonth month) {
+        Long loaded = loadedAt.get(month);
+        return maxAge == null || loaded != null && System.nanoTime() - loaded < maxAge.toNanos();
+    }
+
+    // The new status of each changed day, as reported after a commit.
+    void patch(Map<LocalDate, DayStatus> statuses) {
+        Map<YearMonth, Map<LocalDate, DayStatus>> byMonth = new HashMap<>();
+        statuses.forEach((day, status) -> byMonth.computeIfAbsent(YearMonth.from(day), m -> new HashMap<>()).put(day, status));
+        byMonth.forEach((month, changed) -> {
+            // A load already running may have read the old counts; it completes but is not kept.
+            loading.remove(month);
+            Map<LocalDate, DayStatus> cached = months.get(month);
+            if (cached == null) {
+                return;
+            }
+            // Cached maps were handed out to views, so they are replaced rather than changed.
+            Map<LocalDate, DayStatus> patched = new HashMap<>(cached);
+            changed.forEach((day, status) -> {
+                if (status == DayStatus.NONE) {
+                    patched.remove(day);
+                } else {
+                    patched.put(day, status);
+                }
+            });
+            months.put(month, patched);
+        });
+    }
+
+    void invalidate(YearMonth month) {
+        months.remove(month);
+        loadedAt.remove(month);
+        // A load already running may have read the old counts; it completes but is not kept.
+        loading.remove(month);
+    }
+
+    void invalidateAll() {
+        months.clear();
+        loadedAt.clear();
+        loading.clear();
+    }
+
+    private CompletableFuture<Map<LocalDate, DayStatus>> load(YearMonth month) {
+        CompletableFuture<Map<LocalDate, DayStatus>> running = loading.get(month);
+        if (running != null) {
+            return running;
+        }
+        long started = System.nanoTime();
+        CompletableFuture<Map<LocalDate, DayStatus>> load = loader.apply(month);
+        loading.put(month, load);
+        load.whenComplete((statuses, ex) -> {
+            if (loading.get(month) != load) {
+                return;
+            }
+            loading.remove(month);
+            if (ex == null) {
+                months.put(month, statuses);
+                loadedAt.put(month, started);
+            }
+        });
+        return load;
+    }
+}
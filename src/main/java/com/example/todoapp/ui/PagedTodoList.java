@@ -0,0 +1,306 @@
+package com.example.todoapp.ui;
+
+import com.example.todoapp.todo.TodoChange;
+import com.example.todoapp.todo.TodoListItem;
+import com.example.todoapp.todo.TodoPage;
+import javafx.collections.ObservableListBase;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.UnaryOperator;
+
+// A day's todos as a virtual list for ListView. The size comes from the day summary; rows are fetched
+// a page at a time when a cell asks for them, and only MAX_PAGES pages are kept. Rows that are not
+// loaded yet read as null. Everything runs on the FX thread.
+// Note: contains/indexOf/equals walk every row and would load every page; use indexes instead.
+class PagedTodoList extends ObservableListBase<TodoListItem> {
+
+    static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 5;
+
+    private final AsyncTodoService todoService;
+    private final LocalDate date;
+
+    private final Map<Integer, List<TodoListItem>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<TodoListItem>> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    // Keyset position each page starts after. Keys are tiny, so they are kept for every page seen.
+    private final Map<Integer, TodoPage.Key> pageStarts = new HashMap<>();
+    private final Map<Integer, CompletableFuture<TodoPage>> loading = new HashMap<>();
+    private final Set<Integer> wanted = new HashSet<>();
+
+    private ObjIntConsumer<List<TodoListItem>> onPageLoaded = (items, firstIndex) -> { };
+    private Consumer<Throwable> onError = ex -> { };
+
+    private CompletableFuture<List<TodoListItem>> opening;
+    private int size;
+    private boolean closed;
+
+    PagedTodoList(AsyncTodoService todoService, LocalDate date) {
+        this.todoService = todoService;
+        this.date = date;
+        pageStarts.put(0, null);
+    }
+
+    void setOnPageLoaded(ObjIntConsumer<List<TodoListItem>> onPageLoaded) {
+        this.onPageLoaded = onPageLoaded;
+    }
+
+    void setOnError(Consumer<Throwable> onError) {
+        this.onError = onError;
+    }
+
+    // Loads the row count and the first page together; completes with the first page.
+    CompletableFuture<List<TodoListItem>> open() {
+        CompletableFuture<Integer> count = todoService.countTodosForDate(date);
+        CompletableFuture<TodoPage> first = todoService.getTodoPage(date, null, PAGE_SIZE);
+        opening = count.thenCombine(first, (total, page) -> {
+            resize(Math.max(total, page.items().size() + (page.hasNext() ? 1 : 0)));
+            store(0, page, true);
+            return page.items();
+        });
+        return opening;
+    }
+
+    void close() {
+        closed = true;
+        if (opening != null) {
+            opening.cancel(false);
+        }
+        loading.values().forEach(load -> load.cancel(false));
+        loading.clear();
+        pages.clear();
+    }
+
+    // Swaps a loaded row in place, e.g. to show a queued edit before it is written.
+    boolean replace(Long id, UnaryOperator<TodoListItem> change) {
+        for (Map.Entry<Integer, List<TodoListItem>> page : pages.entrySet()) {
+            List<TodoListItem> items = page.getValue();
+            for (int offset = 0; offset < items.size(); offset++) {
+                TodoListItem old = items.get(offset);
+                if (!old.id().equals(id)) {
+                    continue;
+                }
+                List<TodoListItem> changed = new ArrayList<>(items);
+                changed.set(offset, change.apply(old));
+                page.setValue(changed);
+
+                beginChange();
+                nextSet(page.getKey() * PAGE_SIZE + offset, old);
+                endChange();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Applies a committed change to a fully loaded list without a query: the row is removed, and put
+    // back in list order if the todo is now on this day. Returns false when the caller has to reload,
+    // i.e. while pages are missing or loading, or when the day no longer fits in MAX_PAGES.
+    boolean patch(TodoChange change) {
+        List<TodoListItem> rows = loadedRows();
+        if (rows == null) {
+            return false;
+        }
+        // A saved occurrence replaces the generated row, which has a different id.
+        Long removeId = change.before() != null ? change.before().id() : change.id();
+        int removeAt = -1;
+        for (int index = 0; index < rows.size(); index++) {
+            if (rows.get(index).id().equals(removeId)) {
+                removeAt = index;
+                break;
+            }
+        }
+        boolean add = change.after() != null && date.equals(change.newDate());
+        if (removeAt < 0 && !add) {
+            return true;
+        }
+        if (removeAt < 0 && rows.size() >= MAX_PAGES * PAGE_SIZE) {
+            return false;
+        }
+
+        beginChange();
+        if (removeAt >= 0) {
+            nextRemove(removeAt, rows.remove(removeAt));
+        }
+        if (add) {
+            int found = Collections.binarySearch(rows, change.after(), TodoListItem.LIST_ORDER);
+            int addAt = found >= 0 ? found : -found - 1;
+            rows.add(addAt, change.after());
+            nextAdd(addAt, addAt + 1);
+        }
+        repage(rows);
+        endChange();
+        return true;
+    }
+
+    // Index of a loaded row, or -1.
+    int indexOfLoaded(Long id) {
+        for (Map.Entry<Integer, List<TodoListItem>> page : pages.entrySet()) {
+            List<TodoListItem> items = page.getValue();
+            for (int offset = 0; offset < items.size(); offset++) {
+                if (items.get(offset).id().equals(id)) {
+                    return page.getKey() * PAGE_SIZE + offset;
+                }
+            }
+        }
+        return -1;
+    }
+
+    LocalDate date() {
+        return date;
+    }
+
+    @Override
+    public TodoListItem get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int page = index / PAGE_SIZE;
+        List<TodoListItem> items = pages.get(page);
+        if (items == null) {
+            request(page);
+            return null;
+        }
+        int offset = index % PAGE_SIZE;
+        return offset < items.size() ? items.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private void request(int page) {
+        if (closed || pages.containsKey(page)) {
+            return;
+        }
+        wanted.add(page);
+        advance(page);
+    }
+
+    // Keyset can only continue from a known position, so a jump walks forward page by page from
+    // the closest known start. Pages passed on the way only leave their start key behind.
+    private void advance(int page) {
+        if (page * PAGE_SIZE >= size) {
+            wanted.remove(page);
+            return;
+        }
+        int start = page;
+        while (start > 0 && !pageStarts.containsKey(start)) {
+            start--;
+        }
+        if (start != page && pages.containsKey(start)) {
+            // The start page is loaded and had no successor: the day got shorter than the count said.
+            wanted.remove(page);
+            return;
+        }
+        fetch(start);
+    }
+
+    private void fetch(int page) {
+        if (loading.containsKey(page)) {
+            return;
+        }
+        CompletableFuture<TodoPage> load = todoService.getTodoPage(date, pageStarts.get(page), PAGE_SIZE);
+        loading.put(page, load);
+        load.whenComplete((result, ex) -> {
+            if (load.isCancelled() || closed) {
+                return;
+            }
+            loading.remove(page);
+            if (ex != null) {
+                wanted.remove(page);
+                onError.accept(AsyncTodoService.unwrap(ex));
+                return;
+            }
+            store(page, result, wanted.remove(page));
+            for (Integer target : List.copyOf(wanted)) {
+                advance(target);
+            }
+        });
+    }
+
+    private void store(int page, TodoPage result, boolean keep) {
+        if (result.hasNext()) {
+            pageStarts.put(page + 1, result.next());
+        } else {
+            // The last page tells the real size, in case the count was stale.
+            resize(page * PAGE_SIZE + result.items().size());
+        }
+        if (!keep) {
+            return;
+        }
+
+        pages.put(page, result.items());
+        int from = page * PAGE_SIZE;
+        int to = Math.min(size, from + result.items().size());
+        if (from < to) {
+            beginChange();
+            for (int index = from; index < to; index++) {
+                nextSet(index, null);
+            }
+            endChange();
+        }
+        onPageLoaded.accept(result.items(), from);
+    }
+
+    // Every row in order, or null unless all pages are loaded and nothing is in flight.
+    private List<TodoListItem> loadedRows() {
+        if (closed || opening == null || !opening.isDone() || opening.isCompletedExceptionally()
+                || !loading.isEmpty()) {
+            return null;
+        }
+        List<TodoListItem> rows = new ArrayList<>(size);
+        for (int page = 0; page * PAGE_SIZE < size; page++) {
+            List<TodoListItem> items = pages.get(page);
+            if (items == null) {
+                return null;
+            }
+            rows.addAll(items);
+        }
+        return rows.size() == size ? rows : null;
+    }
+
+    private void repage(List<TodoListItem> rows) {
+        pages.clear();
+        pageStarts.clear();
+        pageStarts.put(0, null);
+        pages.put(0, List.of());
+        for (int page = 0; page * PAGE_SIZE < rows.size(); page++) {
+            int from = page * PAGE_SIZE;
+            if (page > 0) {
+                pageStarts.put(page, TodoPage.Key.of(rows.get(from - 1)));
+            }
+            pages.put(page, List.copyOf(rows.subList(from, Math.min(rows.size(), from + PAGE_SIZE))));
+        }
+        size = rows.size();
+    }
+
+    private void resize(int newSize) {
+        if (newSize == size) {
+            return;
+        }
+        beginChange();
+        if (newSize > size) {
+            nextAdd(size, newSize);
+        } else {
+            nextRemove(newSize, Collections.nCopies(size - newSize, (TodoListItem) null));
+        }
+        size = newSize;
+        endChange();
+    }
+}
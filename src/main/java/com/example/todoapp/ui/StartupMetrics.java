@@ -0,0 +1,47 @@
+package com.example.todoapp.ui;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Milestones measured from JVM start. -Dtodoapp.startup.report=<file> also writes them to a file,
+// which package.ps1 uses for its startup report.
+final class StartupMetrics {
+
+    static final String FX_INIT = "fx-init";
+    static final String CONTEXT_READY = "context-ready";
+    static final String FIRST_FRAME = "first-frame";
+    static final String FIRST_DATA = "first-data";
+
+    private static final Logger log = LoggerFactory.getLogger(StartupMetrics.class);
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final Map<String, Long> marks = new LinkedHashMap<>();
+
+    synchronized void mark(String milestone) {
+        marks.putIfAbsent(milestone, System.currentTimeMillis() - jvmStartMillis);
+    }
+
+    synchronized void report() {
+        StringBuilder report = new StringBuilder();
+        marks.forEach((milestone, millis) -> report.append(milestone).append('=').append(millis).append("ms\n"));
+        log.info("Startup timings since JVM start:\n{}", report);
+
+        String reportFile = System.getProperty("todoapp.startup.report");
+        if (reportFile == null || reportFile.isBlank()) {
+            return;
+        }
+        try {
+            Files.writeString(Path.of(reportFile), report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Failed to write startup report to {}", reportFile, e);
+        }
+    }
+}
@@ -1,72 +1,121 @@
 package com.example.todoapp.ui;
 
+import com.example.todoapp.DataDirectory;
 import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.storage.H2StorageMaintenance;
 import com.example.todoapp.todo.TodoService;
+import com.example.todoapp.todo.TodoWriteBehind;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
 import javafx.stage.Stage;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.context.ConfigurableApplicationContext;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 public class TodoFxApplication extends Application {
 
-    private ConfigurableApplicationContext applicationContext;
+    private final StartupMetrics startupMetrics = new StartupMetrics();
 
-    @Override
-    public void init() {
-        String dataDir = resolveDataDir();
-        ensureDirectoryExists(dataDir);
-        applicationContext = new SpringApplicationBuilder(TodoAppApplication.class)
-                .headless(false)
-                .properties("todoapp.data-dir=" + dataDir)
-                .run(getParameters().getRaw().toArray(new String[0]));
-    }
+    private final CompletableFuture<ConfigurableApplicationContext> applicationContext = new CompletableFuture<>();
 
-    private static String resolveDataDir() {
-        boolean installed = Boolean.getBoolean("todoapp.installed");
-        if (!installed) {
-            return "./data";
-        }
+    private AsyncTodoService asyncTodoService;
 
-        String localAppData = System.getenv("LOCALAPPDATA");
-        if (localAppData == null || localAppData.isBlank()) {
-            return "./data";
-        }
+    @Override
+    public void init() {
+        startupMetrics.mark(StartupMetrics.FX_INIT);
 
-        // Use forward slashes; H2 JDBC URL accepts them on Windows.
-        return Path.of(localAppData, "TodoApp", "data").toString().replace('\\', '/');
-    }
+        String dataDir = DataDirectory.resolve();
+        DataDirectory.ensureExists(dataDir);
+        String[] args = getParameters().getRaw().toArray(new String[0]);
 
-    private static void ensureDirectoryExists(String directory) {
-        Path dir = Path.of(directory);
-        try {
-            Files.createDirectories(dir);
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to create data directory: " + dir.toAbsolutePath(), e);
-        }
+        // Spring, Hibernate and H2 boot in the background while the window is already on screen.
+        Thread bootstrap = new Thread(() -> {
+            try {
+                ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoAppApplication.class)
+                        .headless(false)
+                        .properties("todoapp.data-dir=" + dataDir)
+                        .run(args);
+                startupMetrics.mark(StartupMetrics.CONTEXT_READY);
+                applicationContext.complete(context);
+            } catch (Throwable ex) {
+                applicationContext.completeExceptionally(ex);
+            }
+        }, "spring-bootstrap");
+        bootstrap.setDaemon(true);
+        bootstrap.start();
     }
 
     @Override
     public void start(Stage stage) {
-        TodoService todoService = applicationContext.getBean(TodoService.class);
+        asyncTodoService = new AsyncTodoService(
+                applicationContext.thenApply(context -> context.getBean(TodoService.class)),
+                applicationContext.thenApply(context -> context.getBean(TodoWriteBehind.class)));
 
-        MainView mainView = new MainView(todoService);
+        // The view starts in its loading state and fills in once the context is ready.
+        MainView mainView = new MainView(asyncTodoService);
+        mainView.setOnFirstData(this::onFirstData);
 
         Scene scene = new Scene(mainView.getRoot(), 1100, 700);
+        Runnable firstFrame = new Runnable() {
+            @Override
+            public void run() {
+                startupMetrics.mark(StartupMetrics.FIRST_FRAME);
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+            }
+        };
+        scene.addPostLayoutPulseListener(firstFrame);
 
         stage.setTitle("ToDo앱");
         stage.setScene(scene);
         stage.show();
+
+        applicationContext.whenComplete((context, ex) -> {
+            if (ex != null) {
+                Platform.runLater(() -> showStartupFailure(ex));
+                return;
+            }
+            // Set in the shared profile, where other instances' writes only reach cached months this way.
+            Duration monthCacheTtl = context.getEnvironment().getProperty("todoapp.ui.month-cache-ttl", Duration.class);
+            if (monthCacheTtl != null) {
+                Platform.runLater(() -> asyncTodoService.setMonthCacheTtl(monthCacheTtl));
+            }
+        });
+    }
+
+    private void onFirstData() {
+        startupMetrics.mark(StartupMetrics.FIRST_DATA);
+        startupMetrics.report();
+
+        // package.ps1 runs the app once in this mode to record the AppCDS archive.
+        if (Boolean.getBoolean("todoapp.cds.training")) {
+            Platform.exit();
+        }
+    }
+
+    private void showStartupFailure(Throwable ex) {
+        Throwable cause = AsyncTodoService.unwrap(ex);
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setHeaderText("앱을 시작하지 못했습니다.");
+        alert.setContentText(cause.getMessage() == null ? cause.toString() : cause.getMessage());
+        alert.showAndWait();
+        Platform.exit();
     }
 
     @Override
     public void stop() {
-        if (applicationContext != null) {
-            applicationContext.close();
+        if (asyncTodoService != null) {
+            asyncTodoService.close();
+            // Queued edits are written before the context (and the database) goes away.
+            asyncTodoService.flushWrites();
         }
+        applicationContext.thenAccept(context -> {
+            // Last use of the database: may rewrite the file with SHUTDOWN COMPACT.
+            context.getBeanProvider(H2StorageMaintenance.class).ifAvailable(H2StorageMaintenance::compactOnExit);
+            context.close();
+        });
     }
 }
@@ -0,0 +1,217 @@
+package com.example.todoapp.ui;
+
+import com.example.todoapp.todo.DayStatus;
+import com.example.todoapp.todo.DayStatusRange;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// A year as 7 rows (Mon..Sun) by up to 54 week columns. The cells are built once and every
+// render is one pass over them with the counts from a single getDayStatuses call.
+public class YearHeatmapView {
+
+    private static final int WEEKS = 54;
+    private static final int CELL_SIZE = 11;
+
+    // Four shades per status; darker means more todos on that day relative to the busiest day.
+    private static final String[] INCOMPLETE_STYLES = styles("#ffe0b2", "#ffb74d", "#fb8c00", "#e65100");
+    private static final String[] ALL_DONE_STYLES = styles("#c8e6c9", "#81c784", "#43a047", "#1b5e20");
+    private static final String NONE_STYLE = "-fx-background-color: #ebedf0;";
+
+    private final AsyncTodoService todoService;
+
+    private final VBox root;
+    private final Label yearLabel;
+    private final Label hoverLabel;
+    private final ProgressIndicator loadingIndicator;
+    private final Region[] cells = new Region[WEEKS * 7];
+    private final LocalDate[] cellDates = new LocalDate[WEEKS * 7];
+    private final Label[] monthLabels = new Label[12];
+
+    private Year year = Year.now();
+    private DayStatusRange statuses;
+    private Consumer<LocalDate> onDateChosen = date -> { };
+
+    private CompletableFuture<DayStatusRange> pendingLoad;
+
+    public YearHeatmapView(AsyncTodoService todoService) {
+        this.todoService = todoService;
+
+        Button prevButton = new Button("<");
+        Button nextButton = new Button(">");
+        yearLabel = new Label();
+
+        Region spacerLeft = new Region();
+        Region spacerRight = new Region();
+        HBox.setHgrow(spacerLeft, Priority.ALWAYS);
+        HBox.setHgrow(spacerRight, Priority.ALWAYS);
+
+        loadingIndicator = new ProgressIndicator();
+        loadingIndicator.setPrefSize(16, 16);
+        loadingIndicator.setVisible(false);
+
+        HBox header = new HBox(8, prevButton, spacerLeft, yearLabel, loadingIndicator, spacerRight, nextButton);
+        header.setAlignment(Pos.CENTER);
+
+        GridPane grid = new GridPane();
+        grid.setHgap(2);
+        grid.setVgap(2);
+        buildCells(grid);
+
+        hoverLabel = new Label(" ");
+
+        root = new VBox(10, header, grid, hoverLabel);
+        root.setPadding(new Insets(10));
+
+        prevButton.setOnAction(e -> show(year.minusYears(1)));
+        nextButton.setOnAction(e -> show(year.plusYears(1)));
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public void setOnDateChosen(Consumer<LocalDate> onDateChosen) {
+        this.onDateChosen = onDateChosen;
+    }
+
+    public void show(Year year) {
+        this.year = year;
+        refresh();
+    }
+
+    public void refresh() {
+        if (pendingLoad != null) {
+            pendingLoad.cancel(false);
+        }
+
+        Year shown = year;
+        bindYear(shown);
+        loadingIndicator.setVisible(true);
+
+        CompletableFuture<DayStatusRange> load = todoService.getDayStatuses(shown.atDay(1), shown.atMonth(12).atEndOfMonth());
+        pendingLoad = load;
+        load.whenComplete((range, ex) -> {
+            if (load.isCancelled()) {
+                return;
+            }
+            pendingLoad = null;
+            loadingIndicator.setVisible(false);
+            if (ex == null) {
+                statuses = range;
+                paint();
+            }
+        });
+    }
+
+    private void buildCells(GridPane grid) {
+        for (int month = 0; month < monthLabels.length; month++) {
+            Label label = new Label((month + 1) + "월");
+            label.setMinWidth(Region.USE_PREF_SIZE);
+            label.setStyle("-fx-font-size: 9px;");
+            monthLabels[month] = label;
+            // Spans a few columns so the text is not clipped by the narrow cell width.
+            grid.add(label, 0, 0, 4, 1);
+        }
+
+        for (int index = 0; index < cells.length; index++) {
+            Region cell = new Region();
+            cell.setMinSize(CELL_SIZE, CELL_SIZE);
+            cell.setPrefSize(CELL_SIZE, CELL_SIZE);
+            cell.setMaxSize(CELL_SIZE, CELL_SIZE);
+            cell.setStyle(NONE_STYLE);
+
+            int cellIndex = index;
+            cell.setOnMouseClicked(e -> {
+                LocalDate date = cellDates[cellIndex];
+                if (date != null) {
+                    onDateChosen.accept(date);
+                }
+            });
+            cell.setOnMouseEntered(e -> hoverLabel.setText(describe(cellDates[cellIndex])));
+
+            cells[index] = cell;
+            grid.add(cell, index / 7, (index % 7) + 1);
+        }
+    }
+
+    // Column-major: column = week, row = day of week (Monday first), like MonthCalendarView.
+    private void bindYear(Year year) {
+        yearLabel.setText(String.valueOf(year.getValue()));
+        statuses = null;
+
+        LocalDate first = year.atDay(1);
+        int offset = first.getDayOfWeek().getValue() - 1;
+        int days = year.length();
+
+        for (int index = 0; index < cells.length; index++) {
+            int day = index - offset;
+            boolean inYear = day >= 0 && day < days;
+            cellDates[index] = inYear ? first.plusDays(day) : null;
+            cells[index].setVisible(inYear);
+            cells[index].setStyle(NONE_STYLE);
+        }
+
+        for (int month = 0; month < monthLabels.length; month++) {
+            int dayOfYear = year.atMonth(month + 1).atDay(1).getDayOfYear() - 1;
+            GridPane.setColumnIndex(monthLabels[month], (dayOfYear + offset) / 7);
+        }
+    }
+
+    private void paint() {
+        int maxTotal = Math.max(1, statuses.maxTotal());
+        for (int index = 0; index < cells.length; index++) {
+            LocalDate date = cellDates[index];
+            if (date == null) {
+                continue;
+            }
+            int day = statuses.indexOf(date);
+            int total = statuses.totalAt(day);
+            DayStatus status = statuses.statusAt(day);
+            int shade = Math.min(3, (total * 4 - 1) / maxTotal);
+
+            String style = switch (status) {
+                case NONE -> NONE_STYLE;
+                case INCOMPLETE -> INCOMPLETE_STYLES[shade];
+                case ALL_DONE -> ALL_DONE_STYLES[shade];
+            };
+            cells[index].setStyle(style);
+        }
+    }
+
+    private String describe(LocalDate date) {
+        if (date == null) {
+            return " ";
+        }
+        if (statuses == null || !statuses.contains(date)) {
+            return date.toString();
+        }
+        int day = statuses.indexOf(date);
+        int total = statuses.totalAt(day);
+        if (total == 0) {
+            return date + "  ToDo 없음";
+        }
+        return date + "  " + total + "건 중 " + statuses.doneAt(day) + "건 완료";
+    }
+
+    private static String[] styles(String... colors) {
+        String[] styles = new String[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            styles[i] = "-fx-background-color: " + colors[i] + ";";
+        }
+        return styles;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.todoapp.perf;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Per-thread random source plus the scratch day and the rows written to it during one iteration.
+@State(Scope.Thread)
+public class BenchmarkCursor {
+
+    final Random random = new Random();
+    final LocalDate scratchDate = SeededDatabase.nextScratchDate();
+    final List<Long> created = new ArrayList<>();
+
+    // Removes everything the iteration added so each dataset keeps its size.
+    @TearDown(Level.Iteration)
+    public void removeCreatedRows(SeededDatabase db) {
+        if (!created.isEmpty()) {
+            db.todoService.deleteAll(created);
+            created.clear();
+        }
+    }
+}
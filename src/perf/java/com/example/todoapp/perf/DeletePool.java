@@ -0,0 +1,53 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.todo.Todo;
+import com.example.todoapp.todo.TodoDraft;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Scratch rows created before each iteration so the delete benchmarks measure only the delete. Each
+// thread's pool is on a scratch day of its own.
+@State(Scope.Thread)
+public class DeletePool {
+
+    private static final int SIZE = 20_000;
+
+    private final LocalDate scratchDate = SeededDatabase.nextScratchDate();
+    private final Deque<Long> ids = new ArrayDeque<>();
+
+    @Setup(Level.Iteration)
+    public void fill(SeededDatabase db) {
+        List<TodoDraft> drafts = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            drafts.add(new TodoDraft(scratchDate, "delete me", "delete me", false));
+        }
+        for (Todo todo : db.todoService.createAll(drafts)) {
+            ids.add(todo.getId());
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void drain(SeededDatabase db) {
+        if (!ids.isEmpty()) {
+            db.todoService.deleteAll(ids);
+            ids.clear();
+        }
+    }
+
+    Long next(SeededDatabase db) {
+        Long id = ids.poll();
+        if (id == null) {
+            id = db.todoService.create(scratchDate, "delete me", "delete me", false).getId();
+        }
+        return id;
+    }
+}
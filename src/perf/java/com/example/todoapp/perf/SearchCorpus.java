@@ -0,0 +1,47 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.todo.TodoSearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+// A TodoSearchIndex filled in memory, without Spring or a database, from a fixed vocabulary of Korean
+// and English words. Titles repeat words the way real todo lists do, so short prefixes match widely.
+@State(Scope.Benchmark)
+public class SearchCorpus {
+
+    private static final String[] WORDS = {
+            "장보기", "우유", "딸기우유", "회의", "회의록", "준비", "운동", "병원", "예약", "청소", "빨래", "보고서",
+            "정리", "전화", "은행", "택배", "report", "review", "release", "meeting", "invoice", "groceries",
+            "gym", "dentist", "plan", "planning", "draft", "deploy", "backup", "budget"
+    };
+
+    @Param({"100000", "1000000"})
+    public int todos;
+
+    TodoSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        Random random = new Random(42);
+        index = new TodoSearchIndex();
+        for (long id = 1; id <= todos; id++) {
+            index.add(id, phrase(random, 1 + random.nextInt(3)), phrase(random, 2 + random.nextInt(6)));
+        }
+    }
+
+    private static String phrase(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.todo.DaySummaryRepository;
+import com.example.todoapp.todo.Todo;
+import com.example.todoapp.todo.TodoDraft;
+import com.example.todoapp.todo.TodoRepository;
+import com.example.todoapp.todo.TodoService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One H2 file database per dataset size under target/bench-db, seeded on first use and reused afterwards.
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    static final LocalDate LAST_DAY = LocalDate.of(2025, 12, 31);
+    static final int DAYS = 3 * 365;
+
+    // Outside the seeded range, so write benchmarks never touch the days being read.
+    static final LocalDate SCRATCH_DATE = LocalDate.of(2019, 1, 1);
+
+    private static final AtomicInteger scratchDays = new AtomicInteger();
+
+    private static final int SEED_CHUNK = 10_000;
+    private static final int SAMPLE_SIZE = 1_000;
+
+    @Param({"1000", "100000", "10000000"})
+    public int todos;
+
+    ConfigurableApplicationContext context;
+    TodoService todoService;
+    TodoRepository todoRepository;
+    DaySummaryRepository daySummaryRepository;
+    List<Todo> sample;
+
+    @Setup(Level.Trial)
+    public void open() throws IOException {
+        Path dir = Path.of(System.getProperty("todoapp.bench.dir", "target/bench-db"), "todos-" + todos);
+        Files.createDirectories(dir);
+
+        context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "todoapp.data-dir=" + dir.toString().replace('\\', '/'),
+                        "spring.main.banner-mode=off",
+                        // The seeded dataset must not move between tables mid-run.
+                        "todoapp.archive.enabled=false",
+                        // Every seeded todo has a word of its own; 10M of them would not fit the fork's heap.
+                        "todoapp.search-index.enabled=false",
+                        "logging.level.root=warn")
+                .run();
+
+        todoService = context.getBean(TodoService.class);
+        todoRepository = context.getBean(TodoRepository.class);
+        daySummaryRepository = context.getBean(DaySummaryRepository.class);
+
+        seedIfNeeded();
+        sample = todoRepository.findAll(PageRequest.of(0, SAMPLE_SIZE)).getContent();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        context.close();
+    }
+
+    private void seedIfNeeded() {
+        long existing = todoRepository.count();
+        Random random = new Random(42 + existing);
+        List<TodoDraft> chunk = new ArrayList<>(SEED_CHUNK);
+        for (long i = existing; i < todos; i++) {
+            chunk.add(new TodoDraft(skewedDate(random), "todo " + i, "benchmark content " + i, random.nextInt(4) == 0));
+            if (chunk.size() == SEED_CHUNK) {
+                todoService.createAll(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            todoService.createAll(chunk);
+        }
+    }
+
+    // Cubic skew: a few recent days hold most of the todos, like a real calendar.
+    static LocalDate skewedDate(Random random) {
+        double u = random.nextDouble();
+        return LAST_DAY.minusDays((long) (DAYS * u * u * u));
+    }
+
+    Todo sampleTodo(Random random) {
+        return sample.get(random.nextInt(sample.size()));
+    }
+
+    // A scratch day of its own for each per-thread state, counting back from SCRATCH_DATE. Writers that
+    // shared one day would all adjust its todo_day_summary row and mostly measure each other's retries.
+    static LocalDate nextScratchDate() {
+        return SCRATCH_DATE.minusDays(scratchDays.getAndIncrement());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.todoapp.perf;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// Command line of SoakRunner: --name=value pairs, durations as "90s", "2h" or ISO-8601.
+record SoakOptions(int threads,
+                   Duration duration,
+                   Duration warmup,
+                   Duration sampleInterval,
+                   Duration thinkTime,
+                   int seedTodos,
+                   Map<SoakWorkload.Operation, Integer> mix,
+                   long seed,
+                   Path report,
+                   boolean keepDatabase) {
+
+    static final String DEFAULT_MIX = "create:10,update:20,delete:5,date:45,month:20";
+
+    static SoakOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        SoakOptions options = new SoakOptions(
+                Integer.parseInt(take(values, "threads", "16")),
+                duration(take(values, "duration", "10m")),
+                duration(take(values, "warmup", "1m")),
+                duration(take(values, "sample-interval", "10s")),
+                duration(take(values, "think-time", "0s")),
+                Integer.parseInt(take(values, "seed-todos", "10000")),
+                mix(take(values, "mix", DEFAULT_MIX)),
+                Long.parseLong(take(values, "seed", "42")),
+                Path.of(take(values, "report", "target/soak-report.txt")),
+                Boolean.parseBoolean(take(values, "keep-db", "false")));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        if (options.threads < 1 || !options.duration.isPositive()) {
+            throw new IllegalArgumentException("threads and duration must be positive");
+        }
+        return options;
+    }
+
+    private static String take(Map<String, String> values, String name, String fallback) {
+        String value = values.remove(name);
+        return value != null ? value : fallback;
+    }
+
+    private static Duration duration(String value) {
+        return DurationStyle.detectAndParse(value);
+    }
+
+    // "create:10,update:20,...": relative weights, operations left out are not run.
+    private static Map<SoakWorkload.Operation, Integer> mix(String value) {
+        Map<SoakWorkload.Operation, Integer> weights = new EnumMap<>(SoakWorkload.Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in --mix: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in --mix: " + part);
+            }
+            weights.put(SoakWorkload.Operation.named(pair[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("--mix has no weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.todoapp.perf;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies per operation in HdrHistograms (nanoseconds, three significant digits), plus a time
+// series of throughput, heap, GC and database file size taken every sample interval. Workers record
+// into Recorders without locking; sample() swaps out their interval histograms.
+class SoakReport {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    record Sample(Duration elapsed, long operations, double p99Millis, long heapUsed, long heapAfterGc,
+                  long heapCommitted, long gcCount, long gcMillis, long databaseBytes) {
+    }
+
+    private final Path databaseFile;
+    private final Map<SoakWorkload.Operation, Recorder> recorders = new EnumMap<>(SoakWorkload.Operation.class);
+    private final Map<SoakWorkload.Operation, Histogram> totals = new EnumMap<>(SoakWorkload.Operation.class);
+    private final Map<SoakWorkload.Operation, LongAdder> skipped = new EnumMap<>(SoakWorkload.Operation.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final List<Sample> samples = new ArrayList<>();
+    // Recycled by each Recorder; only touched by the sampling thread.
+    private final Map<SoakWorkload.Operation, Histogram> intervals = new EnumMap<>(SoakWorkload.Operation.class);
+    private long started;
+
+    SoakReport(Path databaseFile) {
+        this.databaseFile = databaseFile;
+        for (SoakWorkload.Operation operation : SoakWorkload.Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            totals.put(operation, new Histogram(3));
+            skipped.put(operation, new LongAdder());
+        }
+    }
+
+    void record(SoakWorkload.Operation operation, long nanos) {
+        recorders.get(operation).recordValue(nanos);
+    }
+
+    void skip(SoakWorkload.Operation operation) {
+        skipped.get(operation).increment();
+    }
+
+    void fail(SoakWorkload.Operation operation, Throwable error) {
+        errors.computeIfAbsent(operation.key + " " + error.getClass().getSimpleName(), key -> new LongAdder())
+                .increment();
+    }
+
+    // Drops everything recorded so far (the warmup) and takes the first sample.
+    void start() {
+        for (SoakWorkload.Operation operation : SoakWorkload.Operation.values()) {
+            recorders.get(operation).reset();
+            totals.get(operation).reset();
+            skipped.get(operation).reset();
+        }
+        errors.clear();
+        samples.clear();
+        started = System.nanoTime();
+        samples.add(snapshot(Duration.ZERO, 0, 0));
+    }
+
+    Sample sample() {
+        Histogram merged = new Histogram(3);
+        for (SoakWorkload.Operation operation : SoakWorkload.Operation.values()) {
+            Histogram interval = recorders.get(operation).getIntervalHistogram(intervals.get(operation));
+            intervals.put(operation, interval);
+            totals.get(operation).add(interval);
+            merged.add(interval);
+        }
+        Sample sample = snapshot(Duration.ofNanos(System.nanoTime() - started), merged.getTotalCount(),
+                merged.getValueAtPercentile(99) / NANOS_PER_MILLI);
+        samples.add(sample);
+        return sample;
+    }
+
+    void write(Path report, String header) throws IOException {
+        Path parent = report.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(report), false, StandardCharsets.UTF_8)) {
+            write(out, header);
+        }
+    }
+
+    void write(PrintStream out, String header) {
+        Sample first = samples.get(0);
+        Sample last = samples.get(samples.size() - 1);
+        double seconds = Math.max(last.elapsed().toNanos() / 1e9, 1e-9);
+
+        out.println(header);
+        out.println();
+        out.printf("%-8s %10s %10s %9s %9s %9s %9s %8s%n",
+                "op", "count", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "skipped");
+        Histogram all = new Histogram(3);
+        for (SoakWorkload.Operation operation : SoakWorkload.Operation.values()) {
+            Histogram histogram = totals.get(operation);
+            all.add(histogram);
+            printRow(out, operation.key, histogram, seconds, skipped.get(operation).sum());
+        }
+        printRow(out, "all", all, seconds, skipped.values().stream().mapToLong(LongAdder::sum).sum());
+
+        out.println();
+        if (errors.isEmpty()) {
+            out.println("Errors: none");
+        } else {
+            out.println("Errors:");
+            errors.entrySet().stream().sorted(Map.Entry.comparingByKey())
+                    .forEach(error -> out.printf("  %-60s %d%n", error.getKey(), error.getValue().sum()));
+        }
+
+        out.println();
+        out.printf("Heap after GC: %.1f MB -> %.1f MB%n", first.heapAfterGc() / BYTES_PER_MB,
+                last.heapAfterGc() / BYTES_PER_MB);
+        out.printf("Database file: %.1f MB -> %.1f MB%n", first.databaseBytes() / BYTES_PER_MB,
+                last.databaseBytes() / BYTES_PER_MB);
+        out.printf("GC: %d collections, %d ms%n", last.gcCount() - first.gcCount(), last.gcMillis() - first.gcMillis());
+
+        out.println();
+        out.println("Samples (heap and database in MB, GC counted since the previous sample):");
+        out.printf("%9s %10s %9s %9s %10s %10s %6s %7s %9s%n",
+                "elapsed s", "ops/s", "p99 ms", "heap", "after GC", "committed", "GCs", "GC ms", "database");
+        Sample previous = first;
+        for (Sample sample : samples.subList(1, samples.size())) {
+            double intervalSeconds = Math.max((sample.elapsed().toNanos() - previous.elapsed().toNanos()) / 1e9, 1e-9);
+            out.printf("%9d %10.1f %9.2f %9.1f %10.1f %10.1f %6d %7d %9.1f%n",
+                    sample.elapsed().toSeconds(), sample.operations() / intervalSeconds, sample.p99Millis(),
+                    sample.heapUsed() / BYTES_PER_MB, sample.heapAfterGc() / BYTES_PER_MB,
+                    sample.heapCommitted() / BYTES_PER_MB, sample.gcCount() - previous.gcCount(),
+                    sample.gcMillis() - previous.gcMillis(), sample.databaseBytes() / BYTES_PER_MB);
+            previous = sample;
+        }
+
+        // HdrHistogram's percentile format, which its plotting tools read.
+        for (SoakWorkload.Operation operation : SoakWorkload.Operation.values()) {
+            Histogram histogram = totals.get(operation);
+            if (histogram.getTotalCount() > 0) {
+                out.println();
+                out.println("Latency distribution of " + operation.key + " (ms):");
+                histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, double seconds, long skipped) {
+        out.printf("%-8s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %8d%n", name, histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI, skipped);
+    }
+
+    // Heap after GC sums what each heap pool held after its last collection, which tracks the live
+    // set better than the current usage does.
+    private Sample snapshot(Duration elapsed, long operations, double p99Millis) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long afterGc = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage collected = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && collected != null) {
+                afterGc += collected.getUsed();
+            }
+        }
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(collector.getCollectionCount(), 0);
+            gcMillis += Math.max(collector.getCollectionTime(), 0);
+        }
+        return new Sample(elapsed, operations, p99Millis, heap.getUsed(), afterGc, heap.getCommitted(),
+                gcCount, gcMillis, databaseBytes());
+    }
+
+    private long databaseBytes() {
+        try {
+            return Files.exists(databaseFile) ? Files.size(databaseFile) : 0;
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.todo.TodoService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+// Soak test: boots the application without JavaFX on a throwaway H2 file, seeds it, then has
+// --threads virtual threads replay the --mix of TodoService calls for --warmup plus --duration.
+// Each worker is a closed loop (next call after the previous one and --think-time), so latencies
+// are per call. Run with ./mvnw -Psoak verify "-Dsoak.args=--duration=2h --threads=32"; the
+// report goes to --report. See SoakOptions for the rest.
+public final class SoakRunner {
+
+    private SoakRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        SoakOptions options = SoakOptions.parse(args);
+        Path dir = Files.createTempDirectory("todoapp-soak");
+        try {
+            run(options, dir);
+        } finally {
+            if (!options.keepDatabase()) {
+                FileSystemUtils.deleteRecursively(dir);
+            }
+        }
+    }
+
+    private static void run(SoakOptions options, Path dir) throws IOException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TodoAppApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(
+                        "todoapp.data-dir=" + dir.toString().replace('\\', '/'),
+                        "spring.main.banner-mode=off",
+                        // As in SeededDatabase: seeded todos must not move to todo_archive mid-run.
+                        "todoapp.archive.enabled=false",
+                        "logging.level.root=warn")
+                .run();
+        try {
+            SoakWorkload workload = new SoakWorkload(context.getBean(TodoService.class), options.mix());
+            workload.seed(options.seedTodos(), new Random(options.seed()));
+            SoakReport report = new SoakReport(dir.resolve("todoapp-db.mv.db"));
+
+            Instant startedAt = Instant.now();
+            long warmupEnds = System.nanoTime() + options.warmup().toNanos();
+            long deadline = warmupEnds + options.duration().toNanos();
+            try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < options.threads(); i++) {
+                    Random random = new Random(options.seed() + 1 + i);
+                    workers.submit(() -> work(workload, report, random, options.thinkTime(), deadline));
+                }
+                sleepUntil(warmupEnds);
+                report.start();
+                for (long next = warmupEnds + options.sampleInterval().toNanos(); next < deadline;
+                     next += options.sampleInterval().toNanos()) {
+                    sleepUntil(next);
+                    SoakReport.Sample sample = report.sample();
+                    System.out.printf("soak: %ds, %d calls, p99 %.2f ms, heap %d MB%n",
+                            sample.elapsed().toSeconds(), sample.operations(), sample.p99Millis(),
+                            sample.heapUsed() >> 20);
+                }
+            }
+            report.sample();
+
+            String header = "Soak test started " + startedAt + ", " + options.threads() + " threads, "
+                    + "warmup " + options.warmup() + ", measured " + options.duration() + ", think time "
+                    + options.thinkTime() + ", " + options.seedTodos() + " seeded todos ("
+                    + workload.liveCount() + " at the end), mix " + options.mix() + ", seed " + options.seed()
+                    + System.lineSeparator() + "Runtime: " + Runtime.version() + ", max heap "
+                    + (Runtime.getRuntime().maxMemory() >> 20) + " MB, database " + dir;
+            report.write(options.report(), header);
+            System.out.println("soak: report written to " + options.report().toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    // Failures are counted and the worker carries on; a soak run is about what happens over time.
+    private static void work(SoakWorkload workload, SoakReport report, Random random, Duration thinkTime,
+                             long deadline) {
+        while (System.nanoTime() < deadline) {
+            SoakWorkload.Operation operation = workload.next(random);
+            long started = System.nanoTime();
+            try {
+                if (workload.run(operation, random)) {
+                    report.record(operation, System.nanoTime() - started);
+                } else {
+                    report.skip(operation);
+                }
+            } catch (RuntimeException ex) {
+                report.fail(operation, ex);
+            }
+            if (thinkTime.isPositive()) {
+                LockSupport.parkNanos(thinkTime.toNanos());
+            }
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
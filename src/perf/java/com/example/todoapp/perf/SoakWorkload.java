@@ -0,0 +1,149 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.todo.Todo;
+import com.example.todoapp.todo.TodoDraft;
+import com.example.todoapp.todo.TodoService;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// The operations SoakRunner replays, each shaped like the UI's use of TodoService. Dates follow the
+// same recent-heavy skew as the benchmark dataset. Updates and deletes draw from the todos the
+// workload knows to exist, so the table keeps about the size the mix settles at.
+class SoakWorkload {
+
+    enum Operation {
+        CREATE("create"),
+        UPDATE("update"),
+        DELETE("delete"),
+        // Opening a day: its count and the first page of the list, as PagedTodoList does.
+        DATE_BROWSE("date"),
+        MONTH_BROWSE("month");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        static Operation named(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation: " + key);
+        }
+    }
+
+    private record Live(Long id, LocalDate date) {
+    }
+
+    private static final int SEED_CHUNK = 10_000;
+    private static final int PAGE_SIZE = 100;
+
+    private final TodoService todoService;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    // Guarded by this.
+    private final List<Live> live = new ArrayList<>();
+
+    SoakWorkload(TodoService todoService, Map<Operation, Integer> mix) {
+        this.todoService = todoService;
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.operations = weighted.toArray(new Operation[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    void seed(int todos, Random random) {
+        List<TodoDraft> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < todos; i++) {
+            chunk.add(new TodoDraft(SeededDatabase.skewedDate(random), "todo " + i, "soak content " + i,
+                    random.nextInt(4) == 0));
+            if (chunk.size() == SEED_CHUNK || i == todos - 1) {
+                for (Todo todo : todoService.createAll(chunk)) {
+                    remember(todo);
+                }
+                chunk.clear();
+            }
+        }
+    }
+
+    Operation next(Random random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new AssertionError();
+    }
+
+    // False when there was nothing to update or delete.
+    boolean run(Operation operation, Random random) {
+        switch (operation) {
+            case CREATE -> {
+                LocalDate date = SeededDatabase.skewedDate(random);
+                remember(todoService.create(date, "soak " + random.nextInt(1_000_000), "created", false));
+            }
+            case UPDATE -> {
+                Live todo = pick(random);
+                if (todo == null) {
+                    return false;
+                }
+                todoService.update(todo.id(), todo.date(), "edited " + random.nextInt(1_000_000), "updated",
+                        random.nextBoolean());
+            }
+            case DELETE -> {
+                Live todo = take(random);
+                if (todo == null) {
+                    return false;
+                }
+                todoService.delete(todo.id());
+            }
+            case DATE_BROWSE -> {
+                LocalDate date = SeededDatabase.skewedDate(random);
+                todoService.countTodosForDate(date);
+                todoService.getTodoPage(date, null, PAGE_SIZE);
+            }
+            case MONTH_BROWSE -> todoService.getMonthDayStatuses(YearMonth.from(SeededDatabase.skewedDate(random)));
+        }
+        return true;
+    }
+
+    synchronized int liveCount() {
+        return live.size();
+    }
+
+    private synchronized void remember(Todo todo) {
+        live.add(new Live(todo.getId(), todo.getDate()));
+    }
+
+    private synchronized Live pick(Random random) {
+        return live.isEmpty() ? null : live.get(random.nextInt(live.size()));
+    }
+
+    // Swaps the last entry into the hole so removal stays O(1).
+    private synchronized Live take(Random random) {
+        if (live.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(live.size());
+        Live last = live.remove(live.size() - 1);
+        return index == live.size() ? last : live.set(index, last);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.todo.DaySummary;
+import com.example.todoapp.todo.Todo;
+import com.example.todoapp.todo.TodoDaySummary;
+import com.example.todoapp.todo.TodoListItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Raw query costs, including the GROUP BY that todo_day_summary replaced, for comparison.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TodoRepositoryBenchmark {
+
+    @Benchmark
+    public List<Todo> findByDateOrderByDoneAscCreatedAtAsc(SeededDatabase db, BenchmarkCursor cursor) {
+        return db.todoRepository.findByDateOrderByDoneAscCreatedAtAsc(SeededDatabase.skewedDate(cursor.random));
+    }
+
+    // The same day as list projections: no content column, no managed entities.
+    @Benchmark
+    public List<TodoListItem> findListItemsByDate(SeededDatabase db, BenchmarkCursor cursor) {
+        return db.todoRepository.findListItemsByDate(SeededDatabase.skewedDate(cursor.random), Limit.unlimited());
+    }
+
+    @Benchmark
+    public List<TodoDaySummary> summarizeByDate(SeededDatabase db, BenchmarkCursor cursor) {
+        YearMonth month = YearMonth.from(SeededDatabase.skewedDate(cursor.random));
+        return db.todoRepository.summarizeByDate(month.atDay(1), month.atEndOfMonth());
+    }
+
+    @Benchmark
+    public List<DaySummary> findDaySummariesBetween(SeededDatabase db, BenchmarkCursor cursor) {
+        YearMonth month = YearMonth.from(SeededDatabase.skewedDate(cursor.random));
+        return db.daySummaryRepository.findByDateBetween(month.atDay(1), month.atEndOfMonth());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todoapp.perf;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Search as the search box runs it (limit 50), from a one-letter prefix that matches most todos to
+// queries whose rarest token keeps the candidates few.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TodoSearchIndexBenchmark {
+
+    private static final int LIMIT = 50;
+
+    @Benchmark
+    public List<Long> oneLetterPrefix(SearchCorpus corpus) {
+        return corpus.index.search("r", LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> twoLetterPrefix(SearchCorpus corpus) {
+        return corpus.index.search("re", LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> word(SearchCorpus corpus) {
+        return corpus.index.search("invoice", LIMIT);
+    }
+
+    @Benchmark
+    public List<Long> commonAndRareWord(SearchCorpus corpus) {
+        return corpus.index.search("p budget", LIMIT);
+    }
+
+    // Bigram matching inside compounds: "우유" also finds "딸기우유".
+    @Benchmark
+    public List<Long> koreanWord(SearchCorpus corpus) {
+        return corpus.index.search("우유", LIMIT);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.todo.DayStatus;
+import com.example.todoapp.todo.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TodoServiceBenchmark {
+
+    private static final int CONTENDED_THREADS = 8;
+
+    @Benchmark
+    public List<Todo> getTodosForDate(SeededDatabase db, BenchmarkCursor cursor) {
+        return db.todoService.getTodosForDate(SeededDatabase.skewedDate(cursor.random));
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public List<Todo> getTodosForDateContended(SeededDatabase db, BenchmarkCursor cursor) {
+        return getTodosForDate(db, cursor);
+    }
+
+    @Benchmark
+    public Map<LocalDate, DayStatus> getMonthDayStatuses(SeededDatabase db, BenchmarkCursor cursor) {
+        return db.todoService.getMonthDayStatuses(YearMonth.from(SeededDatabase.skewedDate(cursor.random)));
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public Map<LocalDate, DayStatus> getMonthDayStatusesContended(SeededDatabase db, BenchmarkCursor cursor) {
+        return getMonthDayStatuses(db, cursor);
+    }
+
+    @Benchmark
+    public Todo create(SeededDatabase db, BenchmarkCursor cursor) {
+        Todo todo = db.todoService.create(cursor.scratchDate, "created", "created", false);
+        cursor.created.add(todo.getId());
+        return todo;
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public Todo createContended(SeededDatabase db, BenchmarkCursor cursor) {
+        return create(db, cursor);
+    }
+
+    // Sampled todos share days across threads; the rare lost version check is retried by TodoService.
+    @Benchmark
+    public Todo update(SeededDatabase db, BenchmarkCursor cursor) {
+        Todo todo = db.sampleTodo(cursor.random);
+        return db.todoService.update(todo.getId(), todo.getDate(), todo.getTitle(), todo.getContent(),
+                cursor.random.nextBoolean());
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public Todo updateContended(SeededDatabase db, BenchmarkCursor cursor) {
+        return update(db, cursor);
+    }
+
+    @Benchmark
+    public void delete(SeededDatabase db, DeletePool pool) {
+        db.todoService.delete(pool.next(db));
+    }
+
+    @Benchmark
+    @Threads(CONTENDED_THREADS)
+    public void deleteContended(SeededDatabase db, DeletePool pool) {
+        delete(db, pool);
+    }
+}
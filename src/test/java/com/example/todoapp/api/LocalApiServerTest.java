@@ -0,0 +1,153 @@
+package com.example.todoapp.api;
+
+import com.example.todoapp.TodoAppApplication;
+import com.example.todoapp.todo.Todo;
+import com.example.todoapp.todo.TodoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Requests are served on the server's own threads, so these tests commit; each range is cleared first.
+@SpringBootTest(classes = TodoAppApplication.class, properties = {
+        "todoapp.api.enabled=true",
+        "todoapp.api.port=0",
+        "spring.datasource.url=jdbc:h2:mem:todoapp-api-test;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+class LocalApiServerTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Autowired
+    private LocalApiServer server;
+
+    @Autowired
+    private TodoService todoService;
+
+    @BeforeEach
+    void clear() {
+        for (LocalDate date : List.of(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 2))) {
+            todoService.deleteAll(todoService.getTodosForDate(date).stream().map(Todo::getId).toList());
+        }
+    }
+
+    @Test
+    void todos_canBeCreatedReadStreamedAndDeleted() throws Exception {
+        HttpResponse<String> created = send("POST", "/todos",
+                "{\"date\":\"2026-03-01\",\"title\":\"A\",\"content\":\"a\",\"done\":false}");
+        assertEquals(201, created.statusCode());
+        long id = idOf(created.body());
+
+        HttpResponse<String> read = send("GET", "/todos/" + id, null);
+        assertEquals(200, read.statusCode());
+        assertTrue(read.body().contains("\"title\":\"A\""));
+
+        send("POST", "/todos", "{\"date\":\"2026-03-02\",\"title\":\"B\",\"content\":\"b\",\"done\":true}");
+        HttpResponse<String> range = send("GET", "/todos?from=2026-03-01&to=2026-03-02", null);
+        assertEquals(200, range.statusCode());
+        List<String> lines = range.body().lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"title\":\"A\""));
+        assertTrue(lines.get(1).contains("\"title\":\"B\""));
+
+        HttpResponse<String> days = send("GET", "/days?from=2026-03-01&to=2026-03-31", null);
+        assertEquals(List.of("{\"date\":\"2026-03-01\",\"total\":1,\"done\":0}",
+                "{\"date\":\"2026-03-02\",\"total\":1,\"done\":1}"), days.body().lines().toList());
+
+        assertEquals(204, send("DELETE", "/todos/" + id, null).statusCode());
+        assertEquals(404, send("GET", "/todos/" + id, null).statusCode());
+    }
+
+    @Test
+    void batch_appliesCreatesUpdatesAndDeletes() throws Exception {
+        long keep = idOf(send("POST", "/todos", "{\"date\":\"2026-03-01\",\"title\":\"keep\",\"content\":\"k\"}").body());
+        long drop = idOf(send("POST", "/todos", "{\"date\":\"2026-03-01\",\"title\":\"drop\",\"content\":\"d\"}").body());
+
+        HttpResponse<String> batch = send("POST", "/batch", "{"
+                + "\"create\":[{\"date\":\"2026-03-01\",\"title\":\"new\",\"content\":\"n\"}],"
+                + "\"update\":[{\"id\":" + keep + ",\"date\":\"2026-03-01\",\"title\":\"kept\",\"content\":\"k\",\"done\":true}],"
+                + "\"delete\":[" + drop + "]}");
+        assertEquals(200, batch.statusCode());
+        assertTrue(batch.body().contains("\"updated\":1"));
+        assertTrue(batch.body().contains("\"deleted\":1"));
+
+        HttpResponse<String> page = send("GET", "/days/2026-03-01?size=1", null);
+        assertTrue(page.body().contains("\"title\":\"new\""));
+        Matcher next = Pattern.compile("\"next\":\"([^\"]+)\"").matcher(page.body());
+        assertTrue(next.find());
+        HttpResponse<String> second = send("GET", "/days/2026-03-01?size=1&after="
+                + URLEncoder.encode(next.group(1), StandardCharsets.UTF_8), null);
+        assertTrue(second.body().contains("\"title\":\"kept\""));
+        assertTrue(second.body().contains("\"next\":null"));
+    }
+
+    @Test
+    void batch_appliesNothingWhenAnyPartFails() throws Exception {
+        long keep = idOf(send("POST", "/todos", "{\"date\":\"2026-03-02\",\"title\":\"keep\",\"content\":\"k\"}").body());
+
+        HttpResponse<String> batch = send("POST", "/batch", "{"
+                + "\"create\":[{\"date\":\"2026-03-02\",\"title\":\"new\",\"content\":\"n\"}],"
+                + "\"update\":[{\"id\":" + Long.MAX_VALUE + ",\"date\":\"2026-03-02\",\"title\":\"x\",\"content\":\"x\"}],"
+                + "\"delete\":[" + keep + "]}");
+        assertEquals(400, batch.statusCode());
+
+        assertEquals(List.of("keep"), todoService.getTodosForDate(LocalDate.of(2026, 3, 2)).stream()
+                .map(Todo::getTitle).toList());
+        assertEquals(List.of("{\"date\":\"2026-03-02\",\"total\":1,\"done\":0}"),
+                send("GET", "/days?from=2026-03-02&to=2026-03-02", null).body().lines().toList());
+    }
+
+    @Test
+    void rejectsBadRequests() throws Exception {
+        assertEquals(400, send("POST", "/todos", "{\"title\":\"no date\"}").statusCode());
+        assertEquals(400, send("POST", "/todos", "{\"date\":\"2026-03-01\",\"title\":\"\",\"content\":\"x\"}").statusCode());
+        assertEquals(400, send("POST", "/todos", "{not json").statusCode());
+        assertEquals(400, send("GET", "/todos?from=2026-03-02&to=2026-03-01", null).statusCode());
+        assertEquals(404, send("GET", "/nothing", null).statusCode());
+        assertEquals(405, send("PATCH", "/todos/1", "{}").statusCode());
+
+        HttpRequest form = HttpRequest.newBuilder(uri("/todos"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("date=2026-03-01"))
+                .build();
+        assertEquals(415, client.send(form, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path));
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(body));
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    private static long idOf(String json) {
+        Matcher matcher = ID.matcher(json);
+        assertTrue(matcher.find(), json);
+        return Long.parseLong(matcher.group(1));
+    }
+}
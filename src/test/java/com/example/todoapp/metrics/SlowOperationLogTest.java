@@ -0,0 +1,46 @@
+package com.example.todoapp.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowOperationLogTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void record_keepsOnlyOperationsOverThreshold() {
+        SlowOperationLog log = new SlowOperationLog(Duration.ofMillis(100), 10);
+
+        log.record("TodoService.create", 5 * MS, null);
+        log.record("TodoService.update", 150 * MS, null);
+        log.record("TodoRepository.findById", 300 * MS, new IllegalStateException());
+
+        List<SlowOperationLog.SlowOperation> recent = log.recent();
+        assertEquals(2, recent.size());
+        assertEquals("TodoRepository.findById", recent.get(0).operation());
+        assertEquals("IllegalStateException", recent.get(0).outcome());
+        assertEquals("TodoService.update", recent.get(1).operation());
+        assertEquals(Duration.ofMillis(150), recent.get(1).duration());
+    }
+
+    @Test
+    void record_overwritesOldestEntriesWhenFull() {
+        SlowOperationLog log = new SlowOperationLog(Duration.ZERO, 3);
+
+        for (int i = 1; i <= 5; i++) {
+            log.record("op" + i, i * MS, null);
+        }
+
+        List<String> operations = log.recent().stream().map(SlowOperationLog.SlowOperation::operation).toList();
+        assertEquals(List.of("op5", "op4", "op3"), operations);
+        assertEquals(5, log.getTotal());
+
+        log.clear();
+        assertTrue(log.recent().isEmpty());
+        assertEquals(0, log.getTotal());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.todoapp.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageStatsTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void from_readsTheInfoSettings() {
+        StorageStats stats = StorageStats.from(Map.of(
+                "info.FILE_SIZE", String.valueOf(64 * MB),
+                "info.FILL_RATE", "70",
+                "info.CHUNKS_FILL_RATE", "45",
+                "info.CACHE_MAX_SIZE", "16",
+                "info.CACHE_SIZE", "3",
+                "info.FILE_WRITE", "1200"));
+
+        assertEquals(64 * MB, stats.fileSizeBytes());
+        assertEquals(70, stats.fillRate());
+        assertEquals(45, stats.chunksFillRate());
+        assertEquals(16, stats.cacheMaxMb());
+        assertEquals(3, stats.cacheUsedMb());
+        assertEquals(1200, stats.writeCount());
+        assertTrue(stats.hasFile());
+    }
+
+    @Test
+    void worthCompacting_needsAFileThatIsBigAndEmptyEnough() {
+        StorageStats sparse = new StorageStats(64 * MB, 70, 45, 16, 3, 0);
+        assertTrue(sparse.worthCompacting(50, 16 * MB));
+        assertFalse(sparse.worthCompacting(40, 16 * MB));
+        assertFalse(sparse.worthCompacting(50, 128 * MB));
+
+        // In-memory databases publish no file figures.
+        StorageStats inMemory = StorageStats.from(Map.of("info.CACHE_MAX_SIZE", "16"));
+        assertFalse(inMemory.hasFile());
+        assertFalse(inMemory.worthCompacting(100, 0));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.todoapp.todo;
+
+import com.example.todoapp.TodoAppApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Without a cached boundary, as in the shared profile, days another instance archived are read from
+// todo_archive right away.
+@SpringBootTest(classes = TodoAppApplication.class, properties = {
+        "todoapp.archive.cache-boundary=false",
+        "spring.datasource.url=jdbc:h2:mem:todoapp-cold-boundary-test;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@Transactional
+class ColdBoundaryTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archiveRepository;
+
+    @Test
+    void daysArchivedElsewhere_areReadFromTheArchive() {
+        LocalDate date = LocalDate.of(2018, 4, 2);
+        Todo todo = todoService.create(date, "A", "A", true);
+        assertEquals(1, todoService.getTodosForDate(date).size());
+
+        // What another instance's archive chunk does, without this TodoService taking part.
+        archiveRepository.copyFromTodo(List.of(todo.getId()));
+        todoRepository.deleteRowsKeepingTags(List.of(todo.getId()));
+
+        assertEquals(List.of(todo.getId()), todoService.getTodosForDate(date).stream().map(Todo::getId).toList());
+        assertEquals(1, todoService.getTodoPage(date, null, 10).items().size());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.todoapp.todo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DayStatusIndexTest {
+
+    private final DayStatusIndex index = new DayStatusIndex();
+
+    private static List<String> days(DayStatusIndex index, LocalDate from, LocalDate to) {
+        List<String> days = new ArrayList<>();
+        index.forEachDay(from, to, (epochDay, total, done) -> days.add(LocalDate.ofEpochDay(epochDay) + "=" + total + "/" + done));
+        return days;
+    }
+
+    @Test
+    void set_growsChunksInBothDirections() {
+        index.set(LocalDate.of(2026, 3, 1), 3, 1);
+        index.set(LocalDate.of(1960, 1, 1), 1, 1);
+        index.set(LocalDate.of(2100, 12, 31), 2, 0);
+
+        assertEquals(3, index.allocatedChunks());
+        assertEquals(3L * DayStatusIndex.CHUNK_DAYS * 8, index.memoryBytes());
+        assertEquals(DayStatus.INCOMPLETE, index.status(LocalDate.of(2026, 3, 1)));
+        assertEquals(DayStatus.ALL_DONE, index.status(LocalDate.of(1960, 1, 1)));
+        assertEquals(DayStatus.NONE, index.status(LocalDate.of(2026, 3, 2)));
+        assertEquals(List.of("1960-01-01=1/1", "2026-03-01=3/1", "2100-12-31=2/0"),
+                days(index, LocalDate.MIN, LocalDate.MAX));
+        assertEquals(List.of("2026-03-01=3/1"), days(index, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31)));
+    }
+
+    @Test
+    void set_toZeroDoesNotAllocate() {
+        index.set(LocalDate.of(2026, 3, 1), 0, 0);
+        assertEquals(0, index.allocatedChunks());
+
+        index.set(LocalDate.of(2026, 3, 1), 1, 0);
+        index.set(LocalDate.of(2026, 3, 1), 0, 0);
+        assertEquals(List.of(), days(index, LocalDate.MIN, LocalDate.MAX));
+    }
+
+    @Test
+    void load_keepsDaysSetWhileLoading() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+        assertFalse(index.isReady());
+
+        index.beginLoad();
+        index.set(day, 2, 2);
+        index.load(day, 1, 0);
+        index.load(day.plusDays(1), 4, 1);
+        index.endLoad(true);
+
+        assertTrue(index.isReady());
+        assertEquals(List.of("2026-03-01=2/2", "2026-03-02=4/1"), days(index, day, day.plusDays(1)));
+    }
+
+    @Test
+    void copyTo_fillsTheRange() {
+        index.replaceAll(Map.of(LocalDate.of(2026, 1, 1), new int[]{2, 1}, LocalDate.of(2026, 12, 31), new int[]{1, 1}));
+
+        DayStatusRange range = new DayStatusRange(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+        index.copyTo(range);
+
+        assertEquals(DayStatus.INCOMPLETE, range.getStatus(LocalDate.of(2026, 1, 1)));
+        assertEquals(DayStatus.ALL_DONE, range.getStatus(LocalDate.of(2026, 12, 31)));
+        assertEquals(2, range.maxTotal());
+    }
+}
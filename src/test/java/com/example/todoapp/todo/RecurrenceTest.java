@@ -0,0 +1,53 @@
+package com.example.todoapp.todo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceTest {
+
+    private static Recurrence rule(RecurrenceRule.Frequency frequency, int interval, LocalDate start, LocalDate end) {
+        return new Recurrence(7, "T", "C", frequency, interval, start, end, Instant.EPOCH);
+    }
+
+    @Test
+    void datesBetween_stepsFromTheStartDateNotFromTheRange() {
+        Recurrence everyOtherMonday = rule(RecurrenceRule.Frequency.WEEKLY, 2, LocalDate.of(2026, 1, 5), null);
+
+        assertEquals(List.of(LocalDate.of(2026, 1, 19), LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 16)),
+                everyOtherMonday.datesBetween(LocalDate.of(2026, 1, 10), LocalDate.of(2026, 2, 28)));
+        assertTrue(everyOtherMonday.occursOn(LocalDate.of(2026, 1, 5)));
+        assertFalse(everyOtherMonday.occursOn(LocalDate.of(2026, 1, 12)));
+    }
+
+    @Test
+    void datesBetween_skipsMonthsWithoutTheDay() {
+        Recurrence monthly = rule(RecurrenceRule.Frequency.MONTHLY, 1, LocalDate.of(2026, 1, 31), null);
+
+        assertEquals(List.of(LocalDate.of(2026, 1, 31), LocalDate.of(2026, 3, 31), LocalDate.of(2026, 5, 31)),
+                monthly.datesBetween(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 5, 31)));
+    }
+
+    @Test
+    void datesBetween_stopsAtTheEndDate() {
+        Recurrence daily = rule(RecurrenceRule.Frequency.DAILY, 1, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 3));
+
+        assertEquals(List.of(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 2), LocalDate.of(2026, 1, 3)),
+                daily.datesBetween(LocalDate.of(2025, 12, 30), LocalDate.of(2026, 1, 10)));
+        assertEquals(List.of(), daily.datesBetween(LocalDate.of(2026, 1, 4), LocalDate.of(2026, 1, 31)));
+    }
+
+    @Test
+    void occurrenceIds_areNegatedRuleIds() {
+        Recurrence recurrence = rule(RecurrenceRule.Frequency.DAILY, 1, LocalDate.of(2026, 1, 1), null);
+
+        assertEquals(-7L, recurrence.occurrenceId());
+        assertTrue(Recurrence.isOccurrenceId(recurrence.occurrenceId()));
+        assertEquals(7L, Recurrence.ruleIdOf(recurrence.occurrenceId()));
+        assertFalse(Recurrence.isOccurrenceId(7L));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.todoapp.todo;
+
+import com.example.todoapp.TodoAppApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tag filters as the shared profile answers them: from the tables, without TagIndex.
+@SpringBootTest(classes = TodoAppApplication.class, properties = {
+        "todoapp.tag-index.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:todoapp-tag-filter-test;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@Transactional
+class TagFilterDatabaseTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TagIndex tagIndex;
+
+    @Test
+    void tagFilters_areAnsweredFromTheTablesIncludingTheArchive() {
+        LocalDate date = LocalDate.of(2000, 6, 1);
+        Todo a = todoService.create(date, "A", "A", false);
+        Todo b = todoService.create(date, "B", "B", true);
+        Todo c = todoService.create(date.plusDays(1), "C", "C", true);
+        todoService.setTags(a.getId(), List.of("업무"));
+        List<Tag> tags = todoService.setTags(b.getId(), List.of("업무", "집"));
+        todoService.setTags(c.getId(), List.of("집"));
+        Long work = tags.stream().filter(tag -> tag.getName().equals("업무")).findFirst().orElseThrow().getId();
+        Long home = tags.stream().filter(tag -> tag.getName().equals("집")).findFirst().orElseThrow().getId();
+
+        TagFilter workOnly = new TagFilter(Set.of(work), false);
+        TagFilter both = new TagFilter(Set.of(work, home), true);
+        assertEquals(2, todoService.countTodosForDate(date, workOnly));
+        assertEquals(List.of(b.getId()), todoService.getTodoPage(date, null, 10, both).items().stream()
+                .map(TodoListItem::id).toList());
+        assertEquals(Map.of(date, DayStatus.ALL_DONE, date.plusDays(1), DayStatus.ALL_DONE),
+                todoService.getMonthDayStatuses(YearMonth.of(2000, 6), new TagFilter(Set.of(home), true)));
+
+        assertEquals(2, todoService.archiveDoneBefore(LocalDate.of(2001, 1, 1)));
+        DayStatusRange range = todoService.getDayStatuses(date, date.plusDays(1), new TagFilter(Set.of(work, home), false));
+        assertEquals(DayStatus.INCOMPLETE, range.getStatus(date));
+        assertEquals(DayStatus.ALL_DONE, range.getStatus(date.plusDays(1)));
+        assertEquals(List.of(a.getId(), b.getId()), todoService.getTodoPage(date, null, 10, workOnly).items().stream()
+                .map(TodoListItem::id).toList());
+
+        assertFalse(tagIndex.isReady());
+        assertEquals(0, tagIndex.tagCount());
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.todoapp.todo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 5, 4);
+    private static final long WORK = 1;
+    private static final long HOME = 2;
+
+    private final TagIndex index = new TagIndex();
+
+    private static TodoListItem item(long id, boolean done) {
+        return new TodoListItem(id, "T" + id, done, Instant.EPOCH);
+    }
+
+    private static List<String> days(TagIndex index, TagFilter filter) {
+        List<String> days = new ArrayList<>();
+        index.forEachDay(LocalDate.MIN, LocalDate.MAX, filter,
+                (epochDay, total, done) -> days.add(LocalDate.ofEpochDay(epochDay) + "=" + total + "/" + done));
+        return days;
+    }
+
+    @Test
+    void filters_matchAnyOrAllTagsPerDay() {
+        index.todosChanged(List.of(
+                TodoChange.created(DAY, item(1, false)),
+                TodoChange.created(DAY, item(2, true)),
+                TodoChange.created(DAY.plusDays(1), item(3, false))));
+        index.tagsChanged(Map.of(1L, Set.of(WORK), 2L, Set.of(WORK, HOME), 3L, Set.of(HOME)));
+
+        TagFilter any = new TagFilter(Set.of(WORK, HOME), false);
+        TagFilter all = new TagFilter(Set.of(WORK, HOME), true);
+        assertEquals(2, index.count(DAY, any));
+        assertEquals(List.of(2L), index.idsOn(DAY, all));
+        assertEquals(List.of("2026-05-04=2/1", "2026-05-05=1/0"), days(index, any));
+        assertEquals(List.of("2026-05-04=1/1"), days(index, all));
+        assertEquals(List.of(), days(index, new TagFilter(Set.of(WORK, 99L), true)));
+    }
+
+    @Test
+    void changes_moveDoneAndDeleteTodos() {
+        index.todosChanged(List.of(TodoChange.created(DAY, item(1, false))));
+        index.tagsChanged(Map.of(1L, Set.of(WORK)));
+        TagFilter work = new TagFilter(Set.of(WORK), false);
+
+        index.todosChanged(List.of(TodoChange.updated(DAY, item(1, false), DAY.plusDays(2), item(1, true))));
+        assertEquals(List.of("2026-05-06=1/1"), days(index, work));
+
+        index.tagsChanged(Map.of(1L, Set.of(HOME)));
+        assertEquals(List.of(), days(index, work));
+
+        index.todosChanged(List.of(TodoChange.deleted(DAY.plusDays(2), item(1, true))));
+        assertEquals(List.of(), days(index, new TagFilter(Set.of(HOME), false)));
+    }
+
+    @Test
+    void load_keepsTodosChangedWhileItRuns() {
+        index.beginLoad();
+        index.todosChanged(List.of(TodoChange.deleted(DAY, item(1, false))));
+        index.tagsChanged(Map.of(2L, Set.of(HOME)));
+        index.loadTodo(1, DAY, false);
+        index.loadTodo(2, DAY, false);
+        index.loadLink(1, WORK);
+        index.loadLink(2, WORK);
+        index.endLoad(true);
+
+        assertTrue(index.isReady());
+        assertEquals(0, index.count(DAY, new TagFilter(Set.of(WORK), false)));
+        assertEquals(List.of(2L), index.idsOn(DAY, new TagFilter(Set.of(HOME), false)));
+    }
+}
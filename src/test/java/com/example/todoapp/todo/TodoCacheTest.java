@@ -0,0 +1,90 @@
+package com.example.todoapp.todo;
+
+import com.example.todoapp.TodoAppApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The cache lives across transactions, so these tests commit and clean up after themselves.
+// A database of their own keeps the other contexts' schema out of reach of create-drop.
+@SpringBootTest(classes = TodoAppApplication.class, properties = {
+        "todoapp.cache.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:todoapp-cache-test;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+class TodoCacheTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private DaySummaryRepository daySummaryRepository;
+
+    @Autowired
+    private TodoCacheStatistics cacheStatistics;
+
+    @Test
+    void getById_isServedFromTheCacheAndSeesUpdates() {
+        LocalDate date = LocalDate.of(2026, 7, 1);
+        Todo todo = todoService.create(date, "A", "A", false);
+        try {
+            todoService.getById(todo.getId());
+            long hits = cacheStatistics.getTodoHits();
+            todoService.getById(todo.getId());
+            assertEquals(hits + 1, cacheStatistics.getTodoHits());
+
+            todoService.update(todo.getId(), date, "B", "A", true);
+            assertEquals("B", todoService.getById(todo.getId()).orElseThrow().getTitle());
+        } finally {
+            todoService.delete(todo.getId());
+        }
+        assertTrue(todoService.getById(todo.getId()).isEmpty());
+    }
+
+    @Test
+    void dayList_isQueryCachedUntilTheTodoTableIsWritten() {
+        LocalDate date = LocalDate.of(2026, 7, 2);
+        Todo a = todoService.create(date, "A", "A", false);
+        Todo b = null;
+        try {
+            todoService.getTodoPage(date, null, 10);
+            long hits = cacheStatistics.getDayListHits();
+            assertEquals(1, todoService.getTodoPage(date, null, 10).items().size());
+            assertEquals(hits + 1, cacheStatistics.getDayListHits());
+
+            b = todoService.create(date, "B", "B", false);
+            long misses = cacheStatistics.getDayListMisses();
+            assertEquals(2, todoService.getTodoPage(date, null, 10).items().size());
+            assertEquals(misses + 1, cacheStatistics.getDayListMisses());
+        } finally {
+            todoService.delete(a.getId());
+            if (b != null) {
+                todoService.delete(b.getId());
+            }
+        }
+    }
+
+    @Test
+    void daySummaryRange_isQueryCachedUntilASummaryIsWritten() {
+        LocalDate date = LocalDate.of(2026, 7, 3);
+        Todo a = todoService.create(date, "A", "A", false);
+        try {
+            daySummaryRepository.findByDateBetween(date, date);
+            long hits = cacheStatistics.getDaySummaryHits();
+            assertEquals(1, daySummaryRepository.findByDateBetween(date, date).get(0).getTotalCount());
+            assertEquals(hits + 1, cacheStatistics.getDaySummaryHits());
+
+            todoService.update(a.getId(), date, "A", "A", true);
+            long misses = cacheStatistics.getDaySummaryMisses();
+            assertEquals(1, daySummaryRepository.findByDateBetween(date, date).get(0).getDoneCount());
+            assertEquals(misses + 1, cacheStatistics.getDaySummaryMisses());
+        } finally {
+            todoService.delete(a.getId());
+        }
+    }
+}
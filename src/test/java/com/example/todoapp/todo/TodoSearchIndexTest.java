@@ -0,0 +1,75 @@
+package com.example.todoapp.todo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoSearchIndexTest {
+
+    @Test
+    void search_matchesWordPrefixes() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        index.add(1, "Quarterly report", "draft numbers");
+        index.add(2, "Groceries", "milk, eggs");
+
+        assertEquals(List.of(1L), index.search("quart", 10));
+        assertEquals(List.of(2L), index.search("MILK", 10));
+        assertTrue(index.search("report milk", 10).isEmpty());
+    }
+
+    @Test
+    void search_findsKoreanWordsInsideCompoundsAndParticles() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        index.add(1, "장보기", "딸기우유를 사기");
+        index.add(2, "우유 배달", "아침 7시");
+
+        List<Long> hits = index.search("우유", 10);
+        // the title match ranks above the match inside the content
+        assertEquals(List.of(2L, 1L), hits);
+        assertEquals(List.of(1L), index.search("장보", 10));
+    }
+
+    @Test
+    void search_keepsTheBestHitsWithinTheLimit() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        for (long id = 1; id <= 100; id++) {
+            index.add(id, "plan", id % 10 == 0 ? "plan budget" : "notes");
+        }
+        index.add(101, "budget", "plan");
+
+        // title and content beat title alone; newer todos win ties
+        assertEquals(List.of(100L, 90L, 80L), index.search("pla", 3));
+        assertEquals(List.of(101L, 100L), index.search("budget plan", 2));
+        assertEquals(11, index.search("budget plan", 100).size());
+    }
+
+    @Test
+    void removeAndReAdd_keepIndexInSyncWithEdits() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        index.add(1, "회의 준비", "자료 정리");
+
+        index.remove(1, "회의 준비", "자료 정리");
+        index.add(1, "운동", "자료 정리");
+
+        assertTrue(index.search("회의", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("운동", 10));
+        assertEquals(List.of(1L), index.search("자료", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void load_skipsTodosChangedWhileLoading() {
+        TodoSearchIndex index = new TodoSearchIndex();
+        index.beginLoad();
+        index.add(1, "new title", "body");
+        index.load(1, "stale title", "body");
+        index.load(2, "other", "body");
+        index.endLoad();
+
+        assertTrue(index.search("stale", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("new", 10));
+        assertEquals(List.of(2L), index.search("other", 10));
+    }
+}
@@ -5,14 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.validation.ConstraintViolationException;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,6 +32,15 @@ class TodoServiceTest {
     @Autowired
     private TodoService todoService;
 
+    @Autowired
+    private DayStatusIndex dayIndex;
+
+    @Autowired
+    private DayStatusIndexLoader dayIndexLoader;
+
+    @Autowired
+    private TagIndexLoader tagIndexLoader;
+
     @Test
     void create_persistsAndDefaultsAreApplied() {
         LocalDate date = LocalDate.of(2025, 12, 15);
@@ -76,6 +93,36 @@ class TodoServiceTest {
         assertTrue(todos.get(1).isDone());
     }
 
+    @Test
+    void getTodoPage_walksTheDayInListOrder() {
+        LocalDate date = LocalDate.of(2025, 10, 20);
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(todoService.create(date, "T" + i, "C" + i, i % 3 == 0).getId());
+        }
+        todoService.create(date.plusDays(1), "other day", "x", false);
+
+        List<Long> expected = todoService.getTodosForDate(date).stream().map(Todo::getId).toList();
+        assertEquals(7, todoService.countTodosForDate(date));
+
+        List<Long> paged = new ArrayList<>();
+        TodoPage page = todoService.getTodoPage(date, null, 3);
+        int pages = 1;
+        paged.addAll(page.items().stream().map(TodoListItem::id).toList());
+        while (page.hasNext()) {
+            page = todoService.getTodoPage(date, page.next(), 3);
+            paged.addAll(page.items().stream().map(TodoListItem::id).toList());
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(expected, paged);
+        assertTrue(paged.containsAll(created));
+        // the last open item is followed by the first done one
+        assertFalse(todoService.getTodoPage(date, null, 4).items().get(3).done());
+        assertTrue(todoService.getTodoPage(date, null, 5).items().get(4).done());
+    }
+
     @Test
     void getMonthDayStatuses_incompleteVsAllDone() {
         LocalDate d1 = LocalDate.of(2025, 12, 15);
@@ -96,4 +143,425 @@ class TodoServiceTest {
         assertEquals(DayStatus.ALL_DONE, statuses.get(d1));
         assertEquals(DayStatus.INCOMPLETE, statuses.get(d2));
     }
+
+    @Test
+    void getDayStatuses_coversWholeYearInOneRange() {
+        LocalDate jan = LocalDate.of(2024, 1, 1);
+        LocalDate leapDay = LocalDate.of(2024, 2, 29);
+        LocalDate dec = LocalDate.of(2024, 12, 31);
+
+        todoService.create(jan, "A", "A", true);
+        todoService.create(leapDay, "B", "B", false);
+        todoService.create(leapDay, "C", "C", true);
+        todoService.create(dec, "D", "D", true);
+        todoService.create(LocalDate.of(2025, 1, 1), "E", "E", false);
+
+        DayStatusRange year = todoService.getDayStatuses(jan, dec);
+
+        assertEquals(366, year.size());
+        assertEquals(dec, year.getTo());
+        assertEquals(DayStatus.ALL_DONE, year.getStatus(jan));
+        assertEquals(DayStatus.INCOMPLETE, year.getStatus(leapDay));
+        assertEquals(2, year.totalAt(year.indexOf(leapDay)));
+        assertEquals(1, year.doneAt(year.indexOf(leapDay)));
+        assertEquals(DayStatus.ALL_DONE, year.getStatus(dec));
+        assertEquals(DayStatus.NONE, year.getStatus(LocalDate.of(2024, 6, 1)));
+        assertEquals(DayStatus.NONE, year.getStatus(LocalDate.of(2025, 1, 1)));
+        assertEquals(2, year.maxTotal());
+    }
+
+    @Test
+    void daySummaries_followMovesAndDeletes() {
+        LocalDate d1 = LocalDate.of(2025, 11, 3);
+        LocalDate d2 = LocalDate.of(2025, 11, 4);
+
+        Todo a = todoService.create(d1, "A", "A", false);
+        todoService.create(d1, "B", "B", true);
+        assertEquals(DayStatus.INCOMPLETE, todoService.getMonthDayStatuses(YearMonth.of(2025, 11)).get(d1));
+
+        // moving the open item away leaves only done items behind
+        todoService.update(a.getId(), d2, "A", "A", false);
+        Map<LocalDate, DayStatus> statuses = todoService.getMonthDayStatuses(YearMonth.of(2025, 11));
+        assertEquals(DayStatus.ALL_DONE, statuses.get(d1));
+        assertEquals(DayStatus.INCOMPLETE, statuses.get(d2));
+
+        todoService.delete(a.getId());
+        statuses = todoService.getMonthDayStatuses(YearMonth.of(2025, 11));
+        assertEquals(DayStatus.ALL_DONE, statuses.get(d1));
+        assertNull(statuses.get(d2));
+
+        assertTrue(todoService.verifyDaySummaries().isEmpty());
+    }
+
+    @Test
+    void bulkApis_createUpdateAndDeleteInChunks() {
+        LocalDate d1 = LocalDate.of(2025, 10, 1);
+        LocalDate d2 = LocalDate.of(2025, 10, 2);
+
+        List<TodoDraft> drafts = new ArrayList<>();
+        for (int i = 0; i < TodoService.BULK_CHUNK_SIZE + 10; i++) {
+            drafts.add(new TodoDraft(d1, "T" + i, "C" + i, false));
+        }
+        List<Todo> created = todoService.createAll(drafts);
+        assertEquals(drafts.size(), created.size());
+        assertTrue(created.stream().allMatch(todo -> todo.getId() != null));
+        assertEquals(drafts.size(), todoService.getTodosForDate(d1).size());
+
+        Map<Long, TodoDraft> changes = new HashMap<>();
+        changes.put(created.get(0).getId(), new TodoDraft(d2, "moved", "moved", true));
+        todoService.updateAll(changes);
+
+        Map<LocalDate, DayStatus> statuses = todoService.getMonthDayStatuses(YearMonth.of(2025, 10));
+        assertEquals(DayStatus.INCOMPLETE, statuses.get(d1));
+        assertEquals(DayStatus.ALL_DONE, statuses.get(d2));
+
+        List<Long> ids = created.stream().map(Todo::getId).toList();
+        assertEquals(ids.size(), todoService.deleteAll(ids));
+        assertTrue(todoService.getTodosForDate(d1).isEmpty());
+        assertTrue(todoService.getMonthDayStatuses(YearMonth.of(2025, 10)).isEmpty());
+        assertTrue(todoService.verifyDaySummaries().isEmpty());
+    }
+
+    @Test
+    void createAll_validatesWholeBatchBeforeWriting() {
+        LocalDate date = LocalDate.of(2025, 10, 5);
+        List<TodoDraft> drafts = List.of(
+                new TodoDraft(date, "ok", "ok", false),
+                new TodoDraft(date, "", "missing title", false));
+
+        assertThrows(ConstraintViolationException.class, () -> todoService.createAll(drafts));
+        assertTrue(todoService.getTodosForDate(date).isEmpty());
+    }
+
+    @Test
+    void update_mergesConcurrentEditsToDifferentFields() {
+        LocalDate date = LocalDate.of(2025, 10, 1);
+        Todo todo = todoService.create(date, "제목", "내용", false);
+        TodoDraft base = TodoDraft.of(todo);
+
+        // Another instance renames it while this editor only ticks it done.
+        todoService.update(todo.getId(), date, "다른 제목", "내용", false);
+        Todo merged = todoService.update(todo.getId(), base, new TodoDraft(date, "제목", "내용", true));
+
+        assertEquals("다른 제목", merged.getTitle());
+        assertTrue(merged.isDone());
+        assertEquals(DayStatus.ALL_DONE, todoService.getDayStatuses(date, date).getStatus(date));
+    }
+
+    @Test
+    void update_rejectsConflictingEditsToTheSameField() {
+        LocalDate date = LocalDate.of(2025, 10, 2);
+        Todo todo = todoService.create(date, "제목", "내용", false);
+        TodoDraft base = TodoDraft.of(todo);
+
+        todoService.update(todo.getId(), date, "다른 제목", "내용", false);
+        TodoConflictException conflict = assertThrows(TodoConflictException.class,
+                () -> todoService.update(todo.getId(), base, new TodoDraft(date, "내 제목", "내용", false)));
+
+        assertEquals("다른 제목", conflict.getCurrent().getTitle());
+        // The same change made on both sides is not a conflict.
+        assertEquals("다른 제목",
+                todoService.update(todo.getId(), base, new TodoDraft(date, "다른 제목", "내용", false)).getTitle());
+    }
+
+    // Outside the test transaction, so every write commits and bumps the version.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void update_incrementsVersionPerCommit() {
+        LocalDate date = LocalDate.of(2025, 10, 3);
+        Todo todo = todoService.create(date, "제목", "내용", false);
+        try {
+            assertEquals(0, todo.getVersion());
+            todoService.update(todo.getId(), date, "제목", "내용", true);
+            assertEquals(1, todoService.getById(todo.getId()).orElseThrow().getVersion());
+        } finally {
+            todoService.delete(todo.getId());
+        }
+    }
+
+    // The first writes to a day race to insert its summary row; the losers start over and count too.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void create_concurrentFirstWritesToADayAllCount() throws Exception {
+        LocalDate date = LocalDate.of(2025, 10, 4);
+        int writers = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Todo>> created = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < writers; i++) {
+                String title = "제목" + i;
+                created.add(executor.submit(() -> {
+                    start.await();
+                    return todoService.create(date, title, "내용", false);
+                }));
+            }
+            start.countDown();
+        }
+        try {
+            assertEquals(writers, todoService.countTodosForDate(date));
+            assertTrue(todoService.verifyDaySummaries().isEmpty());
+        } finally {
+            for (Future<Todo> todo : created) {
+                if (todo.state() == Future.State.SUCCESS) {
+                    todoService.delete(todo.resultNow().getId());
+                }
+            }
+        }
+    }
+
+    @Test
+    void archiveDoneBefore_movesOldDoneTodosButKeepsThemVisible() {
+        LocalDate old = LocalDate.of(2019, 3, 4);
+        Todo open = todoService.create(old, "열림", "내용", false);
+        Todo doneFirst = todoService.create(old, "완료1", "내용", true);
+        Todo doneSecond = todoService.create(old, "완료2", "내용", true);
+        Todo recent = todoService.create(LocalDate.of(2025, 3, 4), "최근", "내용", true);
+
+        assertEquals(2, todoService.archiveDoneBefore(LocalDate.of(2020, 1, 1)));
+
+        assertEquals(List.of(open.getId(), doneFirst.getId(), doneSecond.getId()),
+                todoService.getTodosForDate(old).stream().map(Todo::getId).toList());
+        TodoPage first = todoService.getTodoPage(old, null, 2);
+        assertEquals(List.of(open.getId(), doneFirst.getId()), first.items().stream().map(TodoListItem::id).toList());
+        TodoPage second = todoService.getTodoPage(old, first.next(), 2);
+        assertEquals(List.of(doneSecond.getId()), second.items().stream().map(TodoListItem::id).toList());
+        assertFalse(second.hasNext());
+
+        assertEquals(DayStatus.INCOMPLETE, todoService.getMonthDayStatuses(YearMonth.from(old)).get(old));
+        assertTrue(todoService.getById(recent.getId()).orElseThrow().isDone());
+        assertTrue(todoService.verifyDaySummaries().isEmpty());
+
+        // Editing an archived todo brings it back to the todo table.
+        todoService.update(doneFirst.getId(), old, "완료1", "내용", false);
+        assertEquals(List.of(open.getId(), doneFirst.getId(), doneSecond.getId()),
+                todoService.getTodosForDate(old).stream().map(Todo::getId).toList());
+        assertFalse(todoService.getById(doneFirst.getId()).orElseThrow().isDone());
+        todoService.delete(doneSecond.getId());
+        assertEquals(2, todoService.countTodosForDate(old));
+        assertTrue(todoService.verifyDaySummaries().isEmpty());
+    }
+
+    @Test
+    void bulkWrites_restoreArchivedTodosFirst() {
+        LocalDate old = LocalDate.of(2019, 5, 6);
+        Todo edited = todoService.create(old, "수정", "내용", true);
+        Todo deleted = todoService.create(old, "삭제", "내용", true);
+        Todo kept = todoService.create(old, "유지", "내용", true);
+        assertEquals(3, todoService.archiveDoneBefore(LocalDate.of(2020, 1, 1)));
+
+        assertEquals(1, todoService.updateAll(Map.of(edited.getId(), new TodoDraft(old, "수정됨", "내용", false))));
+        assertEquals(1, todoService.deleteAll(List.of(deleted.getId())));
+
+        assertEquals(List.of(edited.getId(), kept.getId()),
+                todoService.getTodosForDate(old).stream().map(Todo::getId).toList());
+        assertEquals("수정됨", todoService.getById(edited.getId()).orElseThrow().getTitle());
+        assertTrue(todoService.getById(deleted.getId()).isEmpty());
+        assertTrue(todoService.verifyDaySummaries().isEmpty());
+
+        // The write-behind path goes through the same bulk calls.
+        todoService.applyWrites(Map.of(kept.getId(), new TodoDraft(old, "유지", "내용", false)), List.of(edited.getId()));
+        assertEquals(List.of(kept.getId()), todoService.getTodosForDate(old).stream().map(Todo::getId).toList());
+        assertFalse(todoService.getById(kept.getId()).orElseThrow().isDone());
+        assertTrue(todoService.verifyDaySummaries().isEmpty());
+    }
+
+    // Outside the test transaction: listeners only hear about committed changes.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void changeListener_hearsNewStatusOfChangedDaysAfterCommit() {
+        LocalDate d1 = LocalDate.of(2025, 11, 3);
+        LocalDate d2 = LocalDate.of(2025, 11, 4);
+        List<Map<LocalDate, DayStatus>> changes = new ArrayList<>();
+        TodoChangeListener listener = new TodoChangeListener() {
+            @Override
+            public void daysChanged(Map<LocalDate, DayStatus> statuses) {
+                changes.add(statuses);
+            }
+
+            @Override
+            public void allDaysChanged() {
+                fail("unexpected");
+            }
+        };
+        todoService.addChangeListener(listener);
+        Todo todo = todoService.create(d1, "A", "A", false);
+        try {
+            assertEquals(List.of(Map.of(d1, DayStatus.INCOMPLETE)), changes);
+
+            // A title change does not touch the counts.
+            changes.clear();
+            todoService.update(todo.getId(), d1, "B", "A", false);
+            assertEquals(List.of(), changes);
+
+            todoService.update(todo.getId(), d2, "B", "A", true);
+            assertEquals(List.of(Map.of(d1, DayStatus.NONE, d2, DayStatus.ALL_DONE)), changes);
+        } finally {
+            changes.clear();
+            todoService.delete(todo.getId());
+            todoService.removeChangeListener(listener);
+        }
+        assertEquals(List.of(Map.of(d2, DayStatus.NONE)), changes);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void changeListener_hearsTypedTodoChangesWithBothDates() {
+        LocalDate d1 = LocalDate.of(2025, 11, 5);
+        LocalDate d2 = LocalDate.of(2025, 11, 6);
+        List<TodoChange> changes = new ArrayList<>();
+        TodoChangeListener listener = new TodoChangeListener() {
+            @Override
+            public void todosChanged(List<TodoChange> committed) {
+                changes.addAll(committed);
+            }
+        };
+        todoService.addChangeListener(listener);
+        Todo todo = todoService.create(d1, "A", "A", false);
+        try {
+            todoService.update(todo.getId(), d1, "B", "A", false);
+            todoService.update(todo.getId(), d1, "B", "A", true);
+            todoService.update(todo.getId(), d2, "B", "A", true);
+            todoService.delete(todo.getId());
+
+            assertEquals(List.of(TodoChange.Kind.CREATED, TodoChange.Kind.UPDATED, TodoChange.Kind.DONE_TOGGLED,
+                            TodoChange.Kind.MOVED, TodoChange.Kind.DELETED),
+                    changes.stream().map(TodoChange::kind).toList());
+            TodoChange moved = changes.get(3);
+            assertEquals(d1, moved.oldDate());
+            assertEquals(d2, moved.newDate());
+            assertEquals("B", moved.after().title());
+            assertTrue(moved.touches(d1) && moved.touches(d2));
+            assertEquals(d2, changes.get(4).oldDate());
+            assertNull(changes.get(4).after());
+        } finally {
+            todoService.removeChangeListener(listener);
+            if (todoService.getById(todo.getId()).isPresent()) {
+                todoService.delete(todo.getId());
+            }
+        }
+    }
+
+    @Test
+    void recurrence_isGeneratedUntilAnOccurrenceIsSavedOrSkipped() {
+        LocalDate start = LocalDate.of(2026, 1, 5);
+        todoService.createRecurrence(start, "운동", "30분", RecurrenceRule.Frequency.WEEKLY, 1);
+        todoService.create(start.plusWeeks(1), "A", "A", true);
+
+        List<Todo> first = todoService.getTodosForDate(start);
+        assertEquals(1, first.size());
+        assertTrue(Recurrence.isOccurrenceId(first.get(0).getId()));
+        assertEquals("운동", first.get(0).getTitle());
+        assertTrue(todoService.getTodosForDate(start.plusDays(1)).isEmpty());
+        assertEquals(2, todoService.countTodosForDate(start.plusWeeks(1)));
+        assertEquals(Map.of(
+                        LocalDate.of(2026, 1, 5), DayStatus.INCOMPLETE,
+                        LocalDate.of(2026, 1, 12), DayStatus.INCOMPLETE,
+                        LocalDate.of(2026, 1, 19), DayStatus.INCOMPLETE,
+                        LocalDate.of(2026, 1, 26), DayStatus.INCOMPLETE),
+                todoService.getMonthDayStatuses(YearMonth.of(2026, 1)));
+
+        Long occurrenceId = first.get(0).getId();
+        TodoDraft completed = new TodoDraft(start, "운동", "30분", true);
+        Todo saved = todoService.saveOccurrence(occurrenceId, start, completed);
+        assertEquals(List.of(saved.getId()), todoService.getTodosForDate(start).stream().map(Todo::getId).toList());
+        assertEquals(DayStatus.ALL_DONE, todoService.getMonthDayStatuses(YearMonth.of(2026, 1)).get(start));
+        assertThrows(IllegalArgumentException.class, () -> todoService.saveOccurrence(occurrenceId, start, completed));
+
+        todoService.skipOccurrence(occurrenceId, LocalDate.of(2026, 1, 19));
+        assertFalse(todoService.getMonthDayStatuses(YearMonth.of(2026, 1)).containsKey(LocalDate.of(2026, 1, 19)));
+
+        todoService.endRecurrence(occurrenceId, LocalDate.of(2026, 1, 26));
+        assertTrue(todoService.getTodosForDate(LocalDate.of(2026, 1, 26)).isEmpty());
+        assertEquals(2, todoService.getTodosForDate(LocalDate.of(2026, 1, 12)).size());
+        assertEquals(0, todoService.getDayStatuses(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28)).maxTotal());
+    }
+
+    @Test
+    void getTodoPage_mergesOccurrencesInListOrder() {
+        LocalDate date = LocalDate.of(2026, 2, 2);
+        todoService.create(date, "A", "A", false);
+        todoService.createRecurrence(date, "R", "R", RecurrenceRule.Frequency.DAILY, 1);
+        todoService.create(date, "B", "B", true);
+
+        List<Long> paged = new ArrayList<>();
+        TodoPage.Key after = null;
+        do {
+            TodoPage page = todoService.getTodoPage(date, after, 1);
+            page.items().forEach(item -> paged.add(item.id()));
+            after = page.next();
+        } while (after != null);
+
+        assertEquals(todoService.getTodosForDate(date).stream().map(Todo::getId).toList(), paged);
+        assertEquals(3, paged.size());
+    }
+
+    // Committed changes only reach the index after commit, so this runs outside the test transaction.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void dayStatusIndex_followsCommittedChanges() {
+        dayIndexLoader.load();
+        LocalDate date = LocalDate.of(2026, 4, 1);
+        Todo a = todoService.create(date, "A", "A", false);
+        Todo b = todoService.create(date, "B", "B", true);
+        try {
+            assertEquals(DayStatus.INCOMPLETE, dayIndex.status(date));
+            assertEquals(2, todoService.countTodosForDate(date));
+
+            todoService.update(a.getId(), date.plusDays(1), "A", "A", true);
+            assertEquals(DayStatus.ALL_DONE, dayIndex.status(date));
+            assertEquals(Map.of(date, DayStatus.ALL_DONE, date.plusDays(1), DayStatus.ALL_DONE),
+                    todoService.getMonthDayStatuses(YearMonth.of(2026, 4)));
+            assertEquals(List.of(), todoService.verifyDayStatusIndex());
+        } finally {
+            todoService.deleteAll(List.of(a.getId(), b.getId()));
+        }
+        assertEquals(DayStatus.NONE, dayIndex.status(date));
+        assertEquals(List.of(), todoService.verifyDayStatusIndex());
+    }
+
+    // Tag filters are answered by TagIndex, which sees commits only.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void tagFilters_followCommittedTagsAndKeepThemInTheArchive() {
+        tagIndexLoader.load();
+        LocalDate date = LocalDate.of(2000, 6, 1);
+        Todo a = todoService.create(date, "A", "A", false);
+        Todo b = todoService.create(date, "B", "B", true);
+        Todo c = todoService.create(date.plusDays(1), "C", "C", true);
+        try {
+            todoService.setTags(a.getId(), List.of("업무", " 집 ", ""));
+            List<Tag> tags = todoService.setTags(b.getId(), List.of("업무", "집"));
+            todoService.setTags(c.getId(), List.of("집"));
+            Long work = tags.stream().filter(tag -> tag.getName().equals("업무")).findFirst().orElseThrow().getId();
+            Long home = tags.stream().filter(tag -> tag.getName().equals("집")).findFirst().orElseThrow().getId();
+            assertEquals(List.of("업무", "집"), todoService.getTags(a.getId()).stream().map(Tag::getName).toList());
+
+            TagFilter workOnly = new TagFilter(Set.of(work), false);
+            TagFilter both = new TagFilter(Set.of(work, home), true);
+            assertEquals(2, todoService.countTodosForDate(date, workOnly));
+            assertEquals(List.of(b.getId()), todoService.getTodoPage(date, null, 10, both).items().stream()
+                    .map(TodoListItem::id).toList());
+            assertEquals(Map.of(date, DayStatus.ALL_DONE, date.plusDays(1), DayStatus.ALL_DONE),
+                    todoService.getMonthDayStatuses(YearMonth.of(2000, 6), new TagFilter(Set.of(home), true)));
+
+            // Archived todos keep their tags and still match.
+            assertEquals(2, todoService.archiveDoneBefore(LocalDate.of(2001, 1, 1)));
+            assertEquals(List.of("집"), todoService.getTags(c.getId()).stream().map(Tag::getName).toList());
+            DayStatusRange range = todoService.getDayStatuses(date, date.plusDays(1), workOnly);
+            assertEquals(DayStatus.INCOMPLETE, range.getStatus(date));
+            assertEquals(DayStatus.NONE, range.getStatus(date.plusDays(1)));
+            TodoPage page = todoService.getTodoPage(date, null, 1, workOnly);
+            assertEquals(List.of(a.getId()), page.items().stream().map(TodoListItem::id).toList());
+            assertEquals(List.of(b.getId()), todoService.getTodoPage(date, page.next(), 1, workOnly).items().stream()
+                    .map(TodoListItem::id).toList());
+
+            todoService.setTags(a.getId(), List.of());
+            assertEquals(1, todoService.countTodosForDate(date, workOnly));
+        } finally {
+            todoService.delete(a.getId());
+            todoService.delete(b.getId());
+            todoService.delete(c.getId());
+        }
+        assertEquals(0, todoService.countTodosForDate(date, new TagFilter(Set.of(), false)));
+    }
 }
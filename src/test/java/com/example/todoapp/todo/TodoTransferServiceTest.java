@@ -0,0 +1,69 @@
+package com.example.todoapp.todo;
+
+import com.example.todoapp.TodoAppApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = TodoAppApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class TodoTransferServiceTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoTransferService transferService;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void ndjson_roundTripsTodos() throws IOException {
+        roundTrip(tempDir.resolve("todos.ndjson"));
+    }
+
+    @Test
+    void csv_roundTripsQuotesCommasAndLineBreaks() throws IOException {
+        roundTrip(tempDir.resolve("todos.csv"));
+    }
+
+    private void roundTrip(Path file) throws IOException {
+        LocalDate date = LocalDate.of(2025, 9, 1);
+        Todo first = todoService.create(date, "장보기, 우유", "\"따옴표\"\n둘째 줄", false);
+        Todo second = todoService.create(date, "운동", "30분", true);
+
+        TodoFileFormat format = TodoFileFormat.fromFileName(file);
+        List<Long> progress = new ArrayList<>();
+        assertEquals(2, transferService.export(file, format, progress::add));
+        assertEquals(List.of(2L), progress);
+
+        todoService.deleteAll(List.of(first.getId(), second.getId()));
+        assertTrue(todoService.getTodosForDate(date).isEmpty());
+
+        assertEquals(2, transferService.importFrom(file, format, count -> { }));
+
+        List<Todo> restored = todoService.getTodosForDate(date);
+        assertEquals(2, restored.size());
+        assertEquals(first.getTitle(), restored.get(0).getTitle());
+        assertEquals(first.getContent(), restored.get(0).getContent());
+        assertFalse(restored.get(0).isDone());
+        // the database keeps microseconds, the in-memory Instant may be finer
+        assertTrue(Duration.between(first.getCreatedAt(), restored.get(0).getCreatedAt()).abs().toMillis() < 1);
+        assertEquals(second.getTitle(), restored.get(1).getTitle());
+        assertTrue(restored.get(1).isDone());
+    }
+}
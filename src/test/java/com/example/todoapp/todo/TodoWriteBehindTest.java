@@ -0,0 +1,155 @@
+package com.example.todoapp.todo;
+
+import com.example.todoapp.TodoAppApplication;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = TodoAppApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class TodoWriteBehindTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private Validator validator;
+
+    private TodoWriteBehind writeBehind;
+    private final List<Set<Long>> flushed = new ArrayList<>();
+    private final Map<Long, Throwable> failed = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        // A long debounce keeps the background flush out of the way; the tests flush explicitly.
+        writeBehind = new TodoWriteBehind(todoService, validator, true, Duration.ofHours(1), Duration.ofHours(1));
+        writeBehind.addListener(new TodoWriteBehind.Listener() {
+            @Override
+            public void flushed(Set<Long> ids) {
+                flushed.add(ids);
+            }
+
+            @Override
+            public void failed(Long id, Throwable error) {
+                failed.put(id, error);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.close();
+    }
+
+    @Test
+    void flush_coalescesEditsPerTodoIntoOneWrite() {
+        LocalDate date = LocalDate.of(2025, 9, 1);
+        Todo a = todoService.create(date, "A", "A", false);
+        Todo b = todoService.create(date, "B", "B", false);
+
+        writeBehind.update(a.getId(), new TodoDraft(date, "A1", "A", true));
+        writeBehind.update(a.getId(), new TodoDraft(date, "A2", "A", false));
+        writeBehind.update(a.getId(), new TodoDraft(date, "A3", "A", true));
+        writeBehind.update(b.getId(), new TodoDraft(date, "B1", "B", true));
+        assertTrue(writeBehind.hasPending());
+
+        writeBehind.flush();
+
+        assertFalse(writeBehind.hasPending());
+        assertEquals(List.of(Set.of(a.getId(), b.getId())), flushed);
+        assertEquals("A3", todoService.getById(a.getId()).orElseThrow().getTitle());
+        assertTrue(todoService.getById(b.getId()).orElseThrow().isDone());
+        assertEquals(DayStatus.ALL_DONE, todoService.getDayStatuses(date, date).getStatus(date));
+    }
+
+    @Test
+    void delete_replacesQueuedEdit() {
+        LocalDate date = LocalDate.of(2025, 9, 2);
+        Todo a = todoService.create(date, "A", "A", false);
+
+        writeBehind.update(a.getId(), new TodoDraft(date, "A1", "A", true));
+        writeBehind.delete(a.getId());
+        assertThrows(IllegalArgumentException.class,
+                () -> writeBehind.update(a.getId(), new TodoDraft(date, "A2", "A", true)));
+
+        writeBehind.flush();
+
+        assertTrue(todoService.getById(a.getId()).isEmpty());
+        assertEquals(0, todoService.countTodosForDate(date));
+    }
+
+    @Test
+    void isPending_coversQueuedTodosAndBothTheirDays() {
+        LocalDate from = LocalDate.of(2025, 9, 5);
+        LocalDate to = LocalDate.of(2025, 9, 8);
+        Todo moved = todoService.create(from, "A", "A", false);
+        Todo deleted = todoService.create(LocalDate.of(2025, 9, 6), "B", "B", false);
+        Todo untouched = todoService.create(LocalDate.of(2025, 9, 7), "C", "C", false);
+
+        writeBehind.update(moved.getId(), new TodoDraft(to, "A", "A", false));
+        writeBehind.delete(deleted.getId());
+
+        assertTrue(writeBehind.isPending(moved.getId()));
+        assertTrue(writeBehind.isPending(deleted.getId()));
+        assertFalse(writeBehind.isPending(untouched.getId()));
+        assertTrue(writeBehind.isPending(from, from));
+        assertTrue(writeBehind.isPending(to, to));
+        assertTrue(writeBehind.isPending(LocalDate.of(2025, 9, 6), LocalDate.of(2025, 9, 6)));
+        assertFalse(writeBehind.isPending(LocalDate.of(2025, 9, 7), LocalDate.of(2025, 9, 7)));
+        assertTrue(writeBehind.isPending(LocalDate.of(2025, 9, 1), LocalDate.of(2025, 9, 30)));
+
+        writeBehind.flush();
+
+        assertFalse(writeBehind.isPending(moved.getId()));
+        assertFalse(writeBehind.isPending(from, to));
+    }
+
+    // Runs without the test transaction: the failed group must roll back on its own, as it does in the app.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void flush_reportsOnlyTheFailingChange() {
+        LocalDate date = LocalDate.of(2025, 9, 3);
+        Todo a = todoService.create(date, "A", "A", false);
+        long missing = a.getId() + 10_000;
+        try {
+            writeBehind.update(a.getId(), new TodoDraft(date, "A1", "A", true));
+            writeBehind.update(missing, new TodoDraft(date, "X", "X", false));
+            writeBehind.flush();
+
+            assertEquals(Set.of(missing), failed.keySet());
+            assertInstanceOf(IllegalArgumentException.class, failed.get(missing));
+            assertEquals(List.of(Set.of(a.getId())), flushed);
+            assertEquals("A1", todoService.getById(a.getId()).orElseThrow().getTitle());
+        } finally {
+            todoService.delete(a.getId());
+        }
+    }
+
+    @Test
+    void update_validatesBeforeQueueing() {
+        LocalDate date = LocalDate.of(2025, 9, 4);
+        Todo a = todoService.create(date, "A", "A", false);
+
+        assertThrows(ConstraintViolationException.class,
+                () -> writeBehind.update(a.getId(), new TodoDraft(date, "", "A", false)));
+        assertFalse(writeBehind.hasPending());
+    }
+}